@@ -30,7 +30,7 @@ import android.util.TypedValue;
 import android.view.View;
 
 import com.wdullaer.materialdatetimepicker.util.PersianCalendar;
-import com.wdullaer.materialdatetimepicker.util.PersianCalendarUtils;
+import com.wdullaer.materialdatetimepicker.util.PersianYearTable;
 
 /**
  * Utility helper functions for time and date pickers.
@@ -149,10 +149,7 @@ public class Utils {
      * @return The trimmed Calendar object
      */
     public static PersianCalendar trimToMidnight(PersianCalendar calendar) {
-        calendar.set(PersianCalendar.HOUR_OF_DAY, 0);
-        calendar.set(PersianCalendar.MINUTE, 0);
-        calendar.set(PersianCalendar.SECOND, 0);
-        calendar.set(PersianCalendar.MILLISECOND, 0);
+        calendar.trimToMidnight();
         return calendar;
     }
 
@@ -162,7 +159,7 @@ public class Utils {
         } else if (month < 11) {
             return 30;
         } else {
-            if (PersianCalendarUtils.isPersianLeapYear(year)) return 30;
+            if (PersianYearTable.isLeapYear(year)) return 30;
             else return 29;
         }
     }
@@ -0,0 +1,383 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import android.os.AsyncTask;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import com.wdullaer.materialdatetimepicker.Utils;
+import com.wdullaer.materialdatetimepicker.util.PersianCalendar;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * <pre>
+ * Wraps a {@link DateRangeLimiter} whose lookups are too slow for the UI thread, for instance because
+ * they query a ContentProvider, and evaluates it a month at a time on a background {@link Executor}.
+ *
+ * A month that has not been loaded yet reports {@link #LOADING_MASK}, every day out of range, so it can
+ * not be clicked. The picker draws it faded rather than disabled, see {@link #isLoaded(int, int)}.
+ * Once the month is loaded the picker redraws only that month.
+ * While the user scrolls, the months next to the visible one are prefetched in the scroll direction and
+ * pending loads of months the user scrolled past are cancelled.
+ *
+ * Only the day lookups of the wrapped limiter run in the background; getMinYear, getMaxYear,
+ * getStartDate, getEndDate and setToNearestDate are still called on the UI thread.
+ *
+ *                     Example
+ *
+ *  {@code
+ *    dialog.setDateRangeLimiter(new AsyncDateRangeLimiter(new ProviderLimiter(contentResolver)));
+ *  }
+ * </pre>
+ */
+@SuppressWarnings("WeakerAccess")
+public class AsyncDateRangeLimiter implements MonthMaskDateRangeLimiter {
+    private static final String TAG = "AsyncDateRangeLimiter";
+
+    /**
+     * Reported for months that are still loading, every day counts as out of range
+     * Loaded masks are cut to the length of the month and never have bit 31 set, so they can not
+     * be mistaken for this one
+     */
+    public static final int LOADING_MASK = -1;
+    public static final int DEFAULT_CAPACITY = 48;
+    // Number of months loaded ahead of the visible one in the scroll direction
+    private static final int PREFETCH_DISTANCE = 2;
+
+    /**
+     * Notified on the UI thread when the availability of a month has been loaded
+     */
+    public interface OnMonthLoadedListener {
+        /**
+         * @param year  persian year
+         * @param month persian month (0-11)
+         */
+        void onMonthLoaded(int year, int month);
+    }
+
+    private final DateRangeLimiter mDelegate;
+    private final Executor mExecutor;
+    private final Executor mCallbackExecutor;
+    private final int mCapacity;
+    // Loaded out of range masks keyed by proleptic month, in access order; guarded by itself
+    private final LinkedHashMap<Integer, Integer> mMasks;
+    // Loads that have not finished yet, guarded by mMasks
+    private final HashMap<Integer, FutureTask<Integer>> mPending = new HashMap<>();
+    private volatile OnMonthLoadedListener mListener;
+
+    /**
+     * Loads months on {@link AsyncTask#THREAD_POOL_EXECUTOR}
+     *
+     * @param delegate the limiter to evaluate in the background
+     */
+    public AsyncDateRangeLimiter(@NonNull DateRangeLimiter delegate) {
+        this(delegate, AsyncTask.THREAD_POOL_EXECUTOR);
+    }
+
+    /**
+     * @param delegate the limiter to evaluate in the background
+     * @param executor runs the lookups of the delegate
+     */
+    public AsyncDateRangeLimiter(@NonNull DateRangeLimiter delegate, @NonNull Executor executor) {
+        this(delegate, executor, new Executor() {
+            private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+            @Override
+            public void execute(@NonNull Runnable command) {
+                mHandler.post(command);
+            }
+        }, DEFAULT_CAPACITY);
+    }
+
+    AsyncDateRangeLimiter(@NonNull DateRangeLimiter delegate, @NonNull Executor executor,
+                          @NonNull Executor callbackExecutor, int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be positive");
+        mDelegate = delegate;
+        mExecutor = executor;
+        mCallbackExecutor = callbackExecutor;
+        mCapacity = capacity;
+        mMasks = new LinkedHashMap<Integer, Integer>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+                return size() > mCapacity;
+            }
+        };
+    }
+
+    /**
+     * Restores the loaded months, later months are loaded on {@link AsyncTask#THREAD_POOL_EXECUTOR}
+     */
+    @SuppressWarnings("WeakerAccess")
+    public AsyncDateRangeLimiter(Parcel in) {
+        this(in.<DateRangeLimiter>readParcelable(AsyncDateRangeLimiter.class.getClassLoader()));
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            int key = in.readInt();
+            mMasks.put(key, in.readInt());
+        }
+    }
+
+    @Override
+    public void writeToParcel(Parcel out, int flags) {
+        out.writeParcelable(mDelegate, flags);
+        synchronized (mMasks) {
+            out.writeInt(mMasks.size());
+            for (Map.Entry<Integer, Integer> entry : mMasks.entrySet()) {
+                out.writeInt(entry.getKey());
+                out.writeInt(entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @SuppressWarnings("WeakerAccess")
+    public static final Parcelable.Creator<AsyncDateRangeLimiter> CREATOR
+            = new Parcelable.Creator<AsyncDateRangeLimiter>() {
+        public AsyncDateRangeLimiter createFromParcel(Parcel in) {
+            return new AsyncDateRangeLimiter(in);
+        }
+
+        public AsyncDateRangeLimiter[] newArray(int size) {
+            return new AsyncDateRangeLimiter[size];
+        }
+    };
+
+    public @NonNull DateRangeLimiter getDelegate() {
+        return mDelegate;
+    }
+
+    public void setOnMonthLoadedListener(@Nullable OnMonthLoadedListener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * @return true if the availability of the month is known
+     */
+    public boolean isLoaded(int year, int month) {
+        synchronized (mMasks) {
+            return mMasks.containsKey(key(year, month));
+        }
+    }
+
+    /**
+     * Drops the loaded availability of a month, it is loaded again the next time it is drawn
+     */
+    public void invalidate(int year, int month) {
+        int key = key(year, month);
+        synchronized (mMasks) {
+            mMasks.remove(key);
+            FutureTask<Integer> task = mPending.remove(key);
+            if (task != null) cancel(task);
+        }
+    }
+
+    /**
+     * Drops the loaded availability of all months and cancels pending loads
+     */
+    public void invalidateAll() {
+        synchronized (mMasks) {
+            mMasks.clear();
+            cancelPending();
+        }
+    }
+
+    /**
+     * Cancels all pending loads, loaded months are kept
+     */
+    public void cancelPending() {
+        synchronized (mMasks) {
+            for (FutureTask<Integer> task : mPending.values()) cancel(task);
+            mPending.clear();
+        }
+    }
+
+    /**
+     * Loads the visible month and the months next to it, further ahead in the scroll direction,
+     * and cancels pending loads of all other months
+     *
+     * @param year      persian year of the visible month
+     * @param month     persian month (0-11) of the visible month
+     * @param direction positive when scrolling towards later months, negative towards earlier ones
+     */
+    public void prefetch(int year, int month, int direction) {
+        int visible = key(year, month);
+        int before = direction < 0 ? PREFETCH_DISTANCE : 1;
+        int after = direction > 0 ? PREFETCH_DISTANCE : 1;
+        List<Integer> wanted = new ArrayList<>();
+        wanted.add(visible);
+        for (int i = 1; i <= Math.max(before, after); i++) {
+            // months in the scroll direction go first
+            if (direction < 0) {
+                wanted.add(visible - i);
+                if (i <= after) wanted.add(visible + i);
+            } else {
+                if (i <= after) wanted.add(visible + i);
+                if (i <= before) wanted.add(visible - i);
+            }
+        }
+        synchronized (mMasks) {
+            Iterator<Map.Entry<Integer, FutureTask<Integer>>> iterator = mPending.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Integer, FutureTask<Integer>> entry = iterator.next();
+                if (entry.getKey() < visible - before || entry.getKey() > visible + after) {
+                    cancel(entry.getValue());
+                    iterator.remove();
+                }
+            }
+            for (int key : wanted) {
+                if (!mMasks.containsKey(key)) load(key);
+            }
+        }
+    }
+
+    @Override
+    public int getMinYear() {
+        return mDelegate.getMinYear();
+    }
+
+    @Override
+    public int getMaxYear() {
+        return mDelegate.getMaxYear();
+    }
+
+    @Override
+    public @NonNull PersianCalendar getStartDate() {
+        return mDelegate.getStartDate();
+    }
+
+    @Override
+    public @NonNull PersianCalendar getEndDate() {
+        return mDelegate.getEndDate();
+    }
+
+    /**
+     * @return true if the day is out of range or its month is still loading
+     */
+    @Override
+    public boolean isOutOfRange(int year, int month, int day) {
+        return (getOutOfRangeMask(year, month) & (1 << (day - 1))) != 0;
+    }
+
+    /**
+     * @return the out of range mask of the month, or {@link #LOADING_MASK} while it is loaded in the background
+     */
+    @Override
+    public int getOutOfRangeMask(int year, int month) {
+        int key = key(year, month);
+        synchronized (mMasks) {
+            Integer mask = mMasks.get(key);
+            if (mask != null) return mask;
+            load(key);
+        }
+        return LOADING_MASK;
+    }
+
+    @Override
+    public @NonNull PersianCalendar setToNearestDate(@NonNull PersianCalendar day) {
+        return mDelegate.setToNearestDate(day);
+    }
+
+    // Must hold mMasks
+    private void load(final int key) {
+        if (mPending.containsKey(key)) return;
+        final int year = year(key);
+        final int month = key - (year > 0 ? year - 1 : year) * 12;
+        FutureTask<Integer> task = new FutureTask<Integer>(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return computeMask(year, month);
+            }
+        }) {
+            @Override
+            protected void done() {
+                if (isCancelled()) return;
+                synchronized (mMasks) {
+                    // dropped by an invalidation or a cancel while running, or stored by load()
+                    if (mPending.get(key) != this) return;
+                    mPending.remove(key);
+                    store(key, this);
+                }
+            }
+        };
+        try {
+            mExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // the executor is full, the month keeps reporting LOADING_MASK and is tried again the next time it is drawn
+            return;
+        }
+        // done() waits for mMasks, so a task that already finished is not pending and is stored here
+        if (task.isDone()) store(key, task);
+        else mPending.put(key, task);
+    }
+
+    // Must hold mMasks
+    private void store(int key, @NonNull FutureTask<Integer> task) {
+        final int year = year(key);
+        final int month = key - (year > 0 ? year - 1 : year) * 12;
+        try {
+            mMasks.put(key, task.get());
+        } catch (InterruptedException | ExecutionException e) {
+            Log.e(TAG, "Could not load " + year + "/" + (month + 1), e);
+            return;
+        }
+        mCallbackExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                OnMonthLoadedListener listener = mListener;
+                if (listener != null) listener.onMonthLoaded(year, month);
+            }
+        });
+    }
+
+    // Must hold mMasks
+    private void cancel(@NonNull FutureTask<Integer> task) {
+        task.cancel(false);
+        // A cancelled task keeps its place in the queue of a thread pool until a thread takes it,
+        // remove it so scrolling past many months does not fill the queue
+        if (mExecutor instanceof ThreadPoolExecutor) ((ThreadPoolExecutor) mExecutor).remove(task);
+    }
+
+    private int computeMask(int year, int month) {
+        int length = Utils.getDaysInMonth(month, year);
+        if (mDelegate instanceof MonthMaskDateRangeLimiter) {
+            // drop bits past the end of the month, a mask of -1 would read as LOADING_MASK
+            return ((MonthMaskDateRangeLimiter) mDelegate).getOutOfRangeMask(year, month) & (-1 >>> (32 - length));
+        }
+        int mask = 0;
+        for (int day = 1; day <= length; day++) {
+            if (mDelegate.isOutOfRange(year, month, day)) mask |= 1 << (day - 1);
+        }
+        return mask;
+    }
+
+    // Months since the start of year 1, there is no year 0
+    private static int key(int year, int month) {
+        return (year > 0 ? year - 1 : year) * 12 + month;
+    }
+
+    private static int year(int key) {
+        int year = key / 12;
+        if (key % 12 < 0) year--;
+        return year >= 0 ? year + 1 : year;
+    }
+}
@@ -0,0 +1,196 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.support.annotation.NonNull;
+
+import com.wdullaer.materialdatetimepicker.Utils;
+import com.wdullaer.materialdatetimepicker.util.PersianCalendar;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <pre>
+ * Wraps a {@link DateRangeLimiter} with expensive lookups and remembers its answers a month at a time.
+ * The first lookup in a month asks the wrapped limiter about every day of that month,
+ * either through {@link MonthMaskDateRangeLimiter#getOutOfRangeMask(int, int)} or one
+ * {@link DateRangeLimiter#isOutOfRange(int, int, int)} call per day.
+ * Later lookups in that month are answered from a bounded, least recently used cache.
+ *
+ * Call {@link #invalidate(int, int)} or {@link #invalidateAll()} when the underlying data changes.
+ *
+ *                     Example
+ *
+ *  {@code
+ *    dialog.setDateRangeLimiter(new CachingDateRangeLimiter(new SqliteLimiter(database)));
+ *  }
+ * </pre>
+ */
+@SuppressWarnings("WeakerAccess")
+public class CachingDateRangeLimiter implements MonthMaskDateRangeLimiter {
+    public static final int DEFAULT_CAPACITY = 48;
+
+    private final DateRangeLimiter mDelegate;
+    private final int mCapacity;
+    // Out of range masks keyed by month, in access order
+    private final LinkedHashMap<Integer, Integer> mMasks;
+    // Bumped on every invalidation, so a mask computed during one is not stored
+    private int mGeneration;
+
+    /**
+     * @param delegate the limiter whose answers should be cached
+     */
+    public CachingDateRangeLimiter(@NonNull DateRangeLimiter delegate) {
+        this(delegate, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param delegate the limiter whose answers should be cached
+     * @param capacity the number of months to keep
+     */
+    public CachingDateRangeLimiter(@NonNull DateRangeLimiter delegate, int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be positive");
+        mDelegate = delegate;
+        mCapacity = capacity;
+        mMasks = new LinkedHashMap<Integer, Integer>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+                return size() > mCapacity;
+            }
+        };
+    }
+
+    @SuppressWarnings("WeakerAccess")
+    public CachingDateRangeLimiter(Parcel in) {
+        this(in.<DateRangeLimiter>readParcelable(CachingDateRangeLimiter.class.getClassLoader()), in.readInt());
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            int key = in.readInt();
+            mMasks.put(key, in.readInt());
+        }
+    }
+
+    @Override
+    public void writeToParcel(Parcel out, int flags) {
+        out.writeParcelable(mDelegate, flags);
+        out.writeInt(mCapacity);
+        synchronized (mMasks) {
+            out.writeInt(mMasks.size());
+            // least recently used first, so reading them back restores the order
+            for (Map.Entry<Integer, Integer> entry : mMasks.entrySet()) {
+                out.writeInt(entry.getKey());
+                out.writeInt(entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @SuppressWarnings("WeakerAccess")
+    public static final Parcelable.Creator<CachingDateRangeLimiter> CREATOR
+            = new Parcelable.Creator<CachingDateRangeLimiter>() {
+        public CachingDateRangeLimiter createFromParcel(Parcel in) {
+            return new CachingDateRangeLimiter(in);
+        }
+
+        public CachingDateRangeLimiter[] newArray(int size) {
+            return new CachingDateRangeLimiter[size];
+        }
+    };
+
+    public @NonNull DateRangeLimiter getDelegate() {
+        return mDelegate;
+    }
+
+    /**
+     * Drops the cached answers for a single month
+     *
+     * @param year  persian year
+     * @param month persian month (0-11)
+     */
+    public void invalidate(int year, int month) {
+        synchronized (mMasks) {
+            mMasks.remove(key(year, month));
+            mGeneration++;
+        }
+    }
+
+    /**
+     * Drops all cached answers
+     */
+    public void invalidateAll() {
+        synchronized (mMasks) {
+            mMasks.clear();
+            mGeneration++;
+        }
+    }
+
+    @Override
+    public int getMinYear() {
+        return mDelegate.getMinYear();
+    }
+
+    @Override
+    public int getMaxYear() {
+        return mDelegate.getMaxYear();
+    }
+
+    @Override
+    public @NonNull PersianCalendar getStartDate() {
+        return mDelegate.getStartDate();
+    }
+
+    @Override
+    public @NonNull PersianCalendar getEndDate() {
+        return mDelegate.getEndDate();
+    }
+
+    @Override
+    public boolean isOutOfRange(int year, int month, int day) {
+        // days that do not exist in the month are not cached
+        if (day < 1 || day > Utils.getDaysInMonth(month, year)) return mDelegate.isOutOfRange(year, month, day);
+        return (getOutOfRangeMask(year, month) & (1 << (day - 1))) != 0;
+    }
+
+    @Override
+    public int getOutOfRangeMask(int year, int month) {
+        int key = key(year, month);
+        int generation;
+        synchronized (mMasks) {
+            Integer mask = mMasks.get(key);
+            if (mask != null) return mask;
+            generation = mGeneration;
+        }
+        // Ask outside of the lock, the delegate may be slow
+        int mask = computeMask(year, month);
+        synchronized (mMasks) {
+            if (generation == mGeneration) mMasks.put(key, mask);
+        }
+        return mask;
+    }
+
+    @Override
+    public @NonNull PersianCalendar setToNearestDate(@NonNull PersianCalendar day) {
+        return mDelegate.setToNearestDate(day);
+    }
+
+    private int computeMask(int year, int month) {
+        if (mDelegate instanceof MonthMaskDateRangeLimiter) {
+            return ((MonthMaskDateRangeLimiter) mDelegate).getOutOfRangeMask(year, month);
+        }
+        int mask = 0;
+        int length = Utils.getDaysInMonth(month, year);
+        for (int day = 1; day <= length; day++) {
+            if (mDelegate.isOutOfRange(year, month, day)) mask |= 1 << (day - 1);
+        }
+        return mask;
+    }
+
+    private static int key(int year, int month) {
+        return year * 12 + month;
+    }
+}
@@ -0,0 +1,297 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.wdullaer.materialdatetimepicker.util.PersianCalendar;
+import com.wdullaer.materialdatetimepicker.util.PersianCalendarUtils;
+import com.wdullaer.materialdatetimepicker.util.PersianDate;
+import com.wdullaer.materialdatetimepicker.util.PersianDateRange;
+
+/**
+ * <pre>
+ * An immutable set of date constraints: the year range, min and max date, selectable and disabled days,
+ * ranges and rules, and the highlighted days.
+ *
+ * A snapshot is built once, on any thread, and can then be shared by any number of dialogs without copying;
+ * all lookups are read only and safe to call from several threads. Use {@link #buildUpon()} to derive a
+ * snapshot with a few changes, the original is left untouched and its state is only copied on the first change.
+ *
+ *                     Example
+ *
+ *  {@code
+ *    DateConstraints holidays = new DateConstraints.Builder()
+ *            .setDisabledDays(holidayDates)
+ *            .setHighlightedDays(holidayDates)
+ *            .build();
+ *    dialog.setDateConstraints(holidays);
+ *    otherDialog.setDateConstraints(holidays.buildUpon().setMinDate(today).build());
+ *  }
+ * </pre>
+ */
+@SuppressWarnings("WeakerAccess")
+public final class DateConstraints implements MonthMaskDateRangeLimiter {
+    private final DefaultDateRangeLimiter mLimiter;
+    private final DayIntervals mHighlightedDays;
+
+    private DateConstraints(@NonNull DefaultDateRangeLimiter limiter, @NonNull DayIntervals highlightedDays) {
+        mLimiter = limiter;
+        mHighlightedDays = highlightedDays;
+        // Build the lookup bitmap up front, so later lookups never write to the limiter
+        mLimiter.getAllowedDays();
+    }
+
+    @SuppressWarnings("WeakerAccess")
+    public DateConstraints(Parcel in) {
+        this(new DefaultDateRangeLimiter(in), DayRunCodec.decodeIntervals(in.createByteArray()));
+    }
+
+    @Override
+    public void writeToParcel(Parcel out, int flags) {
+        mLimiter.writeToParcel(out, flags);
+        out.writeByteArray(DayRunCodec.encode(mHighlightedDays));
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @SuppressWarnings("WeakerAccess")
+    public static final Parcelable.Creator<DateConstraints> CREATOR
+            = new Parcelable.Creator<DateConstraints>() {
+        public DateConstraints createFromParcel(Parcel in) {
+            return new DateConstraints(in);
+        }
+
+        public DateConstraints[] newArray(int size) {
+            return new DateConstraints[size];
+        }
+    };
+
+    /**
+     * @return a Builder starting from this snapshot, its build() returns this instance until something changes
+     */
+    public @NonNull Builder buildUpon() {
+        return new Builder(this);
+    }
+
+    public boolean isHighlighted(int year, int month, int day) {
+        return !mHighlightedDays.isEmpty()
+                && mHighlightedDays.contains(PersianCalendarUtils.persianToEpochDay(year, month, day));
+    }
+
+    public boolean isHighlighted(@NonNull PersianDate date) {
+        return !mHighlightedDays.isEmpty() && mHighlightedDays.contains(date.toEpochDay());
+    }
+
+    public @Nullable PersianDate getMinDate() {
+        return mLimiter.getMinPersianDate();
+    }
+
+    public @Nullable PersianDate getMaxDate() {
+        return mLimiter.getMaxPersianDate();
+    }
+
+    public @Nullable PersianDate[] getSelectableDays() {
+        return mLimiter.getSelectablePersianDays();
+    }
+
+    public @Nullable PersianDate[] getDisabledDays() {
+        return mLimiter.getDisabledPersianDays();
+    }
+
+    public @Nullable PersianDateRange[] getSelectableRanges() {
+        return mLimiter.getSelectableRanges();
+    }
+
+    public @Nullable PersianDateRange[] getDisabledRanges() {
+        return mLimiter.getDisabledRanges();
+    }
+
+    public @Nullable DateRule getSelectableRule() {
+        return mLimiter.getSelectableRule();
+    }
+
+    public @Nullable DateRule getDisabledRule() {
+        return mLimiter.getDisabledRule();
+    }
+
+    /**
+     * @return the sorted highlighted days, null if no days are highlighted
+     */
+    public @Nullable PersianDate[] getHighlightedDays() {
+        if (mHighlightedDays.isEmpty()) return null;
+        int count = 0;
+        for (int i = 0; i < mHighlightedDays.size(); i++) {
+            count += (int) (mHighlightedDays.getEnd(i) - mHighlightedDays.getStart(i));
+        }
+        PersianDate[] output = new PersianDate[count];
+        int index = 0;
+        for (int i = 0; i < mHighlightedDays.size(); i++) {
+            for (long day = mHighlightedDays.getStart(i); day < mHighlightedDays.getEnd(i); day++) {
+                output[index++] = PersianDate.ofEpochDay(day);
+            }
+        }
+        return output;
+    }
+
+    @Override
+    public int getMinYear() {
+        return mLimiter.getMinYear();
+    }
+
+    @Override
+    public int getMaxYear() {
+        return mLimiter.getMaxYear();
+    }
+
+    @Override
+    public @NonNull PersianCalendar getStartDate() {
+        return mLimiter.getStartDate();
+    }
+
+    @Override
+    public @NonNull PersianCalendar getEndDate() {
+        return mLimiter.getEndDate();
+    }
+
+    @Override
+    public boolean isOutOfRange(int year, int month, int day) {
+        return mLimiter.isOutOfRange(year, month, day);
+    }
+
+    @Override
+    public int getOutOfRangeMask(int year, int month) {
+        return mLimiter.getOutOfRangeMask(year, month);
+    }
+
+    @Override
+    public @NonNull PersianCalendar setToNearestDate(@NonNull PersianCalendar day) {
+        return mLimiter.setToNearestDate(day);
+    }
+
+    /**
+     * Collects the constraints for a {@link DateConstraints} snapshot. The setters add to the
+     * constraints already present, like the matching setters of {@link DatePickerDialog}.
+     * A Builder is not thread safe, the snapshots it builds are.
+     */
+    public static final class Builder {
+        // Last built or starting snapshot, returned by build() as long as nothing changed
+        private DateConstraints mParent;
+        // Private copies of the parent state, made on the first change
+        private DefaultDateRangeLimiter mLimiter;
+        private DayIntervals mHighlightedDays;
+
+        public Builder() {
+        }
+
+        Builder(@NonNull DateConstraints parent) {
+            mParent = parent;
+        }
+
+        public @NonNull Builder setYearRange(int startYear, int endYear) {
+            limiter().setYearRange(startYear, endYear);
+            return this;
+        }
+
+        public @NonNull Builder setMinDate(@NonNull PersianDate date) {
+            limiter().setMinDate(date);
+            return this;
+        }
+
+        public @NonNull Builder setMaxDate(@NonNull PersianDate date) {
+            limiter().setMaxDate(date);
+            return this;
+        }
+
+        public @NonNull Builder setSelectableDays(@NonNull PersianDate... days) {
+            limiter().setSelectableDays(days);
+            return this;
+        }
+
+        public @NonNull Builder setDisabledDays(@NonNull PersianDate... days) {
+            limiter().setDisabledDays(days);
+            return this;
+        }
+
+        public @NonNull Builder setSelectableRanges(@NonNull PersianDateRange... ranges) {
+            limiter().setSelectableRanges(ranges);
+            return this;
+        }
+
+        public @NonNull Builder setDisabledRanges(@NonNull PersianDateRange... ranges) {
+            limiter().setDisabledRanges(ranges);
+            return this;
+        }
+
+        public @NonNull Builder setSelectableRule(@Nullable DateRule rule) {
+            limiter().setSelectableRule(rule);
+            return this;
+        }
+
+        public @NonNull Builder setDisabledRule(@Nullable DateRule rule) {
+            limiter().setDisabledRule(rule);
+            return this;
+        }
+
+        public @NonNull Builder removeSelectableDay(@NonNull PersianDate day) {
+            limiter().removeSelectableDay(day);
+            return this;
+        }
+
+        public @NonNull Builder removeDisabledDay(@NonNull PersianDate day) {
+            limiter().removeDisabledDay(day);
+            return this;
+        }
+
+        public @NonNull Builder removeSelectableRange(@NonNull PersianDateRange range) {
+            limiter().removeSelectableRange(range);
+            return this;
+        }
+
+        public @NonNull Builder removeDisabledRange(@NonNull PersianDateRange range) {
+            limiter().removeDisabledRange(range);
+            return this;
+        }
+
+        public @NonNull Builder setHighlightedDays(@NonNull PersianDate... days) {
+            DayIntervals highlightedDays = highlightedDays();
+            for (PersianDate day : days) highlightedDays.add(day.toEpochDay(), day.toEpochDay() + 1);
+            return this;
+        }
+
+        public @NonNull Builder removeHighlightedDay(@NonNull PersianDate day) {
+            highlightedDays().remove(day.toEpochDay(), day.toEpochDay() + 1);
+            return this;
+        }
+
+        /**
+         * @return the snapshot, the same instance as the previous build() or buildUpon() if nothing changed since
+         */
+        public @NonNull DateConstraints build() {
+            if (mParent != null && mLimiter == null && mHighlightedDays == null) return mParent;
+            mParent = new DateConstraints(limiter(), highlightedDays());
+            // the snapshot owns the state now, the next change copies it again
+            mLimiter = null;
+            mHighlightedDays = null;
+            return mParent;
+        }
+
+        private @NonNull DefaultDateRangeLimiter limiter() {
+            if (mLimiter == null) {
+                mLimiter = mParent == null ? new DefaultDateRangeLimiter() : new DefaultDateRangeLimiter(mParent.mLimiter);
+            }
+            return mLimiter;
+        }
+
+        private @NonNull DayIntervals highlightedDays() {
+            if (mHighlightedDays == null) {
+                mHighlightedDays = mParent == null ? new DayIntervals() : new DayIntervals(mParent.mHighlightedDays);
+            }
+            return mHighlightedDays;
+        }
+    }
+}
@@ -52,7 +52,12 @@ import com.wdullaer.materialdatetimepicker.Utils;
 
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
+import java.util.Collections;
 import com.wdullaer.materialdatetimepicker.util.PersianCalendar;
+import com.wdullaer.materialdatetimepicker.util.PersianCalendarUtils;
+import com.wdullaer.materialdatetimepicker.util.PersianDate;
+import com.wdullaer.materialdatetimepicker.util.PersianDateFormatter;
+import com.wdullaer.materialdatetimepicker.util.PersianDateRange;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.TimeZone;
@@ -140,6 +145,7 @@ public class DatePickerDialog extends DialogFragment implements
     private static SimpleDateFormat MONTH_FORMAT = new SimpleDateFormat("MMM", Locale.getDefault());
     private static SimpleDateFormat DAY_FORMAT = new SimpleDateFormat("dd", Locale.getDefault());
     private static SimpleDateFormat VERSION_2_FORMAT;
+    private static final PersianDateFormatter HEADER_DATE_FORMAT = PersianDateFormatter.ofPattern("EEEE d MMMM");
 
     private PersianCalendar mCalendar = Utils.trimToMidnight(new PersianCalendar());
     private OnDateSetListener mCallBack;
@@ -161,7 +167,7 @@ public class DatePickerDialog extends DialogFragment implements
 
     private int mWeekStart = mCalendar.getFirstDayOfWeek();
     private String mTitle;
-    private HashSet<PersianCalendar> highlightedDays = new HashSet<>();
+    private HashSet<PersianDate> highlightedDays = new HashSet<>();
     private boolean mThemeDark = false;
     private boolean mThemeDarkChanged = false;
     private int mAccentColor = -1;
@@ -181,6 +187,7 @@ public class DatePickerDialog extends DialogFragment implements
     private Locale mLocale = Locale.getDefault();
     private DefaultDateRangeLimiter mDefaultLimiter = new DefaultDateRangeLimiter();
     private DateRangeLimiter mDateRangeLimiter = mDefaultLimiter;
+    private DateConstraints mDateConstraints;
 
     private HapticFeedbackController mHapticFeedbackController;
 
@@ -261,6 +268,19 @@ public class DatePickerDialog extends DialogFragment implements
         return ret;
     }
 
+    /**
+     * Create a new DatePickerDialog instance with a specific initial selection.
+     * @param callback         How the parent is notified that the date is set.
+     * @param initialSelection The original selection of the picker.
+     * @return a new DatePickerDialog instance
+     */
+    @SuppressWarnings("unused")
+    public static DatePickerDialog newInstance(OnDateSetListener callback, PersianDate initialSelection) {
+        DatePickerDialog ret = new DatePickerDialog();
+        ret.initialize(callback, initialSelection);
+        return ret;
+    }
+
     public void initialize(OnDateSetListener callBack, PersianCalendar initialSelection) {
         mCallBack = callBack;
         mCalendar = Utils.trimToMidnight((PersianCalendar) initialSelection.clone());
@@ -271,6 +291,10 @@ public class DatePickerDialog extends DialogFragment implements
         mVersion = Build.VERSION.SDK_INT < Build.VERSION_CODES.M ? Version.VERSION_1 : Version.VERSION_2;
     }
 
+    public void initialize(OnDateSetListener callBack, PersianDate initialSelection) {
+        this.initialize(callBack, initialSelection.toCalendar());
+    }
+
     public void initialize(OnDateSetListener callBack, int year, int monthOfYear, int dayOfMonth) {
         PersianCalendar cal = new PersianCalendar();
         cal.setPersianDate(year, monthOfYear, dayOfMonth);
@@ -351,7 +375,7 @@ public class DatePickerDialog extends DialogFragment implements
             listPosition = savedInstanceState.getInt(KEY_LIST_POSITION);
             listPositionOffset = savedInstanceState.getInt(KEY_LIST_POSITION_OFFSET);
             //noinspection unchecked
-            highlightedDays = (HashSet<PersianCalendar>) savedInstanceState.getSerializable(KEY_HIGHLIGHTED_DAYS);
+            highlightedDays = (HashSet<PersianDate>) savedInstanceState.getSerializable(KEY_HIGHLIGHTED_DAYS);
             mThemeDark = savedInstanceState.getBoolean(KEY_THEME_DARK);
             mThemeDarkChanged = savedInstanceState.getBoolean(KEY_THEME_DARK_CHANGED);
             mAccentColor = savedInstanceState.getInt(KEY_ACCENT);
@@ -389,10 +413,11 @@ public class DatePickerDialog extends DialogFragment implements
             } else {
                 mDefaultLimiter = new DefaultDateRangeLimiter();
             }
+            if (mDateRangeLimiter instanceof DateConstraints) {
+                mDateConstraints = (DateConstraints) mDateRangeLimiter;
+            }
         }
 
-        mDefaultLimiter.setController(this);
-
         int viewRes = mVersion == Version.VERSION_1 ? R.layout.mdtp_date_picker_dialog : R.layout.mdtp_date_picker_dialog_v2;
         View view = inflater.inflate(viewRes, container, false);
         // All options have been set at this point: round the initial selection if necessary
@@ -408,6 +433,7 @@ public class DatePickerDialog extends DialogFragment implements
 
         final Activity activity = requireActivity();
         mDayPickerView = new DayPickerGroup(activity, this);
+        bindAsyncLimiter();
         mYearPickerView = new YearPickerView(activity, this);
 
         // if theme mode has not been set by java code, check if it is specified in Style.xml
@@ -527,6 +553,16 @@ public class DatePickerDialog extends DialogFragment implements
         if (mDismissOnPause) dismiss();
     }
 
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        if (mDateRangeLimiter instanceof AsyncDateRangeLimiter) {
+            AsyncDateRangeLimiter limiter = (AsyncDateRangeLimiter) mDateRangeLimiter;
+            limiter.setOnMonthLoadedListener(null);
+            limiter.cancelPending();
+        }
+    }
+
     @Override
     public void onCancel(DialogInterface dialog) {
         super.onCancel(dialog);
@@ -626,7 +662,7 @@ public class DatePickerDialog extends DialogFragment implements
         }
 
         if (mVersion == Version.VERSION_2) {
-            mSelectedDayTextView.setText(mCalendar.getPersianWeekDayName() + " " + mCalendar.getPersianDay() + " " + mCalendar.getPersianMonthName());
+            mSelectedDayTextView.setText(HEADER_DATE_FORMAT.format(mCalendar));
             mSelectedDayTextView.setTypeface(DatePickerDialog.getCustomRegularTypeface());
             if (mTitle != null)
                 mDatePickerHeaderView.setText(mTitle.toUpperCase(mLocale));
@@ -810,6 +846,21 @@ public class DatePickerDialog extends DialogFragment implements
         }
     }
 
+    /**
+     * Sets the minimal date supported by this DatePicker. Dates before (but not including) the
+     * specified date will be disallowed from being selected.
+     *
+     * @param date the first selectable date
+     */
+    @SuppressWarnings("unused")
+    public void setMinDate(PersianDate date) {
+        mDefaultLimiter.setMinDate(date);
+
+        if (mDayPickerView != null) {
+            mDayPickerView.onChange();
+        }
+    }
+
     /**
      * @return The minimal date supported by this DatePicker. Null if it has not been set.
      */
@@ -818,6 +869,14 @@ public class DatePickerDialog extends DialogFragment implements
         return mDefaultLimiter.getMinDate();
     }
 
+    /**
+     * @return The minimal date supported by this DatePicker. Null if it has not been set.
+     */
+    @SuppressWarnings("unused")
+    public PersianDate getMinPersianDate() {
+        return mDefaultLimiter.getMinPersianDate();
+    }
+
     /**
      * Sets the minimal date supported by this DatePicker. Dates after (but not including) the
      * specified date will be disallowed from being selected.
@@ -833,6 +892,21 @@ public class DatePickerDialog extends DialogFragment implements
         }
     }
 
+    /**
+     * Sets the maximal date supported by this DatePicker. Dates after (but not including) the
+     * specified date will be disallowed from being selected.
+     *
+     * @param date the last selectable date
+     */
+    @SuppressWarnings("unused")
+    public void setMaxDate(PersianDate date) {
+        mDefaultLimiter.setMaxDate(date);
+
+        if (mDayPickerView != null) {
+            mDayPickerView.onChange();
+        }
+    }
+
     /**
      * @return The maximal date supported by this DatePicker. Null if it has not been set.
      */
@@ -841,6 +915,14 @@ public class DatePickerDialog extends DialogFragment implements
         return mDefaultLimiter.getMaxDate();
     }
 
+    /**
+     * @return The maximal date supported by this DatePicker. Null if it has not been set.
+     */
+    @SuppressWarnings("unused")
+    public PersianDate getMaxPersianDate() {
+        return mDefaultLimiter.getMaxPersianDate();
+    }
+
     /**
      * Sets an array of dates which should be highlighted when the picker is drawn
      *
@@ -849,7 +931,7 @@ public class DatePickerDialog extends DialogFragment implements
     @SuppressWarnings("unused")
     public void setHighlightedDays(PersianCalendar[] highlightedDays) {
         for (PersianCalendar highlightedDay : highlightedDays) {
-            this.highlightedDays.add(Utils.trimToMidnight((PersianCalendar) highlightedDay.clone()));
+            this.highlightedDays.add(PersianDate.fromCalendar(highlightedDay));
         }
         if (mDayPickerView != null) mDayPickerView.onChange();
     }
@@ -860,17 +942,40 @@ public class DatePickerDialog extends DialogFragment implements
     @SuppressWarnings("unused")
     public PersianCalendar[] getHighlightedDays() {
         if (highlightedDays.isEmpty()) return null;
-        PersianCalendar[] output = highlightedDays.toArray(new PersianCalendar[0]);
-        Arrays.sort(output);
+        PersianDate[] dates = highlightedDays.toArray(new PersianDate[0]);
+        Arrays.sort(dates);
+        PersianCalendar[] output = new PersianCalendar[dates.length];
+        for (int i = 0; i < dates.length; i++) output[i] = dates[i].toCalendar();
         return output;
     }
 
+    /**
+     * Sets an array of dates which should be highlighted when the picker is drawn
+     *
+     * @param highlightedDays the dates to be highlighted
+     */
+    @SuppressWarnings("unused")
+    public void setHighlightedDays(PersianDate[] highlightedDays) {
+        Collections.addAll(this.highlightedDays, highlightedDays);
+        if (mDayPickerView != null) mDayPickerView.onChange();
+    }
+
+    /**
+     * @return The sorted dates which should be highlighted. null is no dates should be highlighted
+     */
+    @SuppressWarnings("unused")
+    public PersianDate[] getHighlightedPersianDays() {
+        if (highlightedDays.isEmpty()) return null;
+        PersianDate[] dates = highlightedDays.toArray(new PersianDate[highlightedDays.size()]);
+        Arrays.sort(dates);
+        return dates;
+    }
+
     @Override
     public boolean isHighlighted(int year, int month, int day) {
-        PersianCalendar date = new PersianCalendar();
-        date.setPersianDate(year, month, day);
-        Utils.trimToMidnight(date);
-        return highlightedDays.contains(date);
+        if (mDateConstraints != null && mDateConstraints.isHighlighted(year, month, day)) return true;
+        return !highlightedDays.isEmpty() && highlightedDays.contains(
+                PersianDate.ofEpochDay(PersianCalendarUtils.persianToEpochDay(year, month, day)));
     }
 
     /**
@@ -885,6 +990,18 @@ public class DatePickerDialog extends DialogFragment implements
         if (mDayPickerView != null) mDayPickerView.onChange();
     }
 
+    /**
+     * Sets a list of days which are the only valid selections.
+     * Setting this value will take precedence over using setMinDate() and setMaxDate()
+     *
+     * @param selectableDays the selectable dates
+     */
+    @SuppressWarnings("unused")
+    public void setSelectableDays(PersianDate[] selectableDays) {
+        mDefaultLimiter.setSelectableDays(selectableDays);
+        if (mDayPickerView != null) mDayPickerView.onChange();
+    }
+
     /**
      * @return an Array of Calendar objects containing the list with selectable items. null if no restriction is set
      */
@@ -893,6 +1010,14 @@ public class DatePickerDialog extends DialogFragment implements
         return mDefaultLimiter.getSelectableDays();
     }
 
+    /**
+     * @return the sorted selectable dates. null if no restriction is set
+     */
+    @SuppressWarnings("unused")
+    public PersianDate[] getSelectablePersianDays() {
+        return mDefaultLimiter.getSelectablePersianDays();
+    }
+
     /**
      * Sets a list of days that are not selectable in the picker
      * Setting this value will take precedence over using setMinDate() and setMaxDate(), but stacks with setSelectableDays()
@@ -905,6 +1030,18 @@ public class DatePickerDialog extends DialogFragment implements
         if (mDayPickerView != null) mDayPickerView.onChange();
     }
 
+    /**
+     * Sets a list of days that are not selectable in the picker
+     * Setting this value will take precedence over using setMinDate() and setMaxDate(), but stacks with setSelectableDays()
+     *
+     * @param disabledDays the disabled dates
+     */
+    @SuppressWarnings("unused")
+    public void setDisabledDays(PersianDate[] disabledDays) {
+        mDefaultLimiter.setDisabledDays(disabledDays);
+        if (mDayPickerView != null) mDayPickerView.onChange();
+    }
+
     /**
      * @return an Array of Calendar objects containing the list of days that are not selectable. null if no restriction is set
      */
@@ -913,13 +1050,257 @@ public class DatePickerDialog extends DialogFragment implements
         return mDefaultLimiter.getDisabledDays();
     }
 
+    /**
+     * @return the dates that are not selectable, in no particular order. null if no restriction is set
+     */
+    @SuppressWarnings("unused")
+    public PersianDate[] getDisabledPersianDays() {
+        return mDefaultLimiter.getDisabledPersianDays();
+    }
+
+    /**
+     * Sets ranges of days which are the only valid selections, together with the days set by setSelectableDays().
+     * Overlapping and adjacent ranges are merged, so memory grows with the number of ranges rather than days.
+     *
+     * @param selectableRanges the selectable ranges
+     */
+    @SuppressWarnings("unused")
+    public void setSelectableRanges(PersianDateRange[] selectableRanges) {
+        mDefaultLimiter.setSelectableRanges(selectableRanges);
+        if (mDayPickerView != null) mDayPickerView.onChange();
+    }
+
+    /**
+     * @return an Array of the merged selectable ranges. null if no range is set
+     */
+    @SuppressWarnings("unused")
+    public PersianDateRange[] getSelectableRanges() {
+        return mDefaultLimiter.getSelectableRanges();
+    }
+
+    /**
+     * Sets ranges of days that are not selectable in the picker, stacks with setDisabledDays()
+     * Overlapping and adjacent ranges are merged, so memory grows with the number of ranges rather than days.
+     *
+     * @param disabledRanges the disabled ranges
+     */
+    @SuppressWarnings("unused")
+    public void setDisabledRanges(PersianDateRange[] disabledRanges) {
+        mDefaultLimiter.setDisabledRanges(disabledRanges);
+        if (mDayPickerView != null) mDayPickerView.onChange();
+    }
+
+    /**
+     * @return an Array of the merged disabled ranges. null if no range is set
+     */
+    @SuppressWarnings("unused")
+    public PersianDateRange[] getDisabledRanges() {
+        return mDefaultLimiter.getDisabledRanges();
+    }
+
+    /**
+     * Disables a single day while the picker is shown, redrawing only its month
+     *
+     * @param day the day
+     */
+    @SuppressWarnings("unused")
+    public void addDisabledDay(@NonNull PersianDate day) {
+        PersianCalendar start = mDefaultLimiter.getStartDate();
+        PersianCalendar end = mDefaultLimiter.getEndDate();
+        onDaysChanged(mDefaultLimiter.addDisabledDay(day), start, end);
+    }
+
+    /**
+     * Enables a day disabled with setDisabledDays() or addDisabledDay(), redrawing only its month
+     *
+     * @param day the day
+     */
+    @SuppressWarnings("unused")
+    public void removeDisabledDay(@NonNull PersianDate day) {
+        PersianCalendar start = mDefaultLimiter.getStartDate();
+        PersianCalendar end = mDefaultLimiter.getEndDate();
+        onDaysChanged(mDefaultLimiter.removeDisabledDay(day), start, end);
+    }
+
+    /**
+     * Disables a range of days while the picker is shown, redrawing only the months it covers
+     *
+     * @param range the days
+     */
+    @SuppressWarnings("unused")
+    public void addDisabledRange(@NonNull PersianDateRange range) {
+        PersianCalendar start = mDefaultLimiter.getStartDate();
+        PersianCalendar end = mDefaultLimiter.getEndDate();
+        onDaysChanged(mDefaultLimiter.addDisabledRange(range), start, end);
+    }
+
+    /**
+     * Enables a range of days disabled with setDisabledRanges() or addDisabledRange(), redrawing only the months it covers
+     *
+     * @param range the days
+     */
+    @SuppressWarnings("unused")
+    public void removeDisabledRange(@NonNull PersianDateRange range) {
+        PersianCalendar start = mDefaultLimiter.getStartDate();
+        PersianCalendar end = mDefaultLimiter.getEndDate();
+        onDaysChanged(mDefaultLimiter.removeDisabledRange(range), start, end);
+    }
+
+    /**
+     * Adds a single day to the selectable days, redrawing only its month
+     *
+     * @param day the day
+     */
+    @SuppressWarnings("unused")
+    public void addSelectableDay(@NonNull PersianDate day) {
+        PersianCalendar start = mDefaultLimiter.getStartDate();
+        PersianCalendar end = mDefaultLimiter.getEndDate();
+        onDaysChanged(mDefaultLimiter.addSelectableDay(day), start, end);
+    }
+
+    /**
+     * Removes a single day from the selectable days, redrawing only its month
+     *
+     * @param day the day
+     */
+    @SuppressWarnings("unused")
+    public void removeSelectableDay(@NonNull PersianDate day) {
+        PersianCalendar start = mDefaultLimiter.getStartDate();
+        PersianCalendar end = mDefaultLimiter.getEndDate();
+        onDaysChanged(mDefaultLimiter.removeSelectableDay(day), start, end);
+    }
+
+    /**
+     * Adds a range of days to the selectable ranges, redrawing only the months it covers
+     *
+     * @param range the days
+     */
+    @SuppressWarnings("unused")
+    public void addSelectableRange(@NonNull PersianDateRange range) {
+        PersianCalendar start = mDefaultLimiter.getStartDate();
+        PersianCalendar end = mDefaultLimiter.getEndDate();
+        onDaysChanged(mDefaultLimiter.addSelectableRange(range), start, end);
+    }
+
+    /**
+     * Removes a range of days from the selectable ranges, redrawing only the months it covers
+     *
+     * @param range the days
+     */
+    @SuppressWarnings("unused")
+    public void removeSelectableRange(@NonNull PersianDateRange range) {
+        PersianCalendar start = mDefaultLimiter.getStartDate();
+        PersianCalendar end = mDefaultLimiter.getEndDate();
+        onDaysChanged(mDefaultLimiter.removeSelectableRange(range), start, end);
+    }
+
+    /**
+     * Redraws the months of the changed days, or the whole picker if the first or last month moved
+     */
+    private void onDaysChanged(@NonNull PersianDateRange changed, @NonNull PersianCalendar oldStart,
+                               @NonNull PersianCalendar oldEnd) {
+        if (mDayPickerView == null) return;
+        if (mDateRangeLimiter != mDefaultLimiter || !isSameMonth(oldStart, mDefaultLimiter.getStartDate())
+                || !isSameMonth(oldEnd, mDefaultLimiter.getEndDate())) {
+            mDayPickerView.onChange();
+            return;
+        }
+        PersianDateRange.MonthCursor cursor = changed.months();
+        while (cursor.next()) mDayPickerView.onMonthChanged(cursor.getYear(), cursor.getMonth());
+    }
+
+    private static boolean isSameMonth(@NonNull PersianCalendar first, @NonNull PersianCalendar second) {
+        return first.getPersianYear() == second.getPersianYear() && first.getPersianMonth() == second.getPersianMonth();
+    }
+
+    /**
+     * Sets a recurring rule for the days which are valid selections, together with setSelectableDays() and
+     * setSelectableRanges(). The rule is evaluated a month at a time, so it works for any year range.
+     *
+     * @param selectableRule the rule, or null to remove it
+     */
+    @SuppressWarnings("unused")
+    public void setSelectableRule(DateRule selectableRule) {
+        mDefaultLimiter.setSelectableRule(selectableRule);
+        if (mDayPickerView != null) mDayPickerView.onChange();
+    }
+
+    /**
+     * @return the rule set with setSelectableRule(). null if no rule is set
+     */
+    @SuppressWarnings("unused")
+    public DateRule getSelectableRule() {
+        return mDefaultLimiter.getSelectableRule();
+    }
+
+    /**
+     * Sets a recurring rule for days that are not selectable in the picker, stacks with setDisabledDays()
+     * The rule is evaluated a month at a time, so it works for any year range.
+     *
+     * @param disabledRule the rule, or null to remove it
+     */
+    @SuppressWarnings("unused")
+    public void setDisabledRule(DateRule disabledRule) {
+        mDefaultLimiter.setDisabledRule(disabledRule);
+        if (mDayPickerView != null) mDayPickerView.onChange();
+    }
+
+    /**
+     * @return the rule set with setDisabledRule(). null if no rule is set
+     */
+    @SuppressWarnings("unused")
+    public DateRule getDisabledRule() {
+        return mDefaultLimiter.getDisabledRule();
+    }
+
     /**
      * Provide a DateRangeLimiter for full control over which dates are enabled and disabled in the picker
      * @param dateRangeLimiter An implementation of the DateRangeLimiter interface
      */
     @SuppressWarnings("unused")
     public void setDateRangeLimiter(DateRangeLimiter dateRangeLimiter) {
+        if (mDateRangeLimiter instanceof AsyncDateRangeLimiter) {
+            ((AsyncDateRangeLimiter) mDateRangeLimiter).setOnMonthLoadedListener(null);
+        }
         mDateRangeLimiter = dateRangeLimiter;
+        if (dateRangeLimiter != mDateConstraints) mDateConstraints = null;
+        if (mDayPickerView != null) bindAsyncLimiter();
+    }
+
+    /**
+     * Use a shared, immutable set of constraints instead of the ones configured on this dialog.
+     * The snapshot is referenced, not copied, so any number of dialogs can use the same one.
+     * Its highlighted days are shown together with the ones set with setHighlightedDays()
+     *
+     * @param dateConstraints the constraints, or null to go back to the ones configured on this dialog
+     */
+    @SuppressWarnings("unused")
+    public void setDateConstraints(DateConstraints dateConstraints) {
+        mDateConstraints = dateConstraints;
+        setDateRangeLimiter(dateConstraints != null ? dateConstraints : mDefaultLimiter);
+        if (mDayPickerView != null) mDayPickerView.onChange();
+    }
+
+    /**
+     * @return the constraints set with setDateConstraints(). null if none are set
+     */
+    @SuppressWarnings("unused")
+    public DateConstraints getDateConstraints() {
+        return mDateConstraints;
+    }
+
+    /**
+     * Redraws months loaded in the background by an AsyncDateRangeLimiter
+     */
+    private void bindAsyncLimiter() {
+        if (!(mDateRangeLimiter instanceof AsyncDateRangeLimiter)) return;
+        ((AsyncDateRangeLimiter) mDateRangeLimiter).setOnMonthLoadedListener(
+                new AsyncDateRangeLimiter.OnMonthLoadedListener() {
+                    @Override
+                    public void onMonthLoaded(int year, int month) {
+                        if (mDayPickerView != null) mDayPickerView.onMonthChanged(year, month);
+                    }
+                });
     }
 
     /**
@@ -1122,6 +1503,14 @@ public class DatePickerDialog extends DialogFragment implements
         return new MonthAdapter.CalendarDay(mCalendar, getTimeZone());
     }
 
+    /**
+     * @return the currently selected date
+     */
+    @SuppressWarnings("unused")
+    public PersianDate getSelectedDate() {
+        return PersianDate.fromCalendar(mCalendar);
+    }
+
     @Override
     public PersianCalendar getStartDate() {
         return mDateRangeLimiter.getStartDate();
@@ -1148,6 +1537,25 @@ public class DatePickerDialog extends DialogFragment implements
         return mDateRangeLimiter.isOutOfRange(year, month, day);
     }
 
+    /**
+     * Called by DayPickerView when the most visible month changes while scrolling, so its neighbours
+     * can be loaded ahead
+     *
+     * @param direction positive when scrolling towards later months, negative towards earlier ones
+     */
+    void onVisibleMonthChanged(int year, int month, int direction) {
+        if (mDateRangeLimiter instanceof AsyncDateRangeLimiter) {
+            ((AsyncDateRangeLimiter) mDateRangeLimiter).prefetch(year, month, direction);
+        }
+    }
+
+    /**
+     * Used by MonthView to read whole months from limiters that support it
+     */
+    DateRangeLimiter getDateRangeLimiter() {
+        return mDateRangeLimiter;
+    }
+
     @Override
     public int getFirstDayOfWeek() {
         return mWeekStart;
@@ -0,0 +1,367 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import android.support.annotation.NonNull;
+
+import com.wdullaer.materialdatetimepicker.util.PersianCalendarUtils;
+import com.wdullaer.materialdatetimepicker.util.PersianDate;
+
+import java.io.Serializable;
+import java.util.Calendar;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <pre>
+ * A recurring set of days, such as every Friday or the 1st and 15th of each month.
+ * Rules are evaluated a month at a time into a mask with bit (day - 1) set for every matching day,
+ * so they cover any range of years without expanding them into single days.
+ * The masks of recently used months are memoized.
+ *
+ *                     Example
+ *
+ *  {@code
+ *    // the last working day of Esfand
+ *    DateRule rule = DateRule.months(11).and(DateRule.nthWeekday(-1, Calendar.SATURDAY, Calendar.SUNDAY,
+ *            Calendar.MONDAY, Calendar.TUESDAY, Calendar.WEDNESDAY));
+ *    dialog.setSelectableRule(rule);
+ *  }
+ * </pre>
+ */
+public abstract class DateRule implements Serializable {
+    private static final long serialVersionUID = -6170981376418357263L;
+
+    // Number of months memoized per rule, a power of two
+    private static final int MEMO_SIZE = 64;
+    // Marks a memo entry as filled, the mask itself never uses bit 31
+    private static final long MEMO_VALID = 1L << 31;
+
+    // Direct mapped on the month, each entry packs (month key << 32) | MEMO_VALID | mask
+    private transient AtomicLongArray mMemo;
+
+    DateRule() {}
+
+    /**
+     * Evaluates the rule for a single month
+     *
+     * @param year           persian year
+     * @param month          persian month (0-11)
+     * @param firstDayOfWeek day of the week of the first day of the month, one of the {@link Calendar} constants
+     * @param length         number of days in the month
+     * @return int with bit (day - 1) set for every matching day
+     */
+    abstract int evaluate(int year, int month, int firstDayOfWeek, int length);
+
+    /**
+     * @param year  persian year
+     * @param month persian month (0-11)
+     * @return int with bit (day - 1) set for every matching day of the month
+     */
+    public int getMonthMask(int year, int month) {
+        long key = (year > 0 ? year - 1L : (long) year) * 12 + month;
+        AtomicLongArray memo = mMemo;
+        if (memo == null) mMemo = memo = new AtomicLongArray(MEMO_SIZE);
+        int index = (int) (key & (MEMO_SIZE - 1));
+        long entry = memo.get(index);
+        if ((entry & MEMO_VALID) != 0 && entry >> 32 == key) return (int) (entry & ~MEMO_VALID);
+
+        long firstEpochDay = PersianCalendarUtils.persianToEpochDay(year, month, 1);
+        int mask = evaluate(year, month, dayOfWeek(firstEpochDay), PersianDate.lengthOfMonth(year, month));
+        memo.set(index, key << 32 | MEMO_VALID | mask);
+        return mask;
+    }
+
+    public boolean matches(int year, int month, int day) {
+        return (getMonthMask(year, month) & (1 << (day - 1))) != 0;
+    }
+
+    public boolean matches(@NonNull PersianDate date) {
+        return matches(date.getYear(), date.getMonth(), date.getDayOfMonth());
+    }
+
+    /**
+     * @return the first matching epoch day in [from, last], Long.MAX_VALUE if there is none
+     */
+    long nextMatch(long from, long last) {
+        return next(from, last, true);
+    }
+
+    /**
+     * @return the first epoch day in [from, last] that does not match, Long.MAX_VALUE if there is none
+     */
+    long nextMismatch(long from, long last) {
+        return next(from, last, false);
+    }
+
+    /**
+     * @return the last matching epoch day in [first, from], Long.MIN_VALUE if there is none
+     */
+    long previousMatch(long from, long first) {
+        return previous(from, first, true);
+    }
+
+    /**
+     * @return the last epoch day in [first, from] that does not match, Long.MIN_VALUE if there is none
+     */
+    long previousMismatch(long from, long first) {
+        return previous(from, first, false);
+    }
+
+    private long next(long from, long last, boolean match) {
+        if (from > last) return Long.MAX_VALUE;
+        PersianDate date = PersianDate.ofEpochDay(from);
+        int year = date.getYear();
+        int month = date.getMonth();
+        long monthStart = from - date.getDayOfMonth() + 1;
+        int mask = getMonthMask(year, month, match) & (-1 << (date.getDayOfMonth() - 1));
+        while (monthStart <= last) {
+            if (mask != 0) {
+                long day = monthStart + Integer.numberOfTrailingZeros(mask);
+                return day <= last ? day : Long.MAX_VALUE;
+            }
+            monthStart += PersianDate.lengthOfMonth(year, month);
+            if (++month == 12) {
+                month = 0;
+                year = year == -1 ? 1 : year + 1;
+            }
+            mask = getMonthMask(year, month, match);
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private long previous(long from, long first, boolean match) {
+        if (from < first) return Long.MIN_VALUE;
+        PersianDate date = PersianDate.ofEpochDay(from);
+        int year = date.getYear();
+        int month = date.getMonth();
+        long monthStart = from - date.getDayOfMonth() + 1;
+        int mask = getMonthMask(year, month, match) & (-1 >>> (32 - date.getDayOfMonth()));
+        while (monthStart + PersianDate.lengthOfMonth(year, month) > first) {
+            if (mask != 0) {
+                long day = monthStart + 31 - Integer.numberOfLeadingZeros(mask);
+                return day >= first ? day : Long.MIN_VALUE;
+            }
+            if (--month < 0) {
+                month = 11;
+                year = year == 1 ? -1 : year - 1;
+            }
+            monthStart -= PersianDate.lengthOfMonth(year, month);
+            mask = getMonthMask(year, month, match);
+        }
+        return Long.MIN_VALUE;
+    }
+
+    // The matching days of the month, or the other days of it
+    private int getMonthMask(int year, int month, boolean match) {
+        int mask = getMonthMask(year, month);
+        return match ? mask : ~mask & lengthMask(PersianDate.lengthOfMonth(year, month));
+    }
+
+    /**
+     * @return DateRule matching the days matched by both rules
+     */
+    public @NonNull DateRule and(@NonNull DateRule other) {
+        return new Combination(this, other, true);
+    }
+
+    /**
+     * @return DateRule matching the days matched by either rule
+     */
+    public @NonNull DateRule or(@NonNull DateRule other) {
+        return new Combination(this, other, false);
+    }
+
+    /**
+     * @return DateRule matching the days not matched by this rule
+     */
+    public @NonNull DateRule negate() {
+        return new Negation(this);
+    }
+
+    /**
+     * @param daysOfWeek {@link Calendar} day of week constants
+     * @return DateRule matching every day on one of the given days of the week
+     */
+    public static @NonNull DateRule weekdays(int... daysOfWeek) {
+        return new Weekdays(toWeekdayMask(daysOfWeek));
+    }
+
+    /**
+     * @param days days of the month (1-31), or counted from the end of the month (-1 is the last day)
+     * @return DateRule matching the given days of every month
+     */
+    public static @NonNull DateRule daysOfMonth(int... days) {
+        int fromStart = 0;
+        int fromEnd = 0;
+        for (int day : days) {
+            if (day == 0 || day > 31 || day < -31) throw new IllegalArgumentException("Invalid day of month: " + day);
+            if (day > 0) fromStart |= 1 << (day - 1);
+            else fromEnd |= 1 << (-day - 1);
+        }
+        return new DaysOfMonth(fromStart, fromEnd);
+    }
+
+    /**
+     * @param months persian months (0-11)
+     * @return DateRule matching every day of the given months
+     */
+    public static @NonNull DateRule months(int... months) {
+        int mask = 0;
+        for (int month : months) {
+            if (month < 0 || month > 11) throw new IllegalArgumentException("Invalid month: " + month);
+            mask |= 1 << month;
+        }
+        return new Months(mask);
+    }
+
+    /**
+     * @param n          which occurrence in the month, 1 is the first and -1 the last
+     * @param daysOfWeek {@link Calendar} day of week constants, the occurrences of all of them are counted together
+     * @return DateRule matching the n-th day of every month that falls on one of the given days of the week
+     */
+    public static @NonNull DateRule nthWeekday(int n, int... daysOfWeek) {
+        if (n == 0 || n > 31 || n < -31) throw new IllegalArgumentException("Invalid occurrence: " + n);
+        return new NthWeekday(n, new Weekdays(toWeekdayMask(daysOfWeek)));
+    }
+
+    private static int toWeekdayMask(int[] daysOfWeek) {
+        int mask = 0;
+        for (int dayOfWeek : daysOfWeek) {
+            if (dayOfWeek < Calendar.SUNDAY || dayOfWeek > Calendar.SATURDAY) {
+                throw new IllegalArgumentException("Invalid day of week: " + dayOfWeek);
+            }
+            mask |= 1 << (dayOfWeek - Calendar.SUNDAY);
+        }
+        return mask;
+    }
+
+    private static int dayOfWeek(long epochDay) {
+        // 1970-01-01 was a Thursday
+        int dayOfWeek = (int) ((epochDay + 4) % 7);
+        return (dayOfWeek < 0 ? dayOfWeek + 7 : dayOfWeek) + Calendar.SUNDAY;
+    }
+
+    private static int lengthMask(int length) {
+        return -1 >>> (32 - length);
+    }
+
+    private static final class Weekdays extends DateRule {
+        private static final long serialVersionUID = 4187734270671829305L;
+
+        // mPatterns[i] is the 31 day mask of a month starting on day of week SUNDAY + i
+        private final int[] mPatterns = new int[7];
+
+        Weekdays(int weekdayMask) {
+            for (int first = 0; first < 7; first++) {
+                int pattern = 0;
+                for (int day = 0; day < 31; day++) {
+                    if ((weekdayMask & (1 << ((first + day) % 7))) != 0) pattern |= 1 << day;
+                }
+                mPatterns[first] = pattern;
+            }
+        }
+
+        @Override
+        int evaluate(int year, int month, int firstDayOfWeek, int length) {
+            return mPatterns[firstDayOfWeek - Calendar.SUNDAY] & lengthMask(length);
+        }
+    }
+
+    private static final class DaysOfMonth extends DateRule {
+        private static final long serialVersionUID = -2563812236510934406L;
+
+        private final int mFromStart;
+        // bit i matches the (i + 1)-th day counted from the end of the month
+        private final int mFromEnd;
+
+        DaysOfMonth(int fromStart, int fromEnd) {
+            mFromStart = fromStart;
+            mFromEnd = fromEnd;
+        }
+
+        @Override
+        int evaluate(int year, int month, int firstDayOfWeek, int length) {
+            int mask = mFromStart & lengthMask(length);
+            int fromEnd = mFromEnd & lengthMask(length);
+            while (fromEnd != 0) {
+                int i = Integer.numberOfTrailingZeros(fromEnd);
+                mask |= 1 << (length - 1 - i);
+                fromEnd &= fromEnd - 1;
+            }
+            return mask;
+        }
+    }
+
+    private static final class Months extends DateRule {
+        private static final long serialVersionUID = 7305426687398517010L;
+
+        private final int mMonths;
+
+        Months(int months) {
+            mMonths = months;
+        }
+
+        @Override
+        int evaluate(int year, int month, int firstDayOfWeek, int length) {
+            return (mMonths & (1 << month)) != 0 ? lengthMask(length) : 0;
+        }
+    }
+
+    private static final class NthWeekday extends DateRule {
+        private static final long serialVersionUID = -4930446710379417754L;
+
+        private final int mN;
+        private final Weekdays mWeekdays;
+
+        NthWeekday(int n, Weekdays weekdays) {
+            mN = n;
+            mWeekdays = weekdays;
+        }
+
+        @Override
+        int evaluate(int year, int month, int firstDayOfWeek, int length) {
+            int candidates = mWeekdays.evaluate(year, month, firstDayOfWeek, length);
+            if (mN > 0) {
+                for (int i = 1; i < mN && candidates != 0; i++) candidates &= candidates - 1;
+                return Integer.lowestOneBit(candidates);
+            }
+            for (int i = -1; i > mN && candidates != 0; i--) candidates &= ~Integer.highestOneBit(candidates);
+            return Integer.highestOneBit(candidates);
+        }
+    }
+
+    private static final class Combination extends DateRule {
+        private static final long serialVersionUID = 1642081567294860233L;
+
+        private final DateRule mFirst;
+        private final DateRule mSecond;
+        private final boolean mAnd;
+
+        Combination(DateRule first, DateRule second, boolean and) {
+            mFirst = first;
+            mSecond = second;
+            mAnd = and;
+        }
+
+        @Override
+        int evaluate(int year, int month, int firstDayOfWeek, int length) {
+            int first = mFirst.evaluate(year, month, firstDayOfWeek, length);
+            if (mAnd && first == 0) return 0;
+            int second = mSecond.evaluate(year, month, firstDayOfWeek, length);
+            return mAnd ? first & second : first | second;
+        }
+    }
+
+    private static final class Negation extends DateRule {
+        private static final long serialVersionUID = 8857620113547164926L;
+
+        private final DateRule mRule;
+
+        Negation(DateRule rule) {
+            mRule = rule;
+        }
+
+        @Override
+        int evaluate(int year, int month, int firstDayOfWeek, int length) {
+            return ~mRule.evaluate(year, month, firstDayOfWeek, length) & lengthMask(length);
+        }
+    }
+}
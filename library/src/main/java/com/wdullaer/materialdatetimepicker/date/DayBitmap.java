@@ -0,0 +1,146 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+/**
+ * A fixed window of days, one bit per day, addressed by epoch day.
+ * Days outside of the window read as clear.
+ */
+final class DayBitmap {
+    private final long mStart;
+    private final long mEnd;
+    private final long[] mWords;
+
+    /**
+     * @param start first epoch day of the window
+     * @param end   epoch day after the last day of the window
+     */
+    DayBitmap(long start, long end) {
+        mStart = start;
+        mEnd = Math.max(start, end);
+        mWords = new long[(int) ((mEnd - mStart + 63) >>> 6)];
+    }
+
+    long getStart() {
+        return mStart;
+    }
+
+    long getEnd() {
+        return mEnd;
+    }
+
+    boolean get(long epochDay) {
+        long index = epochDay - mStart;
+        if (index < 0 || epochDay >= mEnd) return false;
+        return (mWords[(int) (index >>> 6)] & (1L << index)) != 0;
+    }
+
+    void set(long epochDay) {
+        if (epochDay < mStart || epochDay >= mEnd) return;
+        long index = epochDay - mStart;
+        mWords[(int) (index >>> 6)] |= 1L << index;
+    }
+
+    void clear(long epochDay) {
+        if (epochDay < mStart || epochDay >= mEnd) return;
+        long index = epochDay - mStart;
+        mWords[(int) (index >>> 6)] &= ~(1L << index);
+    }
+
+    /**
+     * @param from  first epoch day
+     * @param count number of days, at most 32
+     * @return int with bit i set if day from + i is set
+     */
+    int get(long from, int count) {
+        long index = from - mStart;
+        if (index < 0 || from + count > mEnd) {
+            int bits = 0;
+            for (int i = 0; i < count; i++) {
+                if (get(from + i)) bits |= 1 << i;
+            }
+            return bits;
+        }
+        int word = (int) (index >>> 6);
+        int shift = (int) (index & 63);
+        long bits = mWords[word] >>> shift;
+        if (shift + count > 64) bits |= mWords[word + 1] << (64 - shift);
+        return (int) (bits & ((1L << count) - 1));
+    }
+
+    /**
+     * Sets every day in [from, to), clipped to the window
+     */
+    void set(long from, long to) {
+        fill(from, to, true);
+    }
+
+    /**
+     * Clears every day in [from, to), clipped to the window
+     */
+    void clear(long from, long to) {
+        fill(from, to, false);
+    }
+
+    private void fill(long from, long to, boolean value) {
+        from = Math.max(from, mStart);
+        to = Math.min(to, mEnd);
+        if (from >= to) return;
+        int startIndex = (int) (from - mStart);
+        int endIndex = (int) (to - mStart);
+        int startWord = startIndex >>> 6;
+        int endWord = (endIndex - 1) >>> 6;
+        long firstMask = -1L << startIndex;
+        long lastMask = -1L >>> -endIndex;
+        if (startWord == endWord) {
+            fillWord(startWord, firstMask & lastMask, value);
+            return;
+        }
+        fillWord(startWord, firstMask, value);
+        for (int i = startWord + 1; i < endWord; i++) mWords[i] = value ? -1L : 0L;
+        fillWord(endWord, lastMask, value);
+    }
+
+    private void fillWord(int word, long mask, boolean value) {
+        if (value) mWords[word] |= mask;
+        else mWords[word] &= ~mask;
+    }
+
+    /**
+     * @return long the first set day at or after the given day, Long.MAX_VALUE if there is none
+     */
+    long nextSetDay(long epochDay) {
+        if (epochDay >= mEnd) return Long.MAX_VALUE;
+        long index = Math.max(epochDay, mStart) - mStart;
+        int word = (int) (index >>> 6);
+        long bits = mWords[word] & (-1L << index);
+        while (bits == 0) {
+            if (++word == mWords.length) return Long.MAX_VALUE;
+            bits = mWords[word];
+        }
+        // bits past the end of the window are never set
+        return mStart + ((long) word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * @return long the last set day at or before the given day, Long.MIN_VALUE if there is none
+     */
+    long previousSetDay(long epochDay) {
+        if (epochDay < mStart || mStart == mEnd) return Long.MIN_VALUE;
+        long index = Math.min(epochDay, mEnd - 1) - mStart;
+        int word = (int) (index >>> 6);
+        long bits = mWords[word] & (-1L >>> (63 - (index & 63)));
+        while (bits == 0) {
+            if (--word < 0) return Long.MIN_VALUE;
+            bits = mWords[word];
+        }
+        return mStart + ((long) word << 6) + 63 - Long.numberOfLeadingZeros(bits);
+    }
+
+    /**
+     * @return int the number of set days
+     */
+    int cardinality() {
+        int count = 0;
+        for (long word : mWords) count += Long.bitCount(word);
+        return count;
+    }
+}
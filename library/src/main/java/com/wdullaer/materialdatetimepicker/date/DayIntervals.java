@@ -0,0 +1,179 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import android.support.annotation.NonNull;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A set of days stored as sorted, disjoint and non adjacent [start, end) intervals of epoch days.
+ * Memory grows with the number of intervals, lookups are a binary search.
+ */
+final class DayIntervals implements Serializable {
+    private static final long serialVersionUID = 2184640983572165473L;
+
+    private long[] mStarts = new long[4];
+    private long[] mEnds = new long[4];
+    private int mSize;
+
+    DayIntervals() {}
+
+    DayIntervals(@NonNull DayIntervals other) {
+        mStarts = Arrays.copyOf(other.mStarts, Math.max(other.mSize, 4));
+        mEnds = Arrays.copyOf(other.mEnds, mStarts.length);
+        mSize = other.mSize;
+    }
+
+    /**
+     * Adds the days in [start, end), merging it with the intervals it overlaps or touches
+     */
+    void add(long start, long end) {
+        if (start >= end) return;
+        // first interval that ends at or after start, so it overlaps or touches the new one
+        int first = lowerBound(mEnds, start);
+        // first interval that starts after end, so it is untouched
+        int last = upperBound(mStarts, end);
+        if (first < last) {
+            start = Math.min(start, mStarts[first]);
+            end = Math.max(end, mEnds[last - 1]);
+        }
+        int removed = last - first;
+        int newSize = mSize - removed + 1;
+        if (newSize > mStarts.length) {
+            mStarts = Arrays.copyOf(mStarts, Math.max(newSize, mStarts.length * 2));
+            mEnds = Arrays.copyOf(mEnds, mStarts.length);
+        }
+        if (removed != 1) {
+            System.arraycopy(mStarts, last, mStarts, first + 1, mSize - last);
+            System.arraycopy(mEnds, last, mEnds, first + 1, mSize - last);
+        }
+        mStarts[first] = start;
+        mEnds[first] = end;
+        mSize = newSize;
+    }
+
+    /**
+     * Removes the days in [start, end), splitting the intervals that only partly overlap it
+     */
+    void remove(long start, long end) {
+        if (start >= end) return;
+        // first interval that ends after start
+        int first = lowerBound(mEnds, start + 1);
+        // first interval that starts at or after end
+        int last = lowerBound(mStarts, end);
+        if (first >= last) return;
+        long leftStart = mStarts[first];
+        long rightEnd = mEnds[last - 1];
+        int kept = (leftStart < start ? 1 : 0) + (rightEnd > end ? 1 : 0);
+        int newSize = mSize - (last - first) + kept;
+        if (newSize > mStarts.length) {
+            mStarts = Arrays.copyOf(mStarts, mStarts.length * 2);
+            mEnds = Arrays.copyOf(mEnds, mStarts.length);
+        }
+        System.arraycopy(mStarts, last, mStarts, first + kept, mSize - last);
+        System.arraycopy(mEnds, last, mEnds, first + kept, mSize - last);
+        int index = first;
+        if (leftStart < start) {
+            mStarts[index] = leftStart;
+            mEnds[index++] = start;
+        }
+        if (rightEnd > end) {
+            mStarts[index] = end;
+            mEnds[index] = rightEnd;
+        }
+        mSize = newSize;
+    }
+
+    boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    int size() {
+        return mSize;
+    }
+
+    long getStart(int index) {
+        return mStarts[index];
+    }
+
+    long getEnd(int index) {
+        return mEnds[index];
+    }
+
+    /**
+     * @return long the first day in the set, undefined if the set is empty
+     */
+    long first() {
+        return mStarts[0];
+    }
+
+    /**
+     * @return long the last day in the set, undefined if the set is empty
+     */
+    long last() {
+        return mEnds[mSize - 1] - 1;
+    }
+
+    boolean contains(long day) {
+        int index = upperBound(mStarts, day) - 1;
+        return index >= 0 && day < mEnds[index];
+    }
+
+    /**
+     * @return long the first day in the set at or after the given day, Long.MAX_VALUE if there is none
+     */
+    long ceiling(long day) {
+        int index = lowerBound(mEnds, day + 1);
+        if (index == mSize) return Long.MAX_VALUE;
+        return Math.max(day, mStarts[index]);
+    }
+
+    /**
+     * @return long the last day in the set at or before the given day, Long.MIN_VALUE if there is none
+     */
+    long floor(long day) {
+        int index = upperBound(mStarts, day) - 1;
+        if (index < 0) return Long.MIN_VALUE;
+        return Math.min(day, mEnds[index] - 1);
+    }
+
+    /**
+     * @return long the given day, or the day after the interval containing it
+     */
+    long nextOutside(long day) {
+        int index = upperBound(mStarts, day) - 1;
+        return index >= 0 && day < mEnds[index] ? mEnds[index] : day;
+    }
+
+    /**
+     * @return long the given day, or the day before the interval containing it
+     */
+    long previousOutside(long day) {
+        int index = upperBound(mStarts, day) - 1;
+        return index >= 0 && day < mEnds[index] ? mStarts[index] - 1 : day;
+    }
+
+    // index of the first of the first mSize values that is >= key
+    private int lowerBound(long[] values, long key) {
+        int low = 0;
+        int high = mSize;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    // index of the first of the first mSize values that is > key
+    private int upperBound(long[] values, long key) {
+        int low = 0;
+        int high = mSize;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+}
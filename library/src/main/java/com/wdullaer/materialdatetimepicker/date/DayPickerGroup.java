@@ -95,6 +95,10 @@ public class DayPickerGroup extends ViewGroup
         dayPickerView.onDateChanged();
     }
 
+    public void onMonthChanged(int year, int month) {
+        dayPickerView.onMonthChanged(year, month);
+    }
+
     public void postSetSelection(int position) {
         dayPickerView.postSetSelection(position);
     }
@@ -63,6 +63,8 @@ public abstract class DayPickerView extends RecyclerView implements OnDateChange
 
     private OnPageListener pageListener;
     private DatePickerController mController;
+    // position last reported to onVisibleMonthChanged
+    private int mVisiblePosition = RecyclerView.NO_POSITION;
 
     public interface OnPageListener {
         /**
@@ -109,6 +111,37 @@ public abstract class DayPickerView extends RecyclerView implements OnDateChange
 
         mContext = context;
         setUpRecyclerView(scrollOrientation);
+        addOnScrollListener(new OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                onVisiblePositionChanged();
+            }
+        });
+    }
+
+    private void onVisiblePositionChanged() {
+        if (mController == null) return;
+        int position = getMostVisiblePosition();
+        if (position == RecyclerView.NO_POSITION || position == mVisiblePosition) return;
+        int direction = mVisiblePosition == RecyclerView.NO_POSITION ? 0 : Integer.signum(position - mVisiblePosition);
+        mVisiblePosition = position;
+        int minMonth = mController.getStartDate().getPersianMonth();
+        int month = (position + minMonth) % MonthAdapter.MONTHS_IN_YEAR;
+        int year = (position + minMonth) / MonthAdapter.MONTHS_IN_YEAR + mController.getMinYear();
+        if (mController instanceof DatePickerDialog) {
+            ((DatePickerDialog) mController).onVisibleMonthChanged(year, month, direction);
+        }
+    }
+
+    /**
+     * Redraws the given month if it is part of the list, without rebinding it
+     */
+    public void onMonthChanged(int year, int month) {
+        if (mAdapter == null) return;
+        int minMonth = mController.getStartDate().getPersianMonth();
+        int position = (year - mController.getMinYear()) * MonthAdapter.MONTHS_IN_YEAR + month - minMonth;
+        if (position < 0 || position >= mAdapter.getItemCount()) return;
+        mAdapter.notifyItemChanged(position, MonthAdapter.PAYLOAD_REDRAW);
     }
 
     /**
@@ -0,0 +1,109 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import android.support.annotation.NonNull;
+
+import com.wdullaer.materialdatetimepicker.util.PersianDate;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * <pre>
+ * Compact binary form of a set of days, used to parcel the state of {@link DefaultDateRangeLimiter}.
+ * The days are stored as runs of consecutive epoch days, in order:
+ *
+ *   varint  number of runs
+ *   per run zigzag varint  start - end of the previous run (0 for the first run)
+ *           varint         length of the run
+ *
+ * A lone day takes two bytes when it lies within 63 days of the previous run, a block of days
+ * takes the same two bytes.
+ * </pre>
+ */
+final class DayRunCodec {
+
+    private DayRunCodec() {
+    }
+
+    static @NonNull byte[] encode(@NonNull Collection<PersianDate> days) {
+        long[] epochDays = new long[days.size()];
+        int i = 0;
+        for (PersianDate day : days) epochDays[i++] = day.toEpochDay();
+        Arrays.sort(epochDays);
+        DayIntervals intervals = new DayIntervals();
+        for (long epochDay : epochDays) intervals.add(epochDay, epochDay + 1);
+        return encode(intervals);
+    }
+
+    static @NonNull byte[] encode(@NonNull DayIntervals intervals) {
+        // at most 10 bytes per varint
+        byte[] buffer = new byte[10 + intervals.size() * 20];
+        int position = writeVarint(buffer, 0, intervals.size());
+        long previousEnd = 0;
+        for (int i = 0; i < intervals.size(); i++) {
+            long start = intervals.getStart(i);
+            long end = intervals.getEnd(i);
+            position = writeVarint(buffer, position, zigzag(start - previousEnd));
+            position = writeVarint(buffer, position, end - start);
+            previousEnd = end;
+        }
+        return Arrays.copyOf(buffer, position);
+    }
+
+    static @NonNull DayIntervals decodeIntervals(@NonNull byte[] data) {
+        DayIntervals intervals = new DayIntervals();
+        int[] position = {0};
+        long count = readVarint(data, position);
+        long previousEnd = 0;
+        for (long i = 0; i < count; i++) {
+            long start = previousEnd + unzigzag(readVarint(data, position));
+            long end = start + readVarint(data, position);
+            intervals.add(start, end);
+            previousEnd = end;
+        }
+        return intervals;
+    }
+
+    /**
+     * Decodes the days into the given collection, in ascending order
+     */
+    static void decodeDays(@NonNull byte[] data, @NonNull Collection<PersianDate> out) {
+        DayIntervals intervals = decodeIntervals(data);
+        for (int i = 0; i < intervals.size(); i++) {
+            PersianDate day = PersianDate.ofEpochDay(intervals.getStart(i));
+            for (long epochDay = intervals.getStart(i); epochDay < intervals.getEnd(i); epochDay++) {
+                out.add(day);
+                day = day.plusDays(1);
+            }
+        }
+    }
+
+    private static int writeVarint(byte[] buffer, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    private static long readVarint(byte[] data, int[] position) {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            if (position[0] >= data.length || shift > 63) throw new IllegalArgumentException("Malformed day runs");
+            byte b = data[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+            shift += 7;
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -21,45 +21,94 @@ import android.os.Parcelable;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
-import com.wdullaer.materialdatetimepicker.Utils;
-
 import com.wdullaer.materialdatetimepicker.util.PersianCalendar;
+import com.wdullaer.materialdatetimepicker.util.PersianCalendarUtils;
+import com.wdullaer.materialdatetimepicker.util.PersianDate;
+import com.wdullaer.materialdatetimepicker.util.PersianDateRange;
+import com.wdullaer.materialdatetimepicker.util.PersianYearTable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.TimeZone;
 import java.util.TreeSet;
 
-class DefaultDateRangeLimiter implements DateRangeLimiter {
+class DefaultDateRangeLimiter implements MonthMaskDateRangeLimiter {
     private static final int DEFAULT_START_YEAR = 1300;
     private static final int DEFAULT_END_YEAR = 1500;
+    // Largest window kept as a bitmap, 512KB; wider ranges are checked against the sets directly
+    private static final long MAX_BITMAP_DAYS = 1L << 22;
 
-    private transient DatePickerController mController;
     private int mMinYear = DEFAULT_START_YEAR;
     private int mMaxYear = DEFAULT_END_YEAR;
-    private PersianCalendar mMinDate;
-    private PersianCalendar mMaxDate;
-    private TreeSet<PersianCalendar> selectableDays = new TreeSet<>();
-    private HashSet<PersianCalendar> disabledDays = new HashSet<>();
+    private PersianDate mMinDate;
+    private PersianDate mMaxDate;
+    private TreeSet<PersianDate> selectableDays = new TreeSet<>();
+    private HashSet<PersianDate> disabledDays = new HashSet<>();
+    private DayIntervals mSelectableRanges = new DayIntervals();
+    private DayIntervals mDisabledRanges = new DayIntervals();
+    private DateRule mSelectableRule;
+    private DateRule mDisabledRule;
+    // Selectable days after applying all the rules, built on first use and dropped on every change
+    private transient DayBitmap mAllowedDays;
+    // disabledDays as runs of epoch days, for searches without a bitmap; dropped when they change
+    private transient DayIntervals mDisabledDayRuns;
 
     DefaultDateRangeLimiter() {}
 
-    @SuppressWarnings({"unchecked", "WeakerAccess"})
+    /**
+     * Copies the configuration of another limiter, the bitmap is not copied
+     */
+    DefaultDateRangeLimiter(@NonNull DefaultDateRangeLimiter other) {
+        mMinYear = other.mMinYear;
+        mMaxYear = other.mMaxYear;
+        mMinDate = other.mMinDate;
+        mMaxDate = other.mMaxDate;
+        selectableDays = new TreeSet<>(other.selectableDays);
+        disabledDays = new HashSet<>(other.disabledDays);
+        mSelectableRanges = new DayIntervals(other.mSelectableRanges);
+        mDisabledRanges = new DayIntervals(other.mDisabledRanges);
+        // rules are immutable, their memo is thread safe
+        mSelectableRule = other.mSelectableRule;
+        mDisabledRule = other.mDisabledRule;
+    }
+
+    // Days are parcelled as epoch day runs, see DayRunCodec
+    @SuppressWarnings("WeakerAccess")
     public DefaultDateRangeLimiter(Parcel in) {
         mMinYear = in.readInt();
         mMaxYear = in.readInt();
-        mMinDate = (PersianCalendar) in.readSerializable();
-        mMaxDate = (PersianCalendar) in.readSerializable();
-        selectableDays = (TreeSet<PersianCalendar>) in.readSerializable();
-        disabledDays = (HashSet<PersianCalendar>) in.readSerializable();
+        mMinDate = readDate(in);
+        mMaxDate = readDate(in);
+        DayRunCodec.decodeDays(in.createByteArray(), selectableDays);
+        DayRunCodec.decodeDays(in.createByteArray(), disabledDays);
+        mSelectableRanges = DayRunCodec.decodeIntervals(in.createByteArray());
+        mDisabledRanges = DayRunCodec.decodeIntervals(in.createByteArray());
+        mSelectableRule = (DateRule) in.readSerializable();
+        mDisabledRule = (DateRule) in.readSerializable();
     }
 
     @Override
     public void writeToParcel(Parcel out, int flags) {
         out.writeInt(mMinYear);
         out.writeInt(mMaxYear);
-        out.writeSerializable(mMinDate);
-        out.writeSerializable(mMaxDate);
-        out.writeSerializable(selectableDays);
-        out.writeSerializable(disabledDays);
+        writeDate(out, mMinDate);
+        writeDate(out, mMaxDate);
+        out.writeByteArray(DayRunCodec.encode(selectableDays));
+        out.writeByteArray(DayRunCodec.encode(disabledDays));
+        out.writeByteArray(DayRunCodec.encode(mSelectableRanges));
+        out.writeByteArray(DayRunCodec.encode(mDisabledRanges));
+        out.writeSerializable(mSelectableRule);
+        out.writeSerializable(mDisabledRule);
+    }
+
+    private static void writeDate(@NonNull Parcel out, @Nullable PersianDate date) {
+        out.writeInt(date == null ? 0 : 1);
+        if (date != null) out.writeLong(date.toEpochDay());
+    }
+
+    private static @Nullable PersianDate readDate(@NonNull Parcel in) {
+        return in.readInt() == 0 ? null : PersianDate.ofEpochDay(in.readLong());
     }
 
     @Override
@@ -80,27 +129,115 @@ class DefaultDateRangeLimiter implements DateRangeLimiter {
     };
 
     void setSelectableDays(@NonNull PersianCalendar[] days) {
+        mAllowedDays = null;
         for (PersianCalendar selectableDay : days) {
-            this.selectableDays.add(Utils.trimToMidnight((PersianCalendar) selectableDay.clone()));
+            this.selectableDays.add(PersianDate.fromCalendar(selectableDay));
         }
     }
 
+    void setSelectableDays(@NonNull PersianDate[] days) {
+        mAllowedDays = null;
+        Collections.addAll(this.selectableDays, days);
+    }
+
     void setDisabledDays(@NonNull PersianCalendar[] days) {
+        mAllowedDays = null;
+        mDisabledDayRuns = null;
         for (PersianCalendar disabledDay : days) {
-            this.disabledDays.add(Utils.trimToMidnight((PersianCalendar) disabledDay.clone()));
+            this.disabledDays.add(PersianDate.fromCalendar(disabledDay));
         }
     }
 
+    void setDisabledDays(@NonNull PersianDate[] days) {
+        mAllowedDays = null;
+        mDisabledDayRuns = null;
+        Collections.addAll(this.disabledDays, days);
+    }
+
+    void setSelectableRanges(@NonNull PersianDateRange[] ranges) {
+        mAllowedDays = null;
+        for (PersianDateRange range : ranges) {
+            mSelectableRanges.add(range.getStartEpochDay(), range.getEndEpochDay());
+        }
+    }
+
+    void setDisabledRanges(@NonNull PersianDateRange[] ranges) {
+        mAllowedDays = null;
+        for (PersianDateRange range : ranges) {
+            mDisabledRanges.add(range.getStartEpochDay(), range.getEndEpochDay());
+        }
+    }
+
+    void setSelectableRule(@Nullable DateRule rule) {
+        mAllowedDays = null;
+        mSelectableRule = rule;
+    }
+
+    void setDisabledRule(@Nullable DateRule rule) {
+        mAllowedDays = null;
+        mDisabledRule = rule;
+    }
+
+    @NonNull PersianDateRange addDisabledDay(@NonNull PersianDate day) {
+        disabledDays.add(day);
+        mDisabledDayRuns = null;
+        return onDaysChanged(day.toEpochDay(), day.toEpochDay() + 1);
+    }
+
+    @NonNull PersianDateRange removeDisabledDay(@NonNull PersianDate day) {
+        disabledDays.remove(day);
+        mDisabledDayRuns = null;
+        return onDaysChanged(day.toEpochDay(), day.toEpochDay() + 1);
+    }
+
+    @NonNull PersianDateRange addDisabledRange(@NonNull PersianDateRange range) {
+        mDisabledRanges.add(range.getStartEpochDay(), range.getEndEpochDay());
+        return onDaysChanged(range.getStartEpochDay(), range.getEndEpochDay());
+    }
+
+    @NonNull PersianDateRange removeDisabledRange(@NonNull PersianDateRange range) {
+        mDisabledRanges.remove(range.getStartEpochDay(), range.getEndEpochDay());
+        return onDaysChanged(range.getStartEpochDay(), range.getEndEpochDay());
+    }
+
+    @NonNull PersianDateRange addSelectableDay(@NonNull PersianDate day) {
+        selectableDays.add(day);
+        return onDaysChanged(day.toEpochDay(), day.toEpochDay() + 1);
+    }
+
+    @NonNull PersianDateRange removeSelectableDay(@NonNull PersianDate day) {
+        selectableDays.remove(day);
+        return onDaysChanged(day.toEpochDay(), day.toEpochDay() + 1);
+    }
+
+    @NonNull PersianDateRange addSelectableRange(@NonNull PersianDateRange range) {
+        mSelectableRanges.add(range.getStartEpochDay(), range.getEndEpochDay());
+        return onDaysChanged(range.getStartEpochDay(), range.getEndEpochDay());
+    }
+
+    @NonNull PersianDateRange removeSelectableRange(@NonNull PersianDateRange range) {
+        mSelectableRanges.remove(range.getStartEpochDay(), range.getEndEpochDay());
+        return onDaysChanged(range.getStartEpochDay(), range.getEndEpochDay());
+    }
+
     void setMinDate(@NonNull PersianCalendar calendar) {
-        mMinDate = Utils.trimToMidnight((PersianCalendar) calendar.clone());
+        mAllowedDays = null;
+        mMinDate = PersianDate.fromCalendar(calendar);
     }
 
     void setMaxDate(@NonNull PersianCalendar calendar) {
-        mMaxDate = Utils.trimToMidnight((PersianCalendar) calendar.clone());
+        mAllowedDays = null;
+        mMaxDate = PersianDate.fromCalendar(calendar);
+    }
+
+    void setMinDate(@NonNull PersianDate date) {
+        mAllowedDays = null;
+        mMinDate = date;
     }
 
-    void setController(@NonNull DatePickerController controller) {
-        mController = controller;
+    void setMaxDate(@NonNull PersianDate date) {
+        mAllowedDays = null;
+        mMaxDate = date;
     }
 
     void setYearRange(int startYear, int endYear) {
@@ -110,56 +247,132 @@ class DefaultDateRangeLimiter implements DateRangeLimiter {
 
         mMinYear = startYear;
         mMaxYear = endYear;
+        mAllowedDays = null;
+        PersianYearTable.ensureRange(startYear, endYear);
     }
 
     @Nullable PersianCalendar getMinDate() {
-        return mMinDate;
+        return mMinDate == null ? null : mMinDate.toCalendar();
     }
 
     @Nullable PersianCalendar getMaxDate() {
+        return mMaxDate == null ? null : mMaxDate.toCalendar();
+    }
+
+    @Nullable PersianDate getMinPersianDate() {
+        return mMinDate;
+    }
+
+    @Nullable PersianDate getMaxPersianDate() {
         return mMaxDate;
     }
 
     @Nullable PersianCalendar[] getSelectableDays() {
-         return selectableDays.isEmpty() ? null : selectableDays.toArray(new PersianCalendar[0]);
+        return selectableDays.isEmpty() ? null : toCalendars(selectableDays);
     }
 
     @Nullable PersianCalendar[] getDisabledDays() {
-        return disabledDays.isEmpty() ? null : disabledDays.toArray(new PersianCalendar[0]);
+        return disabledDays.isEmpty() ? null : toCalendars(disabledDays);
+    }
+
+    @Nullable PersianDate[] getSelectablePersianDays() {
+        return selectableDays.isEmpty() ? null : selectableDays.toArray(new PersianDate[selectableDays.size()]);
+    }
+
+    @Nullable PersianDate[] getDisabledPersianDays() {
+        return disabledDays.isEmpty() ? null : disabledDays.toArray(new PersianDate[disabledDays.size()]);
+    }
+
+    @Nullable PersianDateRange[] getSelectableRanges() {
+        return mSelectableRanges.isEmpty() ? null : toRanges(mSelectableRanges);
+    }
+
+    @Nullable PersianDateRange[] getDisabledRanges() {
+        return mDisabledRanges.isEmpty() ? null : toRanges(mDisabledRanges);
+    }
+
+    @Nullable DateRule getSelectableRule() {
+        return mSelectableRule;
+    }
+
+    @Nullable DateRule getDisabledRule() {
+        return mDisabledRule;
+    }
+
+    private static @NonNull PersianDateRange[] toRanges(@NonNull DayIntervals intervals) {
+        PersianDateRange[] output = new PersianDateRange[intervals.size()];
+        for (int i = 0; i < output.length; i++) {
+            output[i] = PersianDateRange.ofEpochDays(intervals.getStart(i), intervals.getEnd(i));
+        }
+        return output;
+    }
+
+    private static @NonNull PersianCalendar[] toCalendars(@NonNull Collection<PersianDate> days) {
+        PersianCalendar[] output = new PersianCalendar[days.size()];
+        int i = 0;
+        for (PersianDate day : days) output[i++] = day.toCalendar();
+        return output;
     }
 
     @Override
     public int getMinYear() {
-        if (!selectableDays.isEmpty()) return selectableDays.first().getPersianYear();
+        if (isSelectionBounded()) return getFirstDate().getYear();
         // Ensure no years can be selected outside of the given minimum date
-        return mMinDate != null && mMinDate.getPersianYear() > mMinYear ? mMinDate.getPersianYear() : mMinYear;
+        return mMinDate != null && mMinDate.getYear() > mMinYear ? mMinDate.getYear() : mMinYear;
     }
 
     @Override
     public int getMaxYear() {
-        if (!selectableDays.isEmpty()) return selectableDays.last().getPersianYear();
+        if (isSelectionBounded()) return getLastDate().getYear();
         // Ensure no years can be selected outside of the given maximum date
-        return mMaxDate != null && mMaxDate.getPersianYear() < mMaxYear ? mMaxDate.getPersianYear() : mMaxYear;
+        return mMaxDate != null && mMaxDate.getYear() < mMaxYear ? mMaxDate.getYear() : mMaxYear;
     }
 
     @Override
     public @NonNull PersianCalendar getStartDate() {
-        if (!selectableDays.isEmpty()) return (PersianCalendar) selectableDays.first().clone();
-        if (mMinDate != null) return (PersianCalendar) mMinDate.clone();
-        TimeZone timeZone = mController == null ? TimeZone.getDefault() : mController.getTimeZone();
-        PersianCalendar output = new PersianCalendar();
-        output.setPersianDate(mMinYear, 0, 1);
-        return output;
+        return getFirstDate().toCalendar();
     }
 
     @Override
     public @NonNull PersianCalendar getEndDate() {
-        if (!selectableDays.isEmpty()) return (PersianCalendar) selectableDays.last().clone();
-        if (mMaxDate != null) return (PersianCalendar) mMaxDate.clone();
-        TimeZone timeZone = mController == null ? TimeZone.getDefault() : mController.getTimeZone();
-        PersianCalendar output = new PersianCalendar();
-        output.setPersianDate(mMaxYear, 11, 31);
-        return output;
+        return getLastDate().toCalendar();
+    }
+
+    private @NonNull PersianDate getFirstDate() {
+        if (isSelectionBounded()) return PersianDate.ofEpochDay(getFirstSelectableDay());
+        if (mMinDate != null) return mMinDate;
+        return PersianDate.of(mMinYear, 0, 1);
+    }
+
+    private @NonNull PersianDate getLastDate() {
+        if (isSelectionBounded()) return PersianDate.ofEpochDay(getLastSelectableDay());
+        if (mMaxDate != null) return mMaxDate;
+        return PersianDate.of(mMaxYear, 11, PersianDate.lengthOfMonth(mMaxYear, 11));
+    }
+
+    private boolean hasSelectableDays() {
+        return !selectableDays.isEmpty() || !mSelectableRanges.isEmpty() || mSelectableRule != null;
+    }
+
+    // A selectable rule recurs forever, only explicit days and ranges bound the selection
+    private boolean isSelectionBounded() {
+        return (!selectableDays.isEmpty() || !mSelectableRanges.isEmpty()) && mSelectableRule == null;
+    }
+
+    // Only valid if isSelectionBounded()
+    private long getFirstSelectableDay() {
+        long first = Long.MAX_VALUE;
+        if (!selectableDays.isEmpty()) first = selectableDays.first().toEpochDay();
+        if (!mSelectableRanges.isEmpty()) first = Math.min(first, mSelectableRanges.first());
+        return first;
+    }
+
+    // Only valid if isSelectionBounded()
+    private long getLastSelectableDay() {
+        long last = Long.MIN_VALUE;
+        if (!selectableDays.isEmpty()) last = selectableDays.last().toEpochDay();
+        if (!mSelectableRanges.isEmpty()) last = Math.max(last, mSelectableRanges.last());
+        return last;
     }
 
     /**
@@ -169,87 +382,247 @@ class DefaultDateRangeLimiter implements DateRangeLimiter {
      */
     @Override
     public boolean isOutOfRange(int year, int month, int day) {
-        TimeZone timezone = mController == null ? TimeZone.getDefault() : mController.getTimeZone();
-        PersianCalendar date = new PersianCalendar();
-        date.setPersianDate(year, month, day);
-        return isOutOfRange(date);
+        long epochDay = PersianCalendarUtils.persianToEpochDay(year, month, day);
+        DayBitmap allowedDays = getAllowedDays();
+        if (allowedDays != null) return !allowedDays.get(epochDay);
+        return isOutOfRange(PersianDate.ofEpochDay(epochDay));
+    }
+
+    @Override
+    public int getOutOfRangeMask(int year, int month) {
+        long first = PersianCalendarUtils.persianToEpochDay(year, month, 1);
+        int length = PersianDate.lengthOfMonth(year, month);
+        int lengthMask = -1 >>> (32 - length);
+        DayBitmap allowedDays = getAllowedDays();
+        if (allowedDays != null) return ~allowedDays.get(first, length) & lengthMask;
+
+        int mask = 0;
+        PersianDate date = PersianDate.ofEpochDay(first);
+        for (int day = 0; day < length; day++) {
+            if (isOutOfRange(date)) mask |= 1 << day;
+            date = date.plusDays(1);
+        }
+        return mask;
+    }
+
+    private boolean isOutOfRange(@NonNull PersianDate date) {
+        return isDisabled(date) || !isSelectable(date);
+    }
+
+    /**
+     * @return the selectable days between the first and last date as a bitmap, null if that window is too large
+     */
+    @Nullable DayBitmap getAllowedDays() {
+        if (mAllowedDays != null) return mAllowedDays;
+
+        long start = getWindowStart();
+        long end = getWindowEnd();
+        if (end - start > MAX_BITMAP_DAYS) return null;
+
+        DayBitmap allowedDays = new DayBitmap(start, end);
+        if (hasSelectableDays()) {
+            for (PersianDate selectableDay : selectableDays) allowedDays.set(selectableDay.toEpochDay());
+            for (int i = 0; i < mSelectableRanges.size(); i++) {
+                allowedDays.set(mSelectableRanges.getStart(i), mSelectableRanges.getEnd(i));
+            }
+            if (mSelectableRule != null) applyRule(allowedDays, mSelectableRule, true);
+        } else {
+            allowedDays.set(start, end);
+        }
+        for (PersianDate disabledDay : disabledDays) allowedDays.clear(disabledDay.toEpochDay());
+        for (int i = 0; i < mDisabledRanges.size(); i++) {
+            allowedDays.clear(mDisabledRanges.getStart(i), mDisabledRanges.getEnd(i));
+        }
+        if (mDisabledRule != null) applyRule(allowedDays, mDisabledRule, false);
+        mAllowedDays = allowedDays;
+        return allowedDays;
+    }
+
+    // First day that can be selected at all
+    private long getWindowStart() {
+        long start = PersianCalendarUtils.persianToEpochDay(mMinYear, 0, 1);
+        if (mMinDate != null) start = Math.max(start, mMinDate.toEpochDay());
+        if (isSelectionBounded()) start = Math.max(start, getFirstSelectableDay());
+        return start;
+    }
+
+    // Day after the last day that can be selected at all
+    private long getWindowEnd() {
+        long end = PersianCalendarUtils.persianToEpochDay(mMaxYear, 11, PersianDate.lengthOfMonth(mMaxYear, 11)) + 1;
+        if (mMaxDate != null) end = Math.min(end, mMaxDate.toEpochDay() + 1);
+        if (isSelectionBounded()) end = Math.min(end, getLastSelectableDay() + 1);
+        return end;
+    }
+
+    /**
+     * Brings the bitmap up to date after the rules for the days in [from, to) changed.
+     * If the change moved the window the bitmap is dropped and rebuilt on the next lookup.
+     *
+     * @return the changed days
+     */
+    private @NonNull PersianDateRange onDaysChanged(long from, long to) {
+        DayBitmap allowedDays = mAllowedDays;
+        if (allowedDays != null) {
+            if (allowedDays.getStart() != getWindowStart() || allowedDays.getEnd() != getWindowEnd()) {
+                mAllowedDays = null;
+            } else {
+                long end = Math.min(to, allowedDays.getEnd());
+                for (long day = Math.max(from, allowedDays.getStart()); day < end; day++) {
+                    if (isOutOfRange(PersianDate.ofEpochDay(day))) allowedDays.clear(day);
+                    else allowedDays.set(day);
+                }
+            }
+        }
+        return PersianDateRange.ofEpochDays(from, to);
     }
 
-    private boolean isOutOfRange(@NonNull PersianCalendar calendar) {
-        Utils.trimToMidnight(calendar);
-        return isDisabled(calendar) || !isSelectable(calendar);
+    /**
+     * Sets or clears the days of the bitmap matched by the rule, a month mask at a time
+     */
+    private static void applyRule(@NonNull DayBitmap bitmap, @NonNull DateRule rule, boolean value) {
+        PersianDateRange.MonthCursor cursor = PersianDateRange.ofEpochDays(bitmap.getStart(), bitmap.getEnd()).months();
+        while (cursor.next()) {
+            int mask = rule.getMonthMask(cursor.getYear(), cursor.getMonth());
+            while (mask != 0) {
+                long day = cursor.getFirstEpochDay() + Integer.numberOfTrailingZeros(mask);
+                if (value) bitmap.set(day);
+                else bitmap.clear(day);
+                mask &= mask - 1;
+            }
+        }
     }
 
-    private boolean isDisabled(@NonNull PersianCalendar c) {
-        return disabledDays.contains(Utils.trimToMidnight(c)) || isBeforeMin(c) || isAfterMax(c);
+    private boolean isDisabled(@NonNull PersianDate date) {
+        return disabledDays.contains(date) || mDisabledRanges.contains(date.toEpochDay())
+                || mDisabledRule != null && mDisabledRule.matches(date)
+                || isBeforeMin(date) || isAfterMax(date);
     }
 
-    private boolean isSelectable(@NonNull PersianCalendar c) {
-        return selectableDays.isEmpty() || selectableDays.contains(Utils.trimToMidnight(c));
+    private boolean isSelectable(@NonNull PersianDate date) {
+        return !hasSelectableDays() || selectableDays.contains(date)
+                || mSelectableRanges.contains(date.toEpochDay())
+                || mSelectableRule != null && mSelectableRule.matches(date);
     }
 
-    private boolean isBeforeMin(@NonNull PersianCalendar calendar) {
-        return mMinDate != null && calendar.before(mMinDate) || calendar.getPersianYear() < mMinYear;
+    private boolean isBeforeMin(@NonNull PersianDate date) {
+        return mMinDate != null && date.compareTo(mMinDate) < 0 || date.getYear() < mMinYear;
     }
 
-    private boolean isAfterMax(@NonNull PersianCalendar calendar) {
-        return mMaxDate != null && calendar.after(mMaxDate) || calendar.getPersianYear() > mMaxYear;
+    private boolean isAfterMax(@NonNull PersianDate date) {
+        return mMaxDate != null && date.compareTo(mMaxDate) > 0 || date.getYear() > mMaxYear;
     }
 
     @Override
     public @NonNull PersianCalendar setToNearestDate(@NonNull PersianCalendar calendar) {
-        if (!selectableDays.isEmpty()) {
-            PersianCalendar newCalendar = null;
-            PersianCalendar higher = selectableDays.ceiling(calendar);
-            PersianCalendar lower = selectableDays.lower(calendar);
-
-            if (higher == null && lower != null) newCalendar = lower;
-            else if (lower == null && higher != null) newCalendar = higher;
-
-            if (newCalendar != null || higher == null) {
-                newCalendar = newCalendar == null ? calendar : newCalendar;
-                TimeZone timeZone = mController == null ? TimeZone.getDefault() : mController.getTimeZone();
-                newCalendar.setTimeZone(timeZone);
-                return (PersianCalendar) newCalendar.clone();
+        PersianDate date = PersianDate.fromCalendar(calendar);
+        PersianDate nearest = getNearestDate(date);
+        if (nearest.equals(date)) return calendar;
+
+        PersianCalendar output = (PersianCalendar) calendar.clone();
+        output.setPersianDate(nearest.getYear(), nearest.getMonth(), nearest.getDayOfMonth());
+        return output;
+    }
+
+    private @NonNull PersianDate getNearestDate(@NonNull PersianDate date) {
+        long epochDay = date.toEpochDay();
+        if (hasSelectableDays()) {
+            long higher = mSelectableRanges.ceiling(epochDay);
+            long lower = mSelectableRanges.floor(epochDay - 1);
+            PersianDate higherDay = selectableDays.ceiling(date);
+            PersianDate lowerDay = selectableDays.lower(date);
+            if (higherDay != null) higher = Math.min(higher, higherDay.toEpochDay());
+            if (lowerDay != null) lower = Math.max(lower, lowerDay.toEpochDay());
+            if (mSelectableRule != null) {
+                // Only look for matches within [first, last], a match outside is out of range
+                long first = getFirstDate().toEpochDay();
+                long last = getLastDate().toEpochDay();
+                higher = Math.min(higher, mSelectableRule.nextMatch(Math.max(epochDay, first), last));
+                lower = Math.max(lower, mSelectableRule.previousMatch(Math.min(epochDay - 1, last), first));
             }
 
-            long highDistance = Math.abs(higher.getTimeInMillis() - calendar.getTimeInMillis());
-            long lowDistance = Math.abs(calendar.getTimeInMillis() - lower.getTimeInMillis());
+            if (higher == Long.MAX_VALUE && lower != Long.MIN_VALUE) return PersianDate.ofEpochDay(lower);
+            if (higher == Long.MAX_VALUE) return date;
+            if (lower == Long.MIN_VALUE) return PersianDate.ofEpochDay(higher);
+
+            long highDistance = higher - epochDay;
+            long lowDistance = epochDay - lower;
 
-            if (lowDistance < highDistance) return (PersianCalendar) lower.clone();
-            else return (PersianCalendar) higher.clone();
+            return PersianDate.ofEpochDay(lowDistance < highDistance ? lower : higher);
         }
 
-        if (!disabledDays.isEmpty()) {
-            PersianCalendar forwardDate = isBeforeMin(calendar) ? getStartDate() : (PersianCalendar) calendar.clone();
-            PersianCalendar backwardDate = isAfterMax(calendar) ? getEndDate() : (PersianCalendar) calendar.clone();
-            while (isDisabled(forwardDate) && isDisabled(backwardDate)) {
-                forwardDate.addPersianDate(PersianCalendar.DAY_OF_MONTH, 1);
-                backwardDate.addPersianDate(PersianCalendar.DAY_OF_MONTH, -1);
+        if (!disabledDays.isEmpty() || !mDisabledRanges.isEmpty() || mDisabledRule != null) {
+            long first = getFirstDate().toEpochDay();
+            long last = getLastDate().toEpochDay();
+            long forward;
+            long backward;
+            DayBitmap allowedDays = getAllowedDays();
+            if (allowedDays != null) {
+                // Without selectable days the bitmap holds exactly the enabled days in [first, last]
+                forward = allowedDays.nextSetDay(Math.max(epochDay, first));
+                backward = allowedDays.previousSetDay(Math.min(epochDay, last));
+            } else {
+                forward = nextEnabledDay(Math.max(epochDay, first), last);
+                backward = previousEnabledDay(Math.min(epochDay, last), first);
             }
-            if (!isDisabled(backwardDate)) {
-                return backwardDate;
-            }
-            if (!isDisabled(forwardDate)) {
-                return forwardDate;
+            // Prefer the earlier day when both are equally far away
+            if (backward != Long.MIN_VALUE
+                    && (forward == Long.MAX_VALUE || epochDay - backward <= forward - epochDay)) {
+                return PersianDate.ofEpochDay(backward);
             }
+            if (forward != Long.MAX_VALUE) return PersianDate.ofEpochDay(forward);
         }
 
-        TimeZone timezone = mController == null ? TimeZone.getDefault() : mController.getTimeZone();
-        if (isBeforeMin(calendar)) {
-            if (mMinDate != null) return (PersianCalendar) mMinDate.clone();
-            PersianCalendar output = new PersianCalendar();
-            output.setPersianDate(mMaxYear, 0, 1);
-            return Utils.trimToMidnight(output);
+        if (isBeforeMin(date)) return getFirstDate();
+
+        if (isAfterMax(date)) return getLastDate();
+
+        return date;
+    }
+
+    /**
+     * @return the first day in [from, last] that is not disabled, Long.MAX_VALUE if there is none
+     */
+    private long nextEnabledDay(long from, long last) {
+        DayIntervals disabledDayRuns = getDisabledDayRuns();
+        long day = from;
+        while (day <= last) {
+            // Jump over a whole disabled range, run of disabled days and run of rule matches at once
+            long next = mDisabledRanges.nextOutside(day);
+            next = disabledDayRuns.nextOutside(next);
+            if (mDisabledRule != null) next = mDisabledRule.nextMismatch(next, last);
+            if (next == day) return day;
+            day = next;
         }
+        return Long.MAX_VALUE;
+    }
 
-        if (isAfterMax(calendar)) {
-            if (mMaxDate != null) return (PersianCalendar) mMaxDate.clone();
-            PersianCalendar output = new PersianCalendar();
-            output.setPersianDate(mMaxYear, 11, 31);
-            return Utils.trimToMidnight(output);
+    /**
+     * @return the last day in [first, from] that is not disabled, Long.MIN_VALUE if there is none
+     */
+    private long previousEnabledDay(long from, long first) {
+        DayIntervals disabledDayRuns = getDisabledDayRuns();
+        long day = from;
+        while (day >= first) {
+            long previous = mDisabledRanges.previousOutside(day);
+            previous = disabledDayRuns.previousOutside(previous);
+            if (mDisabledRule != null) previous = mDisabledRule.previousMismatch(previous, first);
+            if (previous == day) return day;
+            day = previous;
         }
+        return Long.MIN_VALUE;
+    }
 
-        return calendar;
+    private @NonNull DayIntervals getDisabledDayRuns() {
+        DayIntervals disabledDayRuns = mDisabledDayRuns;
+        if (disabledDayRuns != null) return disabledDayRuns;
+        long[] epochDays = new long[disabledDays.size()];
+        int i = 0;
+        for (PersianDate disabledDay : disabledDays) epochDays[i++] = disabledDay.toEpochDay();
+        // in order, so every day extends the last run or appends a new one
+        Arrays.sort(epochDays);
+        disabledDayRuns = new DayIntervals();
+        for (long epochDay : epochDays) disabledDayRuns.add(epochDay, epochDay + 1);
+        mDisabledDayRuns = disabledDayRuns;
+        return disabledDayRuns;
     }
-}
\ No newline at end of file
+}
@@ -26,6 +26,9 @@ import com.wdullaer.materialdatetimepicker.date.MonthAdapter.MonthViewHolder;
 import com.wdullaer.materialdatetimepicker.date.MonthView.OnDayClickListener;
 
 import com.wdullaer.materialdatetimepicker.util.PersianCalendar;
+import com.wdullaer.materialdatetimepicker.util.PersianCalendarUtils;
+import com.wdullaer.materialdatetimepicker.util.PersianDate;
+import java.util.List;
 import java.util.TimeZone;
 
 /**
@@ -40,11 +43,13 @@ public abstract class MonthAdapter extends RecyclerView.Adapter<MonthViewHolder>
 
     protected static final int MONTHS_IN_YEAR = 12;
 
+    // Payload for notifyItemChanged when only the drawing of a month is stale, not its parameters
+    static final Object PAYLOAD_REDRAW = new Object();
+
     /**
      * A convenience class to represent a specific date.
      */
     public static class CalendarDay {
-        private PersianCalendar calendar;
         int year;
         int month;
         int day;
@@ -61,10 +66,14 @@ public abstract class MonthAdapter extends RecyclerView.Adapter<MonthViewHolder>
         }
 
         public CalendarDay(PersianCalendar calendar, TimeZone timeZone) {
+            this(PersianDate.fromCalendar(calendar), timeZone);
+        }
+
+        public CalendarDay(PersianDate date, TimeZone timeZone) {
             mTimeZone = timeZone;
-            year = calendar.getPersianYear();
-            month = calendar.getPersianMonth();
-            day = calendar.getPersianDay();
+            year = date.getYear();
+            month = date.getMonth();
+            day = date.getDayOfMonth();
         }
 
         @SuppressWarnings("unused")
@@ -90,13 +99,10 @@ public abstract class MonthAdapter extends RecyclerView.Adapter<MonthViewHolder>
         }
 
         private void setTime(long timeInMillis) {
-            if (calendar == null) {
-                calendar = new PersianCalendar();
-            }
-            calendar.setTimeInMillis(timeInMillis);
-            month = calendar.getPersianMonth();
-            year = calendar.getPersianYear();
-            day = calendar.getPersianDay();
+            long date = PersianCalendarUtils.epochDayToPersian(PersianCalendarUtils.millisToEpochDay(timeInMillis));
+            year = (int) (date >> 16);
+            month = (int) (date >> 8) & 0xff;
+            day = (int) date & 0xff;
         }
 
         public int getYear() {
@@ -159,6 +165,18 @@ public abstract class MonthAdapter extends RecyclerView.Adapter<MonthViewHolder>
         holder.bind(position, mController, mSelectedDay);
     }
 
+    @Override
+    public void onBindViewHolder(@NonNull MonthViewHolder holder, int position, @NonNull List<Object> payloads) {
+        for (Object payload : payloads) {
+            if (payload != PAYLOAD_REDRAW) {
+                onBindViewHolder(holder, position);
+                return;
+            }
+        }
+        if (payloads.isEmpty()) onBindViewHolder(holder, position);
+        else holder.itemView.invalidate();
+    }
+
     @Override
     public long getItemId(int position) {
         return position;
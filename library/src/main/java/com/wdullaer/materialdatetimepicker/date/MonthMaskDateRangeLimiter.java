@@ -0,0 +1,18 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+/**
+ * A {@link DateRangeLimiter} that can answer for a whole month at once.
+ * The picker asks for one mask per displayed month instead of calling
+ * {@link #isOutOfRange(int, int, int)} for every day, which gives implementations
+ * with expensive lookups a single place to batch them.
+ */
+@SuppressWarnings("WeakerAccess")
+public interface MonthMaskDateRangeLimiter extends DateRangeLimiter {
+    /**
+     * @param year  persian year
+     * @param month persian month (0-11)
+     * @return int with bit (day - 1) set for every day of the month that is out of range,
+     * the same days for which {@link #isOutOfRange(int, int, int)} returns true
+     */
+    int getOutOfRangeMask(int year, int month);
+}
@@ -45,6 +45,8 @@ import com.wdullaer.materialdatetimepicker.date.MonthAdapter.CalendarDay;
 import java.security.InvalidParameterException;
 import java.text.SimpleDateFormat;
 import com.wdullaer.materialdatetimepicker.util.PersianCalendar;
+import com.wdullaer.materialdatetimepicker.util.PersianCalendarConstants;
+import com.wdullaer.materialdatetimepicker.util.PersianDate;
 import java.util.List;
 import java.util.Locale;
 
@@ -61,7 +63,9 @@ public abstract class MonthView extends View {
     protected static final int DEFAULT_NUM_ROWS = 6;
     protected static final int MAX_NUM_ROWS = 6;
 
-    private static final int SELECTED_CIRCLE_ALPHA = 255;
+    protected static final int SELECTED_CIRCLE_ALPHA = 255;
+    // Alpha of the days of a month whose availability is still loading
+    protected static final int LOADING_ALPHA = 96;
 
     protected static int DAY_SEPARATOR_WIDTH = 1;
     protected static int MINI_DAY_NUMBER_TEXT_SIZE;
@@ -107,8 +111,11 @@ public abstract class MonthView extends View {
     protected int mNumDays = DEFAULT_NUM_DAYS;
     // The number of days + a spot for week number if it is displayed
     protected int mNumCells = mNumDays;
+    // Days of the displayed month that are out of range, bit (day - 1), refreshed on every draw
+    protected int mOutOfRangeMask;
+    // Whether the displayed month is still loading, refreshed on every draw
+    protected boolean mLoading;
 
-    private final PersianCalendar mCalendar;
     protected final PersianCalendar mDayLabelCalendar;
     private final MonthViewTouchHelper mTouchHelper;
 
@@ -140,7 +147,6 @@ public abstract class MonthView extends View {
         Resources res = context.getResources();
 
         mDayLabelCalendar = new PersianCalendar();
-        mCalendar = new PersianCalendar();
 
         mDayOfWeekTypeface = res.getString(R.string.mdtp_day_of_week_label_typeface);
         mMonthTitleTypeface = res.getString(R.string.mdtp_sans_serif);
@@ -303,17 +309,16 @@ public abstract class MonthView extends View {
         // Figure out what day today is
         //final Time today = new Time(Time.getCurrentTimezone());
         //today.setToNow();
-        final PersianCalendar today = new PersianCalendar();
+        final PersianDate today = PersianDate.now();
         mHasToday = false;
         mToday = -1;
 
-        mCalendar.setPersianDate(mYear, mMonth, 1);
-        mDayOfWeekStart = mCalendar.get(PersianCalendar.DAY_OF_WEEK);
+        mDayOfWeekStart = PersianDate.of(mYear, mMonth, 1).getDayOfWeek();
 
         if (weekStart != -1) {
             mWeekStart = weekStart;
         } else {
-            mWeekStart = mCalendar.getFirstDayOfWeek();
+            mWeekStart = mDayLabelCalendar.getFirstDayOfWeek();
         }
 
         mNumCells = Utils.getDaysInMonth(mMonth, mYear);
@@ -342,10 +347,10 @@ public abstract class MonthView extends View {
         return (dividend + (remainder > 0 ? 1 : 0));
     }
 
-    private boolean sameDay(int day, PersianCalendar today) {
-        return mYear == today.getPersianYear() &&
-                mMonth == today.getPersianMonth() &&
-                day == today.getPersianDay();
+    private boolean sameDay(int day, PersianDate today) {
+        return mYear == today.getYear() &&
+                mMonth == today.getMonth() &&
+                day == today.getDayOfMonth();
     }
 
     @Override
@@ -412,7 +417,7 @@ public abstract class MonthView extends View {
         formatter.setTimeZone(mController.getTimeZone());
         formatter.applyLocalizedPattern(pattern);
         mStringBuilder.setLength(0);
-        return mCalendar.getPersianMonthName() + " " + mCalendar.getPersianYear();
+        return PersianCalendarConstants.persianMonthNames[mMonth] + " " + mYear;
     }
 
     protected void drawMonthTitle(Canvas canvas) {
@@ -448,6 +453,9 @@ public abstract class MonthView extends View {
                 + getMonthHeaderSize();
         // TODO: look at the calculations used by the framework picker to properly align this with the buttons
         final int dayWidthHalf = (mWidth - mEdgePadding * 2) / (mNumDays * 2);
+        mOutOfRangeMask = getOutOfRangeMask();
+        mLoading = mOutOfRangeMask == AsyncDateRangeLimiter.LOADING_MASK
+                && getDateRangeLimiter() instanceof AsyncDateRangeLimiter;
         int j = findDayOffset();
         for (int dayNumber = 1; dayNumber <= mNumCells; dayNumber++) {
             final int x = (2 * j + 1) * dayWidthHalf + mEdgePadding;
@@ -537,7 +545,7 @@ public abstract class MonthView extends View {
      */
     private void onDayClick(int day) {
         // If the min / max date are set, only process the click if it's a valid selection.
-        if (mController.isOutOfRange(mYear, mMonth, day)) {
+        if ((getOutOfRangeMask() & (1 << (day - 1))) != 0) {
             return;
         }
 
@@ -550,6 +558,54 @@ public abstract class MonthView extends View {
         mTouchHelper.sendEventForVirtualView(day, AccessibilityEvent.TYPE_VIEW_CLICKED);
     }
 
+    /**
+     * Reads the displayed month in one call from limiters that support it, other limiters and
+     * controllers are asked for every day
+     * @return int with bit (day - 1) set for every day of the displayed month that is out of range
+     */
+    private int getOutOfRangeMask() {
+        DateRangeLimiter limiter = getDateRangeLimiter();
+        if (limiter instanceof MonthMaskDateRangeLimiter) {
+            return ((MonthMaskDateRangeLimiter) limiter).getOutOfRangeMask(mYear, mMonth);
+        }
+        int mask = 0;
+        for (int day = 1; day <= mNumCells; day++) {
+            if (mController.isOutOfRange(mYear, mMonth, day)) mask |= 1 << (day - 1);
+        }
+        return mask;
+    }
+
+    /**
+     * @return the limiter of the dialog, null for other controllers
+     */
+    private DateRangeLimiter getDateRangeLimiter() {
+        if (mController instanceof DatePickerDialog) return ((DatePickerDialog) mController).getDateRangeLimiter();
+        return null;
+    }
+
+    /**
+     * @param year as an int
+     * @param month as an int
+     * @return true if the availability of the given month is still loading, its days are out of range
+     * until it is loaded but should not look disabled
+     */
+    protected boolean isLoading(int year, int month) {
+        if (year == mYear && month == mMonth) return mLoading;
+        DateRangeLimiter limiter = getDateRangeLimiter();
+        return limiter instanceof AsyncDateRangeLimiter && !((AsyncDateRangeLimiter) limiter).isLoaded(year, month);
+    }
+
+    /**
+     * @param year as an int
+     * @param month as an int
+     * @param day as an int
+     * @return true if the given date can not be selected, read from the mask of the last draw for the displayed month
+     */
+    protected boolean isOutOfRange(int year, int month, int day) {
+        if (year == mYear && month == mMonth) return (mOutOfRangeMask & (1 << (day - 1))) != 0;
+        return mController.isOutOfRange(year, month, day);
+    }
+
     /**
      * @param year as an int
      * @param month as an int
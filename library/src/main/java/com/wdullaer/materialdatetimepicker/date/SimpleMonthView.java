@@ -30,6 +30,10 @@ public class SimpleMonthView extends MonthView {
     @Override
     public void drawMonthDay(Canvas canvas, int year, int month, int day,
                              int x, int y, int startX, int stopX, int startY, int stopY) {
+        // fade the days of a month that is still loading instead of drawing them disabled
+        boolean loading = isLoading(year, month);
+        mSelectedCirclePaint.setAlpha(loading ? LOADING_ALPHA : SELECTED_CIRCLE_ALPHA);
+
         if (mSelectedDay == day) {
             canvas.drawCircle(x, y - (MINI_DAY_NUMBER_TEXT_SIZE / 3), DAY_SELECTED_CIRCLE_SIZE,
                     mSelectedCirclePaint);
@@ -44,7 +48,7 @@ public class SimpleMonthView extends MonthView {
         }
 
         // gray out the day number if it's outside the range.
-        if (mController.isOutOfRange(year, month, day)) {
+        if (!loading && isOutOfRange(year, month, day)) {
             mMonthNumPaint.setColor(mDisabledDayTextColor);
         } else if (mSelectedDay == day) {
             mMonthNumPaint.setTypeface(DatePickerDialog.getCustomBoldTypeface() != null ? DatePickerDialog.getCustomBoldTypeface() : Typeface.create(Typeface.DEFAULT, Typeface.BOLD));
@@ -55,6 +59,8 @@ public class SimpleMonthView extends MonthView {
             mMonthNumPaint.setColor(isHighlighted(year, month, day) ? mHighlightedDayTextColor : mDayTextColor);
         }
 
+        if (loading) mMonthNumPaint.setAlpha(LOADING_ALPHA);
+
         canvas.drawText(String.format(mController.getLocale(), "%d", day), x, y, mMonthNumPaint);
     }
 }
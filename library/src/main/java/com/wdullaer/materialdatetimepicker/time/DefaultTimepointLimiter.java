@@ -5,9 +5,6 @@ import android.os.Parcelable;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
-import java.util.Arrays;
-import java.util.TreeSet;
-
 import static com.wdullaer.materialdatetimepicker.time.TimePickerDialog.HOUR_INDEX;
 import static com.wdullaer.materialdatetimepicker.time.TimePickerDialog.MINUTE_INDEX;
 
@@ -18,11 +15,23 @@ import static com.wdullaer.materialdatetimepicker.time.TimePickerDialog.MINUTE_I
  */
 
 class DefaultTimepointLimiter implements TimepointLimiter {
-    private TreeSet<Timepoint> mSelectableTimes = new TreeSet<>();
-    private TreeSet<Timepoint> mDisabledTimes = new TreeSet<>();
-    private TreeSet<Timepoint> exclusiveSelectableTimes = new TreeSet<>();
+    private static final int MIDDAY = 12 * 3600;
+
+    private TimeBitmap mSelectableTimes = new TimeBitmap();
+    private TimeBitmap mDisabledTimes = new TimeBitmap();
+    private TimeIntervals mSelectableRanges = new TimeIntervals();
+    private TimeIntervals mDisabledRanges = new TimeIntervals();
+    // Disabled times and ranges
+    private TimeBitmap allDisabledTimes = mDisabledTimes;
+    // Selectable times, ranges and steps that are not disabled
+    private TimeBitmap exclusiveSelectableTimes = new TimeBitmap();
     private Timepoint mMinTime;
     private Timepoint mMaxTime;
+    // Step rule set with setTimeInterval, the intervals are 0 if there is none
+    private int mHourInterval;
+    private int mMinuteInterval;
+    private int mSecondInterval;
+    private Timepoint mIntervalOffset;
 
     DefaultTimepointLimiter() {}
 
@@ -30,17 +39,29 @@ class DefaultTimepointLimiter implements TimepointLimiter {
     public DefaultTimepointLimiter(Parcel in) {
         mMinTime = in.readParcelable(Timepoint.class.getClassLoader());
         mMaxTime = in.readParcelable(Timepoint.class.getClassLoader());
-        mSelectableTimes.addAll(Arrays.asList(in.createTypedArray(Timepoint.CREATOR)));
-        mDisabledTimes.addAll(Arrays.asList(in.createTypedArray(Timepoint.CREATOR)));
-        exclusiveSelectableTimes = getExclusiveSelectableTimes(mSelectableTimes, mDisabledTimes);
+        for (Timepoint time : in.createTypedArray(Timepoint.CREATOR)) mSelectableTimes.set(time.toSeconds());
+        for (Timepoint time : in.createTypedArray(Timepoint.CREATOR)) mDisabledTimes.set(time.toSeconds());
+        mHourInterval = in.readInt();
+        mMinuteInterval = in.readInt();
+        mSecondInterval = in.readInt();
+        mIntervalOffset = in.readParcelable(Timepoint.class.getClassLoader());
+        mSelectableRanges = TimeIntervals.fromArray(in.createIntArray());
+        mDisabledRanges = TimeIntervals.fromArray(in.createIntArray());
+        updateTimes();
     }
 
     @Override
     public void writeToParcel(Parcel out, int flags) {
         out.writeParcelable(mMinTime, flags);
         out.writeParcelable(mMaxTime, flags);
-        out.writeTypedArray(mSelectableTimes.toArray(new Timepoint[mSelectableTimes.size()]), flags);
-        out.writeTypedArray(mDisabledTimes.toArray(new Timepoint[mDisabledTimes.size()]), flags);
+        out.writeTypedArray(mSelectableTimes.toTimepoints(), flags);
+        out.writeTypedArray(mDisabledTimes.toTimepoints(), flags);
+        out.writeInt(mHourInterval);
+        out.writeInt(mMinuteInterval);
+        out.writeInt(mSecondInterval);
+        out.writeParcelable(mIntervalOffset, flags);
+        out.writeIntArray(mSelectableRanges.toArray());
+        out.writeIntArray(mDisabledRanges.toArray());
     }
 
     @Override
@@ -73,13 +94,49 @@ class DefaultTimepointLimiter implements TimepointLimiter {
     }
 
     void setSelectableTimes(@NonNull Timepoint[] selectableTimes) {
-        mSelectableTimes.addAll(Arrays.asList(selectableTimes));
-        exclusiveSelectableTimes = getExclusiveSelectableTimes(mSelectableTimes, mDisabledTimes);
+        for (Timepoint time : selectableTimes) mSelectableTimes.set(time.toSeconds());
+        updateTimes();
     }
 
     void setDisabledTimes(@NonNull Timepoint[] disabledTimes) {
-        mDisabledTimes.addAll(Arrays.asList(disabledTimes));
-        exclusiveSelectableTimes = getExclusiveSelectableTimes(mSelectableTimes, mDisabledTimes);
+        for (Timepoint time : disabledTimes) mDisabledTimes.set(time.toSeconds());
+        updateTimes();
+    }
+
+    void setSelectableRanges(@NonNull TimeRange[] selectableRanges) {
+        for (TimeRange range : selectableRanges) {
+            mSelectableRanges.add(range.getStartSecond(), range.getEndSecond());
+        }
+        updateTimes();
+    }
+
+    void setDisabledRanges(@NonNull TimeRange[] disabledRanges) {
+        for (TimeRange range : disabledRanges) {
+            mDisabledRanges.add(range.getStartSecond(), range.getEndSecond());
+        }
+        updateTimes();
+    }
+
+    /**
+     * Makes the times offset + k * interval selectable, for every time component independently.
+     * The rule is kept as numbers and replaces the previous one, it adds to the selectable times.
+     *
+     * @param hourInterval   interval between 2 selectable hours ([1,24])
+     * @param minuteInterval interval between 2 selectable minutes ([1,60])
+     * @param secondInterval interval between 2 selectable seconds ([1,60])
+     * @param offset         the first selectable hour, minute and second
+     */
+    void setTimeInterval(int hourInterval, int minuteInterval, int secondInterval, @NonNull Timepoint offset) {
+        if (hourInterval < 1 || hourInterval > 24 || minuteInterval < 1 || minuteInterval > 60
+                || secondInterval < 1 || secondInterval > 60) {
+            throw new IllegalArgumentException("Invalid time interval: " + hourInterval + "h "
+                    + minuteInterval + "m " + secondInterval + "s");
+        }
+        mHourInterval = hourInterval;
+        mMinuteInterval = minuteInterval;
+        mSecondInterval = secondInterval;
+        mIntervalOffset = offset;
+        updateTimes();
     }
 
     @Nullable Timepoint getMinTime() {
@@ -91,16 +148,56 @@ class DefaultTimepointLimiter implements TimepointLimiter {
     }
 
     @NonNull Timepoint[] getSelectableTimes() {
-        return mSelectableTimes.toArray(new Timepoint[mSelectableTimes.size()]);
+        return mSelectableTimes.toTimepoints();
     }
 
     @NonNull Timepoint[] getDisabledTimes() {
-        return mDisabledTimes.toArray(new Timepoint[mDisabledTimes.size()]);
+        return mDisabledTimes.toTimepoints();
+    }
+
+    @NonNull TimeRange[] getSelectableRanges() {
+        return toRanges(mSelectableRanges);
+    }
+
+    @NonNull TimeRange[] getDisabledRanges() {
+        return toRanges(mDisabledRanges);
     }
 
-    @NonNull private TreeSet<Timepoint> getExclusiveSelectableTimes(@NonNull TreeSet<Timepoint> selectable, @NonNull TreeSet<Timepoint> disabled) {
-        TreeSet<Timepoint> output = new TreeSet<>(selectable);
-        output.removeAll(disabled);
+    private static @NonNull TimeRange[] toRanges(@NonNull TimeIntervals intervals) {
+        TimeRange[] output = new TimeRange[intervals.size()];
+        for (int i = 0; i < output.length; i++) {
+            output[i] = TimeRange.ofSeconds(intervals.getStart(i), intervals.getEnd(i));
+        }
+        return output;
+    }
+
+    // Rebuilds the bitmaps that answer the lookups, after every change
+    private void updateTimes() {
+        allDisabledTimes = mDisabledTimes;
+        if (!mDisabledRanges.isEmpty()) {
+            allDisabledTimes = new TimeBitmap(mDisabledTimes);
+            for (int i = 0; i < mDisabledRanges.size(); i++) {
+                allDisabledTimes.set(mDisabledRanges.getStart(i), mDisabledRanges.getEnd(i));
+            }
+        }
+        exclusiveSelectableTimes = getExclusiveSelectableTimes(mSelectableTimes, allDisabledTimes);
+    }
+
+    @NonNull private TimeBitmap getExclusiveSelectableTimes(@NonNull TimeBitmap selectable, @NonNull TimeBitmap disabled) {
+        TimeBitmap output = new TimeBitmap(selectable);
+        for (int i = 0; i < mSelectableRanges.size(); i++) {
+            output.set(mSelectableRanges.getStart(i), mSelectableRanges.getEnd(i));
+        }
+        if (mHourInterval != 0) {
+            for (int hour = mIntervalOffset.getHour(); hour < 24; hour += mHourInterval) {
+                for (int minute = mIntervalOffset.getMinute(); minute < 60; minute += mMinuteInterval) {
+                    for (int second = mIntervalOffset.getSecond(); second < 60; second += mSecondInterval) {
+                        output.set(3600 * hour + 60 * minute + second);
+                    }
+                }
+            }
+        }
+        output.andNot(disabled);
         return output;
     }
 
@@ -109,47 +206,29 @@ class DefaultTimepointLimiter implements TimepointLimiter {
         if (current == null) return false;
 
         if (index == HOUR_INDEX) {
-            if (mMinTime != null && mMinTime.getHour() > current.getHour()) return true;
+            int hour = current.getHour();
+            if (mMinTime != null && mMinTime.getHour() > hour) return true;
 
-            if (mMaxTime != null && mMaxTime.getHour()+1 <= current.getHour()) return true;
+            if (mMaxTime != null && mMaxTime.getHour()+1 <= hour) return true;
 
-            if (!exclusiveSelectableTimes.isEmpty()) {
-                Timepoint ceil = exclusiveSelectableTimes.ceiling(current);
-                Timepoint floor = exclusiveSelectableTimes.floor(current);
-                return !(current.equals(ceil, Timepoint.TYPE.HOUR) || current.equals(floor, Timepoint.TYPE.HOUR));
-            }
+            if (!exclusiveSelectableTimes.isEmpty()) return !exclusiveSelectableTimes.anyInHour(hour);
 
-            if (!mDisabledTimes.isEmpty() && resolution == Timepoint.TYPE.HOUR) {
-                Timepoint ceil = mDisabledTimes.ceiling(current);
-                Timepoint floor = mDisabledTimes.floor(current);
-                return current.equals(ceil, Timepoint.TYPE.HOUR) || current.equals(floor, Timepoint.TYPE.HOUR);
+            if (!allDisabledTimes.isEmpty() && resolution == Timepoint.TYPE.HOUR) {
+                return allDisabledTimes.anyInHour(hour);
             }
 
             return false;
         }
         else if (index == MINUTE_INDEX) {
-            if (mMinTime != null) {
-                Timepoint roundedMin = new Timepoint(mMinTime.getHour(), mMinTime.getMinute());
-                if (roundedMin.compareTo(current) > 0) return true;
-            }
+            int minute = toMinutes(current);
+            if (mMinTime != null && toMinutes(mMinTime) > minute) return true;
 
-            if (mMaxTime != null) {
-                Timepoint roundedMax = new Timepoint(mMaxTime.getHour(), mMaxTime.getMinute(), 59);
-                if (roundedMax.compareTo(current) < 0) return true;
-            }
+            if (mMaxTime != null && toMinutes(mMaxTime) < minute) return true;
 
-            if (!exclusiveSelectableTimes.isEmpty()) {
-                Timepoint ceil = exclusiveSelectableTimes.ceiling(current);
-                Timepoint floor = exclusiveSelectableTimes.floor(current);
-                return !(current.equals(ceil, Timepoint.TYPE.MINUTE) || current.equals(floor, Timepoint.TYPE.MINUTE));
-            }
+            if (!exclusiveSelectableTimes.isEmpty()) return !exclusiveSelectableTimes.anyInMinute(minute);
 
-            if (!mDisabledTimes.isEmpty() && resolution == Timepoint.TYPE.MINUTE) {
-                Timepoint ceil = mDisabledTimes.ceiling(current);
-                Timepoint floor = mDisabledTimes.floor(current);
-                boolean ceilExclude = current.equals(ceil, Timepoint.TYPE.MINUTE);
-                boolean floorExclude = current.equals(floor, Timepoint.TYPE.MINUTE);
-                return ceilExclude || floorExclude;
+            if (!allDisabledTimes.isEmpty() && resolution == Timepoint.TYPE.MINUTE) {
+                return allDisabledTimes.anyInMinute(minute);
             }
 
             return false;
@@ -162,19 +241,17 @@ class DefaultTimepointLimiter implements TimepointLimiter {
 
         if (mMaxTime != null && mMaxTime.compareTo(current) < 0) return true;
 
-        if (!exclusiveSelectableTimes.isEmpty()) return !exclusiveSelectableTimes.contains(current);
+        if (!exclusiveSelectableTimes.isEmpty()) return !exclusiveSelectableTimes.get(current.toSeconds());
 
-        return mDisabledTimes.contains(current);
+        return allDisabledTimes.get(current.toSeconds());
     }
 
     @SuppressWarnings("SimplifiableIfStatement")
     @Override
     public boolean isAmDisabled() {
-        Timepoint midday = new Timepoint(12);
-
-        if (mMinTime != null && mMinTime.compareTo(midday) >= 0) return true;
+        if (mMinTime != null && mMinTime.toSeconds() >= MIDDAY) return true;
 
-        if (!exclusiveSelectableTimes.isEmpty()) return exclusiveSelectableTimes.first().compareTo(midday) >= 0;
+        if (!exclusiveSelectableTimes.isEmpty()) return !exclusiveSelectableTimes.anyInHours(0, 12);
 
         return false;
     }
@@ -182,11 +259,9 @@ class DefaultTimepointLimiter implements TimepointLimiter {
     @SuppressWarnings("SimplifiableIfStatement")
     @Override
     public boolean isPmDisabled() {
-        Timepoint midday = new Timepoint(12);
+        if (mMaxTime != null && mMaxTime.toSeconds() < MIDDAY) return true;
 
-        if (mMaxTime != null && mMaxTime.compareTo(midday) < 0) return true;
-
-        if (!exclusiveSelectableTimes.isEmpty()) return exclusiveSelectableTimes.last().compareTo(midday) < 0;
+        if (!exclusiveSelectableTimes.isEmpty()) return !exclusiveSelectableTimes.anyInHours(12, 24);
 
         return false;
     }
@@ -201,8 +276,8 @@ class DefaultTimepointLimiter implements TimepointLimiter {
         if (type == Timepoint.TYPE.SECOND) return time;
 
         if (!exclusiveSelectableTimes.isEmpty()) {
-            Timepoint floor = exclusiveSelectableTimes.floor(time);
-            Timepoint ceil = exclusiveSelectableTimes.ceiling(time);
+            Timepoint floor = toTimepoint(exclusiveSelectableTimes.previousSetBit(time.toSeconds()));
+            Timepoint ceil = toTimepoint(exclusiveSelectableTimes.nextSetBit(time.toSeconds()));
 
             if (floor == null || ceil == null) {
                 Timepoint t = floor == null ? ceil : floor;
@@ -237,70 +312,84 @@ class DefaultTimepointLimiter implements TimepointLimiter {
             return floorDist < ceilDist ? floor : ceil;
         }
 
-        if (!mDisabledTimes.isEmpty()) {
+        if (!allDisabledTimes.isEmpty()) {
             // if type matches resolution: cannot change anything, return input
             if (type != null && type == resolution) return time;
 
-            if (resolution == Timepoint.TYPE.SECOND) {
-                if (!mDisabledTimes.contains(time)) return time;
-                return searchValidTimePoint(time, type, resolution);
-            }
-
-            if (resolution == Timepoint.TYPE.MINUTE) {
-                Timepoint ceil = mDisabledTimes.ceiling(time);
-                Timepoint floor = mDisabledTimes.floor(time);
-                boolean ceilDisabled = time.equals(ceil, Timepoint.TYPE.MINUTE);
-                boolean floorDisabled = time.equals(floor, Timepoint.TYPE.MINUTE);
-
-                if (ceilDisabled || floorDisabled) return searchValidTimePoint(time, type, resolution);
-                return time;
-            }
-
-            if (resolution == Timepoint.TYPE.HOUR) {
-                Timepoint ceil = mDisabledTimes.ceiling(time);
-                Timepoint floor = mDisabledTimes.floor(time);
-                boolean ceilDisabled = time.equals(ceil, Timepoint.TYPE.HOUR);
-                boolean floorDisabled = time.equals(floor, Timepoint.TYPE.HOUR);
-
-                if (ceilDisabled || floorDisabled) return searchValidTimePoint(time, type, resolution);
-                return time;
-            }
+            if (isDisabled(time, resolution)) return searchValidTimePoint(time, type, resolution);
+            return time;
         }
 
         return time;
     }
 
+    /**
+     * Finds the closest time whose hour, minute or second, depending on the resolution, holds no disabled time.
+     * The search jumps over the disabled units with clear bit scans of the disabled bitmap
+     * and stays within the hour or minute of the input if the type requires it.
+     * The day wraps around midnight. If both directions are equally far, the later time wins.
+     */
     private Timepoint searchValidTimePoint(@NonNull Timepoint time, @Nullable Timepoint.TYPE type, @NonNull Timepoint.TYPE resolution) {
-        Timepoint forward = new Timepoint(time);
-        Timepoint backward = new Timepoint(time);
-        int iteration = 0;
-        int resolutionMultiplier = 1;
-        if (resolution == Timepoint.TYPE.MINUTE) resolutionMultiplier = 60;
-        if (resolution == Timepoint.TYPE.SECOND) resolutionMultiplier = 3600;
-
-        while (iteration < 24 * resolutionMultiplier) {
-            iteration++;
-            forward.add(resolution, 1);
-            backward.add(resolution, -1);
-
-            if (type == null || forward.get(type) == time.get(type)) {
-                Timepoint forwardCeil = mDisabledTimes.ceiling(forward);
-                Timepoint forwardFloor = mDisabledTimes.floor(forward);
-                if (!forward.equals(forwardCeil, resolution) && !forward.equals(forwardFloor, resolution))
-                    return forward;
-            }
-
-            if (type == null || backward.get(type) == time.get(type)) {
-                Timepoint backwardCeil = mDisabledTimes.ceiling(backward);
-                Timepoint backwardFloor = mDisabledTimes.floor(backward);
-                if (!backward.equals(backwardCeil, resolution) && !backward.equals(backwardFloor, resolution))
-                    return backward;
-            }
+        int unitSeconds = resolution == Timepoint.TYPE.HOUR ? 3600 : resolution == Timepoint.TYPE.MINUTE ? 60 : 1;
+        int units = TimeBitmap.SECONDS_PER_DAY / unitSeconds;
+        int unit = time.toSeconds() / unitSeconds;
+
+        // The units that keep the hour or minute of the input, the whole day otherwise
+        int first = 0;
+        int end = units;
+        if (type == Timepoint.TYPE.HOUR || type == Timepoint.TYPE.MINUTE && resolution == Timepoint.TYPE.SECOND) {
+            int lockSeconds = type == Timepoint.TYPE.HOUR ? 3600 : 60;
+            first = time.toSeconds() / lockSeconds * lockSeconds / unitSeconds;
+            end = first + lockSeconds / unitSeconds;
+        }
+        boolean wraps = first == 0 && end == units;
 
-            if (type != null && backward.get(type) != time.get(type) && forward.get(type) != time.get(type))
-                break;
+        int forward = allDisabledTimes.nextClear(resolution, unit + 1, end);
+        int forwardDistance = forward - unit;
+        if (forward < 0 && wraps) {
+            forward = allDisabledTimes.nextClear(resolution, 0, unit);
+            forwardDistance = forward + units - unit;
         }
+        int backward = allDisabledTimes.previousClear(resolution, first, unit);
+        int backwardDistance = unit - backward;
+        if (backward < 0 && wraps) {
+            backward = allDisabledTimes.previousClear(resolution, unit + 1, units);
+            backwardDistance = unit + units - backward;
+        }
+
+        int distance;
+        if (forward >= 0 && (backward < 0 || forwardDistance <= backwardDistance)) distance = forwardDistance;
+        else if (backward >= 0) distance = -backwardDistance;
         // If this step is reached, the user has disabled all timepoints
-        return time;
+        else return time;
+
+        int second = time.toSeconds() + distance * unitSeconds;
+        if (second < 0) second += TimeBitmap.SECONDS_PER_DAY;
+        if (second >= TimeBitmap.SECONDS_PER_DAY) second -= TimeBitmap.SECONDS_PER_DAY;
+        return toTimepoint(second);
+    }
+
+    /**
+     * @return true if any disabled time falls in the same hour, minute or second as the given time
+     */
+    private boolean isDisabled(@NonNull Timepoint time, @NonNull Timepoint.TYPE resolution) {
+        switch (resolution) {
+            case HOUR:
+                return allDisabledTimes.anyInHour(time.getHour());
+            case MINUTE:
+                return allDisabledTimes.anyInMinute(toMinutes(time));
+            case SECOND:
+            default:
+                return allDisabledTimes.get(time.toSeconds());
+        }
+    }
+
+    private static int toMinutes(@NonNull Timepoint time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static @Nullable Timepoint toTimepoint(int second) {
+        if (second < 0) return null;
+        return new Timepoint(second / 3600, (second / 60) % 60, second % 60);
     }
 }
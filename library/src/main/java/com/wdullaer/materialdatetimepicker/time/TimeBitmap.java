@@ -0,0 +1,258 @@
+package com.wdullaer.materialdatetimepicker.time;
+
+import android.support.annotation.NonNull;
+
+/**
+ * A set of seconds of the day, one bit per second, about 10KB.
+ * Summaries of the minutes and hours that contain any second are kept up to date,
+ * so all lookups are constant time and do not allocate.
+ */
+final class TimeBitmap {
+    static final int SECONDS_PER_DAY = 24 * 3600;
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final long[] mSeconds;
+    // bit m is set if minute of the day m contains any second
+    private final long[] mMinutes;
+    // bit h is set if hour h contains any second
+    private int mHours;
+
+    TimeBitmap() {
+        mSeconds = new long[SECONDS_PER_DAY >>> 6];
+        mMinutes = new long[(MINUTES_PER_DAY + 63) >>> 6];
+    }
+
+    TimeBitmap(@NonNull TimeBitmap other) {
+        mSeconds = other.mSeconds.clone();
+        mMinutes = other.mMinutes.clone();
+        mHours = other.mHours;
+    }
+
+    boolean isEmpty() {
+        return mHours == 0;
+    }
+
+    /**
+     * @param second second of the day
+     */
+    boolean get(int second) {
+        return (mSeconds[second >>> 6] & (1L << second)) != 0;
+    }
+
+    /**
+     * @param minute minute of the day
+     */
+    boolean anyInMinute(int minute) {
+        return (mMinutes[minute >>> 6] & (1L << minute)) != 0;
+    }
+
+    boolean anyInHour(int hour) {
+        return (mHours & (1 << hour)) != 0;
+    }
+
+    /**
+     * @return true if any hour in [fromHour, toHour) contains a second
+     */
+    boolean anyInHours(int fromHour, int toHour) {
+        if (fromHour >= toHour) return false;
+        return (mHours & (-1 << fromHour) & (-1 >>> (32 - toHour))) != 0;
+    }
+
+    void set(int second) {
+        mSeconds[second >>> 6] |= 1L << second;
+        int minute = second / 60;
+        mMinutes[minute >>> 6] |= 1L << minute;
+        mHours |= 1 << (minute / 60);
+    }
+
+    /**
+     * Sets every second in [from, to)
+     */
+    void set(int from, int to) {
+        if (from >= to) return;
+        fill(mSeconds, from, to);
+        fill(mMinutes, from / 60, (to - 1) / 60 + 1);
+        mHours |= (-1 << (from / 3600)) & (-1 >>> (31 - (to - 1) / 3600));
+    }
+
+    void clear(int second) {
+        mSeconds[second >>> 6] &= ~(1L << second);
+        updateSummary(second / 60);
+    }
+
+    /**
+     * Removes every second that is set in the other bitmap
+     */
+    void andNot(@NonNull TimeBitmap other) {
+        for (int i = 0; i < mSeconds.length; i++) mSeconds[i] &= ~other.mSeconds[i];
+        rebuildSummaries();
+    }
+
+    /**
+     * @return the first set second at or after the given second, -1 if there is none
+     */
+    int nextSetBit(int second) {
+        if (second >= SECONDS_PER_DAY) return -1;
+        second = Math.max(second, 0);
+        int minute = second / 60;
+        long bits = bits(mSeconds, second, 60 - second % 60);
+        if (bits != 0) return second + Long.numberOfTrailingZeros(bits);
+        // skip the empty minutes using the summary
+        minute = nextSetMinute(minute + 1);
+        if (minute < 0) return -1;
+        return minute * 60 + Long.numberOfTrailingZeros(bits(mSeconds, minute * 60, 60));
+    }
+
+    /**
+     * @return the last set second at or before the given second, -1 if there is none
+     */
+    int previousSetBit(int second) {
+        if (second < 0) return -1;
+        second = Math.min(second, SECONDS_PER_DAY - 1);
+        int minute = second / 60;
+        long bits = bits(mSeconds, minute * 60, second % 60 + 1);
+        if (bits != 0) return minute * 60 + 63 - Long.numberOfLeadingZeros(bits);
+        minute = previousSetMinute(minute - 1);
+        if (minute < 0) return -1;
+        return minute * 60 + 63 - Long.numberOfLeadingZeros(bits(mSeconds, minute * 60, 60));
+    }
+
+    private int nextSetMinute(int minute) {
+        if (minute >= MINUTES_PER_DAY) return -1;
+        int word = minute >>> 6;
+        long bits = mMinutes[word] & (-1L << minute);
+        while (bits == 0) {
+            if (++word == mMinutes.length) return -1;
+            bits = mMinutes[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    private int previousSetMinute(int minute) {
+        if (minute < 0) return -1;
+        int word = minute >>> 6;
+        long bits = mMinutes[word] & (-1L >>> (63 - (minute & 63)));
+        while (bits == 0) {
+            if (--word < 0) return -1;
+            bits = mMinutes[word];
+        }
+        return (word << 6) + 63 - Long.numberOfLeadingZeros(bits);
+    }
+
+    /**
+     * @param level the unit: hours, minutes or seconds of the day
+     * @return the first unit in [from, to) that contains no set second, -1 if there is none
+     */
+    int nextClear(@NonNull Timepoint.TYPE level, int from, int to) {
+        if (from >= to) return -1;
+        switch (level) {
+            case HOUR:
+                int hours = ~mHours & (-1 << from) & (-1 >>> (32 - to));
+                return hours == 0 ? -1 : Integer.numberOfTrailingZeros(hours);
+            case MINUTE:
+                return nextClearBit(mMinutes, from, to);
+            case SECOND:
+            default:
+                return nextClearBit(mSeconds, from, to);
+        }
+    }
+
+    /**
+     * @param level the unit: hours, minutes or seconds of the day
+     * @return the last unit in [from, to) that contains no set second, -1 if there is none
+     */
+    int previousClear(@NonNull Timepoint.TYPE level, int from, int to) {
+        if (from >= to) return -1;
+        switch (level) {
+            case HOUR:
+                int hours = ~mHours & (-1 << from) & (-1 >>> (32 - to));
+                return hours == 0 ? -1 : 31 - Integer.numberOfLeadingZeros(hours);
+            case MINUTE:
+                return previousClearBit(mMinutes, from, to);
+            case SECOND:
+            default:
+                return previousClearBit(mSeconds, from, to);
+        }
+    }
+
+    private static int nextClearBit(long[] words, int from, int to) {
+        int word = from >>> 6;
+        long bits = ~words[word] & (-1L << from);
+        while (bits == 0) {
+            if ((++word << 6) >= to) return -1;
+            bits = ~words[word];
+        }
+        int index = (word << 6) + Long.numberOfTrailingZeros(bits);
+        return index < to ? index : -1;
+    }
+
+    private static int previousClearBit(long[] words, int from, int to) {
+        int last = to - 1;
+        int word = last >>> 6;
+        long bits = ~words[word] & (-1L >>> (63 - (last & 63)));
+        while (bits == 0) {
+            if (--word < 0 || (word << 6) + 63 < from) return -1;
+            bits = ~words[word];
+        }
+        int index = (word << 6) + 63 - Long.numberOfLeadingZeros(bits);
+        return index >= from ? index : -1;
+    }
+
+    int cardinality() {
+        int count = 0;
+        for (long word : mSeconds) count += Long.bitCount(word);
+        return count;
+    }
+
+    @NonNull Timepoint[] toTimepoints() {
+        Timepoint[] output = new Timepoint[cardinality()];
+        int i = 0;
+        for (int second = nextSetBit(0); second >= 0; second = nextSetBit(second + 1)) {
+            output[i++] = new Timepoint(second / 3600, (second / 60) % 60, second % 60);
+        }
+        return output;
+    }
+
+    private void rebuildSummaries() {
+        for (int i = 0; i < mMinutes.length; i++) mMinutes[i] = 0;
+        mHours = 0;
+        for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+            if (bits(mSeconds, minute * 60, 60) != 0) {
+                mMinutes[minute >>> 6] |= 1L << minute;
+                mHours |= 1 << (minute / 60);
+            }
+        }
+    }
+
+    private void updateSummary(int minute) {
+        if (bits(mSeconds, minute * 60, 60) != 0) return;
+        mMinutes[minute >>> 6] &= ~(1L << minute);
+        int hour = minute / 60;
+        if (bits(mMinutes, hour * 60, 60) == 0) mHours &= ~(1 << hour);
+    }
+
+    private static void fill(long[] words, int from, int to) {
+        int startWord = from >>> 6;
+        int endWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (startWord == endWord) {
+            words[startWord] |= firstMask & lastMask;
+            return;
+        }
+        words[startWord] |= firstMask;
+        for (int i = startWord + 1; i < endWord; i++) words[i] = -1L;
+        words[endWord] |= lastMask;
+    }
+
+    /**
+     * @return the count (at most 64) bits of the words starting at index from
+     */
+    private static long bits(long[] words, int from, int count) {
+        int word = from >>> 6;
+        int shift = from & 63;
+        long bits = words[word] >>> shift;
+        if (shift + count > 64) bits |= words[word + 1] << (64 - shift);
+        return count == 64 ? bits : bits & ((1L << count) - 1);
+    }
+}
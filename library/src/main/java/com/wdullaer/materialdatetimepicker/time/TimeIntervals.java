@@ -0,0 +1,101 @@
+package com.wdullaer.materialdatetimepicker.time;
+
+import android.support.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * A set of seconds of the day stored as sorted, disjoint and non adjacent [start, end) intervals.
+ * Memory grows with the number of intervals, lookups are a binary search.
+ */
+final class TimeIntervals {
+    private int[] mStarts = new int[4];
+    private int[] mEnds = new int[4];
+    private int mSize;
+
+    /**
+     * Adds the seconds in [start, end), merging it with the intervals it overlaps or touches
+     */
+    void add(int start, int end) {
+        if (start >= end) return;
+        // first interval that ends at or after start, so it overlaps or touches the new one
+        int first = lowerBound(mEnds, start);
+        // first interval that starts after end, so it is untouched
+        int last = upperBound(mStarts, end);
+        if (first < last) {
+            start = Math.min(start, mStarts[first]);
+            end = Math.max(end, mEnds[last - 1]);
+        }
+        int removed = last - first;
+        int newSize = mSize - removed + 1;
+        if (newSize > mStarts.length) {
+            mStarts = Arrays.copyOf(mStarts, Math.max(newSize, mStarts.length * 2));
+            mEnds = Arrays.copyOf(mEnds, mStarts.length);
+        }
+        if (removed != 1) {
+            System.arraycopy(mStarts, last, mStarts, first + 1, mSize - last);
+            System.arraycopy(mEnds, last, mEnds, first + 1, mSize - last);
+        }
+        mStarts[first] = start;
+        mEnds[first] = end;
+        mSize = newSize;
+    }
+
+    boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    int size() {
+        return mSize;
+    }
+
+    int getStart(int index) {
+        return mStarts[index];
+    }
+
+    int getEnd(int index) {
+        return mEnds[index];
+    }
+
+    /**
+     * @return the intervals as start, end pairs, for parcelling
+     */
+    @NonNull int[] toArray() {
+        int[] output = new int[2 * mSize];
+        for (int i = 0; i < mSize; i++) {
+            output[2 * i] = mStarts[i];
+            output[2 * i + 1] = mEnds[i];
+        }
+        return output;
+    }
+
+    static @NonNull TimeIntervals fromArray(@NonNull int[] pairs) {
+        TimeIntervals intervals = new TimeIntervals();
+        for (int i = 0; i + 1 < pairs.length; i += 2) intervals.add(pairs[i], pairs[i + 1]);
+        return intervals;
+    }
+
+    // index of the first of the first mSize values that is >= key
+    private int lowerBound(int[] values, int key) {
+        int low = 0;
+        int high = mSize;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    // index of the first of the first mSize values that is > key
+    private int upperBound(int[] values, int key) {
+        int low = 0;
+        int high = mSize;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+}
@@ -56,7 +56,6 @@ import com.wdullaer.materialdatetimepicker.time.RadialPickerLayout.OnValueSelect
 import java.text.DateFormatSymbols;
 import java.util.ArrayList;
 import com.wdullaer.materialdatetimepicker.util.PersianCalendar;
-import java.util.List;
 import java.util.Locale;
 
 /**
@@ -175,6 +174,7 @@ public class TimePickerDialog extends DialogFragment implements
     private Version mVersion;
     private DefaultTimepointLimiter mDefaultLimiter = new DefaultTimepointLimiter();
     private TimepointLimiter mLimiter = mDefaultLimiter;
+    private TimeSnapTables mSnapTables = new TimeSnapTables(mDefaultLimiter);
     private Locale mLocale = Locale.getDefault();
 
     // For hardware IME input.
@@ -410,6 +410,7 @@ public class TimePickerDialog extends DialogFragment implements
 
     public void setMinTime(Timepoint minTime) {
         mDefaultLimiter.setMinTime(minTime);
+        mSnapTables.invalidate();
     }
 
     @SuppressWarnings("unused")
@@ -419,6 +420,7 @@ public class TimePickerDialog extends DialogFragment implements
 
     public void setMaxTime(Timepoint maxTime) {
         mDefaultLimiter.setMaxTime(maxTime);
+        mSnapTables.invalidate();
     }
 
     /**
@@ -429,6 +431,7 @@ public class TimePickerDialog extends DialogFragment implements
      */
     public void setSelectableTimes(Timepoint[] selectableTimes) {
         mDefaultLimiter.setSelectableTimes(selectableTimes);
+        mSnapTables.invalidate();
     }
 
     /**
@@ -442,14 +445,38 @@ public class TimePickerDialog extends DialogFragment implements
      */
     public void setDisabledTimes(Timepoint[] disabledTimes) {
         mDefaultLimiter.setDisabledTimes(disabledTimes);
+        mSnapTables.invalidate();
+    }
+
+    /**
+     * Pass in ranges of times which are the only possible selections, such as opening hours.
+     * Ranges are stored as intervals, not as single Timepoints, so they can be as long as needed.
+     * They add to {@link TimePickerDialog#setSelectableTimes(Timepoint[])}
+     * @param selectableRanges Array of TimeRanges which are the only valid selections in the picker
+     */
+    @SuppressWarnings("unused")
+    public void setSelectableRanges(TimeRange[] selectableRanges) {
+        mDefaultLimiter.setSelectableRanges(selectableRanges);
+        mSnapTables.invalidate();
+    }
+
+    /**
+     * Pass in ranges of times that cannot be selected, such as breaks. These take precedence over
+     * the selectable times and ranges and add to {@link TimePickerDialog#setDisabledTimes(Timepoint[])}
+     * Prefer this over disabling every Timepoint of a long stretch of time
+     * @param disabledRanges Array of TimeRanges which are disabled in the resulting picker
+     */
+    @SuppressWarnings("unused")
+    public void setDisabledRanges(TimeRange[] disabledRanges) {
+        mDefaultLimiter.setDisabledRanges(disabledRanges);
+        mSnapTables.invalidate();
     }
 
     /**
      * Set the interval for selectable times in the TimePickerDialog
-     * This is a convenience wrapper around {@link TimePickerDialog#setSelectableTimes(Timepoint[])}
      * The interval for all three time components can be set independently
-     * If you are not using the seconds / minutes picker, set the respective item to 60 for
-     * better performance.
+     * The interval is stored as a rule, not as a list of Timepoints, and adds to the times passed to
+     * {@link TimePickerDialog#setSelectableTimes(Timepoint[])}. Setting a new interval replaces the previous one.
      * @param hourInterval The interval between 2 selectable hours ([1,24])
      * @param minuteInterval The interval between 2 selectable minutes ([1,60])
      * @param secondInterval The interval between 2 selectable seconds ([1,60])
@@ -457,22 +484,24 @@ public class TimePickerDialog extends DialogFragment implements
     public void setTimeInterval(@IntRange(from=1, to=24) int hourInterval,
                                 @IntRange(from=1, to=60) int minuteInterval,
                                 @IntRange(from=1, to=60) int secondInterval) {
-        List<Timepoint> timepoints = new ArrayList<>();
-
-        int hour = 0;
-        while (hour < 24) {
-            int minute = 0;
-            while (minute < 60) {
-                int second = 0;
-                while (second < 60) {
-                    timepoints.add(new Timepoint(hour, minute, second));
-                    second += secondInterval;
-                }
-                minute += minuteInterval;
-            }
-            hour += hourInterval;
-        }
-        setSelectableTimes(timepoints.toArray(new Timepoint[timepoints.size()]));
+        setTimeInterval(hourInterval, minuteInterval, secondInterval, new Timepoint(0));
+    }
+
+    /**
+     * Set the interval for selectable times in the TimePickerDialog, starting from an offset
+     * The selectable hours are offset.getHour() + k * hourInterval, and the same for the minutes and seconds
+     * @param hourInterval The interval between 2 selectable hours ([1,24])
+     * @param minuteInterval The interval between 2 selectable minutes ([1,60])
+     * @param secondInterval The interval between 2 selectable seconds ([1,60])
+     * @param offset The first selectable hour, minute and second
+     */
+    @SuppressWarnings("unused")
+    public void setTimeInterval(@IntRange(from=1, to=24) int hourInterval,
+                                @IntRange(from=1, to=60) int minuteInterval,
+                                @IntRange(from=1, to=60) int secondInterval,
+                                @NonNull Timepoint offset) {
+        mDefaultLimiter.setTimeInterval(hourInterval, minuteInterval, secondInterval, offset);
+        mSnapTables.invalidate();
     }
 
     /**
@@ -693,6 +722,7 @@ public class TimePickerDialog extends DialogFragment implements
             mDefaultLimiter = mLimiter instanceof DefaultTimepointLimiter
                     ? (DefaultTimepointLimiter) mLimiter
                     : new DefaultTimepointLimiter();
+            mSnapTables = new TimeSnapTables(mDefaultLimiter);
         }
     }
 
@@ -1177,6 +1207,8 @@ public class TimePickerDialog extends DialogFragment implements
         setSecond(newValue.getSecond());
         mTimePicker.setContentDescription(mSecondPickerDescription + ": " + newValue.getSecond());
         if(!mIs24HourMode) updateAmPmDisplay(newValue.isAM() ? AM : PM);
+        // Called on every step of a drag, the other dials are prepared when the drag ends
+        prepareSnapTable(newValue, mTimePicker.getCurrentItemShowing());
     }
 
     @Override
@@ -1231,9 +1263,33 @@ public class TimePickerDialog extends DialogFragment implements
 
     @Override
     public Timepoint roundToNearest(@NonNull Timepoint time, @Nullable Timepoint.TYPE type) {
+        // Drags are answered from the precomputed tables once they are ready
+        if (mLimiter == mDefaultLimiter) {
+            Timepoint rounded = mSnapTables.roundToNearest(time, type, getPickerResolution());
+            if (rounded != null) return rounded;
+        }
         return mLimiter.roundToNearest(time, type, getPickerResolution());
     }
 
+    /**
+     * Build the snapping tables for the dials in the background, so a drag starting from the given
+     * selection does not have to ask the limiter for every move
+     * Custom limiters are always asked directly, their lookups might not be safe off the UI thread
+     * @param selection Timepoint - The current selection
+     */
+    private void prepareSnapTables(@NonNull Timepoint selection) {
+        if (mLimiter == mDefaultLimiter) mSnapTables.prepare(selection, getPickerResolution());
+    }
+
+    /**
+     * Build the snapping table of a single dial in the background
+     * @param selection Timepoint - The current selection
+     * @param index int - The dial to build the table for
+     */
+    private void prepareSnapTable(@NonNull Timepoint selection, int index) {
+        if (mLimiter == mDefaultLimiter) mSnapTables.prepare(selection, getPickerResolution(), index);
+    }
+
     /**
      * Get the configured resolution of the current picker in terms of Timepoint components
      * @return Timepoint.TYPE (hour, minute or second)
@@ -1288,6 +1344,7 @@ public class TimePickerDialog extends DialogFragment implements
     private void setCurrentItemShowing(int index, boolean animateCircle, boolean delayLabelAnimate,
             boolean announce) {
         mTimePicker.setCurrentItemShowing(index, animateCircle);
+        prepareSnapTables(mTimePicker.getTime());
 
         TextView labelToAnimate;
         switch(index) {
@@ -0,0 +1,103 @@
+package com.wdullaer.materialdatetimepicker.time;
+
+import android.support.annotation.NonNull;
+
+import java.io.Serializable;
+
+/**
+ * <pre>
+ * An immutable range of times of the day, from a start second (inclusive) to an end second (exclusive).
+ * A range can not wrap around midnight, use two ranges for that.
+ *
+ *                     Example
+ *
+ *  {@code
+ *    // opening hours with a lunch break
+ *    dialog.setSelectableRanges(new TimeRange[]{
+ *            TimeRange.closed(new Timepoint(9), new Timepoint(12, 30)),
+ *            TimeRange.closed(new Timepoint(13, 30), new Timepoint(17))
+ *    });
+ *  }
+ * </pre>
+ */
+@SuppressWarnings("WeakerAccess")
+public final class TimeRange implements Serializable {
+    private static final long serialVersionUID = 6528406129483513380L;
+
+    private final int start;
+    private final int end;
+
+    private TimeRange(int start, int end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * @param startSecond first second of the day in the range
+     * @param endSecond   second after the last second in the range, at most 24 * 3600
+     * @return TimeRange
+     * @throws IllegalArgumentException if the end is before the start or outside of the day
+     */
+    public static TimeRange ofSeconds(int startSecond, int endSecond) {
+        if (endSecond < startSecond) throw new IllegalArgumentException("end must not be before start");
+        if (startSecond < 0 || endSecond > TimeBitmap.SECONDS_PER_DAY) {
+            throw new IllegalArgumentException("range must lie within a single day");
+        }
+        return new TimeRange(startSecond, endSecond);
+    }
+
+    /**
+     * @param start first time of the range
+     * @param end   time after the last time of the range
+     * @return TimeRange
+     * @throws IllegalArgumentException if the end is before the start
+     */
+    public static TimeRange between(@NonNull Timepoint start, @NonNull Timepoint end) {
+        return ofSeconds(start.toSeconds(), end.toSeconds());
+    }
+
+    /**
+     * @param start first time of the range
+     * @param last  last time of the range, up to the second
+     * @return TimeRange
+     * @throws IllegalArgumentException if the last time is before the start
+     */
+    public static TimeRange closed(@NonNull Timepoint start, @NonNull Timepoint last) {
+        return ofSeconds(start.toSeconds(), last.toSeconds() + 1);
+    }
+
+    public int getStartSecond() {
+        return start;
+    }
+
+    public int getEndSecond() {
+        return end;
+    }
+
+    public boolean isEmpty() {
+        return start == end;
+    }
+
+    public boolean contains(@NonNull Timepoint time) {
+        int second = time.toSeconds();
+        return second >= start && second < end;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TimeRange range = (TimeRange) o;
+        return start == range.start && end == range.end;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * start + end;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + start + "s, " + end + "s)";
+    }
+}
@@ -0,0 +1,243 @@
+package com.wdullaer.materialdatetimepicker.time;
+
+import android.os.AsyncTask;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static com.wdullaer.materialdatetimepicker.time.TimePickerDialog.HOUR_INDEX;
+import static com.wdullaer.materialdatetimepicker.time.TimePickerDialog.MINUTE_INDEX;
+import static com.wdullaer.materialdatetimepicker.time.TimePickerDialog.SECOND_INDEX;
+
+/**
+ * Precomputed results of {@link TimepointLimiter#roundToNearest} for the times a drag can produce.
+ * A drag only changes the value of the dial that is showing, so each dial gets a table with the
+ * rounded second of the day for each of its 24 or 60 slots, given the other values of the current
+ * selection. Hours are rounded without locking, minutes locked to the hour and seconds to the minute,
+ * like {@link RadialPickerLayout} does.
+ *
+ * Tables are built on a background Executor when the selection changes. Only the tables whose fixed
+ * values changed are rebuilt, a change to the limiter drops all of them. A build that is replaced
+ * by a newer one for the same dial is cancelled. Lookups return null until the matching table is
+ * ready, the caller then asks the limiter itself.
+ */
+final class TimeSnapTables {
+    private static final String TAG = "TimeSnapTables";
+
+    private static final class Table {
+        // the fixed values, see key()
+        final int key;
+        // rounded second of the day per slot, -1 if the limiter returned null
+        final int[] seconds;
+
+        Table(int key, @NonNull int[] seconds) {
+            this.key = key;
+            this.seconds = seconds;
+        }
+    }
+
+    private final TimepointLimiter mLimiter;
+    private final Executor mExecutor;
+    // Ready table per dial, all fields below are guarded by this
+    private final Table[] mTables = new Table[3];
+    // Key of the table being built per dial, -1 if none
+    private final int[] mPending = {-1, -1, -1};
+    // Build of mPending per dial, null if none
+    private final FutureTask<?>[] mTasks = new FutureTask<?>[3];
+    private Timepoint.TYPE mResolution;
+    private int mGeneration;
+
+    /**
+     * Builds the tables on {@link AsyncTask#THREAD_POOL_EXECUTOR}
+     *
+     * @param limiter a limiter whose lookups can run on a background thread
+     */
+    TimeSnapTables(@NonNull TimepointLimiter limiter) {
+        this(limiter, AsyncTask.THREAD_POOL_EXECUTOR);
+    }
+
+    TimeSnapTables(@NonNull TimepointLimiter limiter, @NonNull Executor executor) {
+        mLimiter = limiter;
+        mExecutor = executor;
+    }
+
+    /**
+     * Starts building the tables that are missing for the given selection
+     */
+    synchronized void prepare(@NonNull Timepoint selection, @NonNull Timepoint.TYPE resolution) {
+        for (int dial = HOUR_INDEX; dial <= SECOND_INDEX; dial++) prepare(selection, resolution, dial);
+    }
+
+    /**
+     * Starts building the table of one dial if it is missing for the given selection
+     * A drag only needs the table of the dial being dragged, the others are prepared once it ends
+     */
+    synchronized void prepare(@NonNull Timepoint selection, @NonNull Timepoint.TYPE resolution, int dial) {
+        if (resolution != mResolution) {
+            invalidate();
+            mResolution = resolution;
+        }
+        int key = key(dial, selection);
+        Table table = mTables[dial];
+        if ((table != null && table.key == key) || mPending[dial] == key) return;
+        cancel(dial);
+        mPending[dial] = key;
+        build(dial, key, resolution, mGeneration);
+    }
+
+    /**
+     * Drops all tables, call this after every change to the limiter
+     */
+    synchronized void invalidate() {
+        mGeneration++;
+        Arrays.fill(mTables, null);
+        for (int dial = HOUR_INDEX; dial <= SECOND_INDEX; dial++) cancel(dial);
+    }
+
+    /**
+     * @return the same time as {@link TimepointLimiter#roundToNearest}, null if no table is ready for it
+     */
+    @Nullable Timepoint roundToNearest(@NonNull Timepoint time, @Nullable Timepoint.TYPE type,
+                                       @NonNull Timepoint.TYPE resolution) {
+        int dial = dial(type);
+        if (dial < 0) return null;
+        Table table;
+        synchronized (this) {
+            if (resolution != mResolution) return null;
+            table = mTables[dial];
+        }
+        if (table == null || table.key != key(dial, time)) return null;
+        int second = table.seconds[slot(dial, time)];
+        if (second < 0) return null;
+        return new Timepoint(second / 3600, (second / 60) % 60, second % 60);
+    }
+
+    // Must hold this
+    private void build(final int dial, final int key, final Timepoint.TYPE resolution, final int generation) {
+        FutureTask<int[]> task = new FutureTask<int[]>(new Callable<int[]>() {
+            @Override
+            public int[] call() {
+                return compute(dial, key, resolution);
+            }
+        }) {
+            @Override
+            protected void done() {
+                if (isCancelled()) return;
+                int[] seconds;
+                try {
+                    seconds = get();
+                } catch (InterruptedException | ExecutionException e) {
+                    Log.e(TAG, "Could not build the table of dial " + dial, e);
+                    seconds = null;
+                }
+                synchronized (TimeSnapTables.this) {
+                    // dropped by an invalidation or replaced by a newer selection while running
+                    if (generation != mGeneration || mTasks[dial] != this) return;
+                    mPending[dial] = -1;
+                    mTasks[dial] = null;
+                    if (seconds != null) mTables[dial] = new Table(key, seconds);
+                }
+            }
+        };
+        try {
+            mTasks[dial] = task;
+            mExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // the executor is full, lookups for this dial ask the limiter until the next prepare()
+            mPending[dial] = -1;
+            mTasks[dial] = null;
+        }
+    }
+
+    // Must hold this
+    private void cancel(int dial) {
+        FutureTask<?> task = mTasks[dial];
+        mTasks[dial] = null;
+        mPending[dial] = -1;
+        if (task == null) return;
+        task.cancel(false);
+        // A cancelled task keeps its place in the queue of a thread pool until a thread takes it,
+        // remove it so a fast drag does not fill the queue
+        if (mExecutor instanceof ThreadPoolExecutor) ((ThreadPoolExecutor) mExecutor).remove(task);
+    }
+
+    private @NonNull int[] compute(int dial, int key, @NonNull Timepoint.TYPE resolution) {
+        int[] seconds = new int[dial == HOUR_INDEX ? 24 : 60];
+        Timepoint.TYPE type = type(dial);
+        for (int slot = 0; slot < seconds.length; slot++) {
+            Timepoint input;
+            switch (dial) {
+                case HOUR_INDEX:
+                    input = new Timepoint(slot, key / 60, key % 60);
+                    break;
+                case MINUTE_INDEX:
+                    input = new Timepoint(key / 60, slot, key % 60);
+                    break;
+                default:
+                    input = new Timepoint(key / 60, key % 60, slot);
+            }
+            Timepoint rounded = mLimiter.roundToNearest(input, type, resolution);
+            seconds[slot] = rounded == null ? -1 : rounded.toSeconds();
+        }
+        return seconds;
+    }
+
+    /**
+     * @return the dial whose drag rounds with the given locking, -1 if rounding cannot change the time
+     */
+    private static int dial(@Nullable Timepoint.TYPE type) {
+        if (type == null) return HOUR_INDEX;
+        switch (type) {
+            case HOUR:
+                return MINUTE_INDEX;
+            case MINUTE:
+                return SECOND_INDEX;
+            default:
+                return -1;
+        }
+    }
+
+    private static @Nullable Timepoint.TYPE type(int dial) {
+        switch (dial) {
+            case HOUR_INDEX:
+                return null;
+            case MINUTE_INDEX:
+                return Timepoint.TYPE.HOUR;
+            default:
+                return Timepoint.TYPE.MINUTE;
+        }
+    }
+
+    /**
+     * @return the values a drag on the dial does not change, packed into one int
+     */
+    private static int key(int dial, @NonNull Timepoint time) {
+        switch (dial) {
+            case HOUR_INDEX:
+                return time.getMinute() * 60 + time.getSecond();
+            case MINUTE_INDEX:
+                return time.getHour() * 60 + time.getSecond();
+            default:
+                return time.getHour() * 60 + time.getMinute();
+        }
+    }
+
+    private static int slot(int dial, @NonNull Timepoint time) {
+        switch (dial) {
+            case HOUR_INDEX:
+                return time.getHour();
+            case MINUTE_INDEX:
+                return time.getMinute();
+            default:
+                return time.getSecond();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.wdullaer.materialdatetimepicker.util;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Splits an index range over the available cores for the bulk conversions.
+ * ForkJoinPool needs API 21, so this uses a small daemon thread pool and lets the calling thread
+ * process the first chunk itself.
+ */
+final class ParallelRange {
+
+    // below this many elements the conversion is faster than handing work to other threads
+    static final int THRESHOLD = 1 << 15;
+
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+    private static volatile ExecutorService executor;
+
+    interface Task {
+        void run(int from, int to);
+    }
+
+    private ParallelRange() {
+    }
+
+    /**
+     * Runs the task over [0, size), in parallel chunks when size reaches the threshold
+     */
+    static void run(int size, final Task task) {
+        if (size < THRESHOLD || CORES < 2) {
+            task.run(0, size);
+            return;
+        }
+        int chunks = Math.min(CORES, size / (THRESHOLD / 2));
+        final int chunkSize = (size + chunks - 1) / chunks;
+        final CountDownLatch done = new CountDownLatch(chunks - 1);
+        final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        ExecutorService pool = getExecutor();
+        for (int c = 1; c < chunks; c++) {
+            final int from = c * chunkSize;
+            final int to = Math.min(size, from + chunkSize);
+            pool.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        task.run(from, to);
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            });
+        }
+        try {
+            task.run(0, Math.min(size, chunkSize));
+        } finally {
+            // the other chunks write into the caller's arrays, even when this chunk failed
+            awaitUninterruptibly(done);
+        }
+        if (failure.get() != null) throw failure.get();
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private static ExecutorService getExecutor() {
+        ExecutorService pool = executor;
+        if (pool == null) {
+            synchronized (ParallelRange.class) {
+                pool = executor;
+                if (pool == null) {
+                    pool = Executors.newFixedThreadPool(CORES - 1, new ThreadFactory() {
+                        @Override
+                        public Thread newThread(Runnable runnable) {
+                            Thread thread = new Thread(runnable, "PersianBulkConversion");
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+                    executor = pool;
+                }
+            }
+        }
+        return pool;
+    }
+}
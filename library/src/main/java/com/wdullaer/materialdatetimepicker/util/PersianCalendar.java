@@ -16,8 +16,13 @@ public class PersianCalendar extends GregorianCalendar {
     private int persianYear;
     private int persianMonth;
     private int persianDay;
+    // false whenever the time changed since persianYear, persianMonth and persianDay were computed
+    // (not initialised on purpose: the super constructor sets the time before field initialisers run)
+    private boolean persianFieldsValid;
     // use to seperate PersianDate's field and also Parse the DateString based on this delimiter
     private String delimiter = "/";
+    // formats getPersianShortDate with the current delimiter, created on first use
+    private transient PersianDateFormatter shortDateFormatter;
 
     /**
      * default constructor
@@ -32,9 +37,10 @@ public class PersianCalendar extends GregorianCalendar {
         setTimeZone(TimeZone.getTimeZone("GMT"));
     }
 
-    private long convertToMilis(long julianDate) {
-        return PersianCalendarConstants.MILLIS_JULIAN_EPOCH + julianDate * PersianCalendarConstants.MILLIS_OF_A_DAY
-                + PersianCalendarUtils.ceil(getTimeInMillis() - PersianCalendarConstants.MILLIS_JULIAN_EPOCH, PersianCalendarConstants.MILLIS_OF_A_DAY);
+    private long convertToMilis(long epochDay) {
+        long millis = getTimeInMillis();
+        long timeOfDay = millis - PersianCalendarUtils.millisToEpochDay(millis) * PersianCalendarConstants.MILLIS_OF_A_DAY;
+        return epochDay * PersianCalendarConstants.MILLIS_OF_A_DAY + timeOfDay;
     }
 
     /**
@@ -42,15 +48,18 @@ public class PersianCalendar extends GregorianCalendar {
      * populates the corresponding fields(persianYear, persianMonth, persianDay)
      */
     protected void calculatePersianDate() {
-        long julianDate = ((long) Math.floor((getTimeInMillis() - PersianCalendarConstants.MILLIS_JULIAN_EPOCH)) /
-                PersianCalendarConstants.MILLIS_OF_A_DAY);
-        long PersianRowDate = PersianCalendarUtils.julianToPersian(julianDate);
-        long year = PersianRowDate >> 16;
+        long PersianRowDate = PersianCalendarUtils.epochDayToPersian(
+                PersianCalendarUtils.millisToEpochDay(getTimeInMillis()));
         int month = (int) (PersianRowDate & 0xff00) >> 8;
         int day = (int) (PersianRowDate & 0xff);
-        this.persianYear = (int) (year > 0 ? year : year - 1);
+        this.persianYear = (int) (PersianRowDate >> 16);
         this.persianMonth = month;
         this.persianDay = day;
+        this.persianFieldsValid = true;
+    }
+
+    private void ensurePersianFields() {
+        if (!persianFieldsValid) calculatePersianDate();
     }
 
     /**
@@ -60,8 +69,8 @@ public class PersianCalendar extends GregorianCalendar {
      * @return boolean
      */
     public boolean isPersianLeapYear() {
-        //calculatePersianDate();
-        return PersianCalendarUtils.isPersianLeapYear(this.persianYear);
+        ensurePersianFields();
+        return PersianYearTable.isLeapYear(this.persianYear);
     }
 
 
@@ -74,15 +83,54 @@ public class PersianCalendar extends GregorianCalendar {
      * @param persianDay
      */
     public void setPersianDate(int persianYear, int persianMonth, int persianDay) {
-        this.persianYear = persianYear;
-        this.persianMonth = persianMonth;
-        this.persianDay = persianDay;
-        setTimeInMillis(convertToMilis(PersianCalendarUtils.persianToJulian(this.persianYear > 0 ? this.persianYear
-                : this.persianYear + 1, this.persianMonth, this.persianDay)));
+        setTimeInMillis(convertToMilis(PersianCalendarUtils.persianToEpochDay(persianYear, persianMonth, persianDay)));
+        // the fields are already known unless they overflow into another month
+        if (persianYear != 0 && persianMonth >= 0 && persianMonth < 12 && persianDay >= 1
+                && persianDay <= PersianDate.lengthOfMonth(persianYear, persianMonth)) {
+            this.persianYear = persianYear;
+            this.persianMonth = persianMonth;
+            this.persianDay = persianDay;
+            this.persianFieldsValid = true;
+        }
+    }
+
+    /**
+     * set the time of day in a single step, keeping the current date.
+     * Unlike a series of {@link #set(int, int)} calls the time is only computed once.
+     *
+     * @param hourOfDay
+     * @param minute
+     * @param second
+     * @param millisecond
+     */
+    public void setTimeOfDay(int hourOfDay, int minute, int second, int millisecond) {
+        long millis = getTimeInMillis();
+        TimeZone zone = getTimeZone();
+        int offset = zone.getOffset(millis);
+        long localDay = PersianCalendarUtils.millisToEpochDay(millis + offset);
+        long target = localDay * PersianCalendarConstants.MILLIS_OF_A_DAY
+                + ((hourOfDay * 60L + minute) * 60L + second) * 1000L + millisecond - offset;
+        if (zone.getOffset(target) == offset) {
+            setTimeInMillis(target);
+            return;
+        }
+        // the day crosses a daylight saving transition, let GregorianCalendar resolve it
+        super.set(HOUR_OF_DAY, hourOfDay);
+        super.set(MINUTE, minute);
+        super.set(SECOND, second);
+        super.set(MILLISECOND, millisecond);
+        persianFieldsValid = false;
+    }
+
+    /**
+     * set the time to midnight, keeping the current date
+     */
+    public void trimToMidnight() {
+        setTimeOfDay(0, 0, 0, 0);
     }
 
     public int getPersianYear() {
-        //calculatePersianDate();
+        ensurePersianFields();
         return this.persianYear;
     }
 
@@ -90,7 +138,7 @@ public class PersianCalendar extends GregorianCalendar {
      * @return int    persian month number
      */
     public int getPersianMonth() {
-        //calculatePersianDate();
+        ensurePersianFields();
         return this.persianMonth;
     }
 
@@ -98,7 +146,7 @@ public class PersianCalendar extends GregorianCalendar {
      * @return String   persian month name
      */
     public String getPersianMonthName() {
-        //calculatePersianDate();
+        ensurePersianFields();
         return PersianCalendarConstants.persianMonthNames[this.persianMonth];
     }
 
@@ -106,7 +154,7 @@ public class PersianCalendar extends GregorianCalendar {
      * @return int Persian day in month
      */
     public int getPersianDay() {
-        //calculatePersianDate();
+        ensurePersianFields();
         return this.persianDay;
     }
 
@@ -139,28 +187,28 @@ public class PersianCalendar extends GregorianCalendar {
      * ex: شنبه  01  خرداد  1361
      */
     public String getPersianLongDate() {
-        return getPersianWeekDayName() + "  " + formatToMilitary(this.persianDay) + "  "
-                + getPersianMonthName() + "  " + this.persianYear;
-
+        return PersianDateFormatter.LONG_DATE.format(this);
     }
 
     /**
      * @return String of persian date formatted by 'YYYY[delimiter]mm[delimiter]dd'
-     * default delimiter is '/'
+     * default delimiter is '/', the month is 1-12
      */
     public String getPersianShortDate() {
-        //calculatePersianDate();
-        return "" + formatToMilitary(this.persianYear) + delimiter + formatToMilitary(getPersianMonth()) + delimiter
-                + formatToMilitary(this.persianDay);
-    }
-
-    private String formatToMilitary(int i) {
-        return (i <= 9) ? "0" + i : String.valueOf(i);
+        PersianDateFormatter formatter = shortDateFormatter;
+        if (formatter == null) {
+            String quoted = PersianDateFormatter.quote(delimiter);
+            formatter = "/".equals(delimiter) ? PersianDateFormatter.SHORT_DATE
+                    : PersianDateFormatter.ofPattern("yyyy" + quoted + "MM" + quoted + "dd");
+            shortDateFormatter = formatter;
+        }
+        return formatter.format(this);
     }
 
     /**
      * add specific amout of fields to the current date
-     * for now doesnt handle before 1 farvardin hejri (before epoch)
+     * years and months are added in the persian calendar, clamping the day to the length of the
+     * resulting month (31 Shahrivar plus one month is 30 Mehr). The time of day is kept.
      *
      * @param field
      * @param amount
@@ -175,15 +223,16 @@ public class PersianCalendar extends GregorianCalendar {
             throw new IllegalArgumentException();
         }
 
-        if (field == YEAR) {
-            setPersianDate(this.persianYear + amount, getPersianMonth(), this.persianDay);
-            return;
-        } else if (field == MONTH) {
-            setPersianDate(this.persianYear + ((getPersianMonth() + amount) / 12), (getPersianMonth() + amount) % 12, this.persianDay);
+        if (field == YEAR || field == MONTH) {
+            PersianDate date = PersianDate.fromCalendar(this).plusMonths(field == YEAR ? amount * 12L : amount);
+            setTimeInMillis(convertToMilis(date.toEpochDay()));
+            this.persianYear = date.getYear();
+            this.persianMonth = date.getMonth();
+            this.persianDay = date.getDayOfMonth();
+            this.persianFieldsValid = true;
             return;
         }
         add(field, amount);
-        calculatePersianDate();
     }
 
     /**
@@ -196,8 +245,9 @@ public class PersianCalendar extends GregorianCalendar {
      * @see PersianDateParser
      */
     public void parse(String dateString) {
-        PersianCalendar p = new PersianDateParser(dateString, delimiter).getPersianDate();
-        setPersianDate(p.getPersianYear(), p.getPersianMonth(), p.getPersianDay());
+        int date = new PersianDateParser(dateString, delimiter).parsePackedDate();
+        setPersianDate(PersianDateParser.getYear(date), PersianDateParser.getMonth(date),
+                PersianDateParser.getDay(date));
     }
 
 
@@ -213,6 +263,7 @@ public class PersianCalendar extends GregorianCalendar {
      */
     public void setDelimiter(String delimiter) {
         this.delimiter = delimiter;
+        this.shortDateFormatter = null;
     }
 
 
@@ -237,18 +288,24 @@ public class PersianCalendar extends GregorianCalendar {
     @Override
     public void set(int field, int value) {
         super.set(field, value);
-        calculatePersianDate();
+        persianFieldsValid = false;
+    }
+
+    @Override
+    public void add(int field, int amount) {
+        super.add(field, amount);
+        persianFieldsValid = false;
     }
 
     @Override
     public void setTimeInMillis(long millis) {
         super.setTimeInMillis(millis);
-        calculatePersianDate();
+        persianFieldsValid = false;
     }
 
     @Override
     public void setTimeZone(TimeZone zone) {
         super.setTimeZone(zone);
-        calculatePersianDate();
+        persianFieldsValid = false;
     }
 }
@@ -14,6 +14,11 @@ public class PersianCalendarConstants {
     // Milliseconds of a day calculated by 24L(hours) * 60L(minutes) * 60L(seconds) * 1000L(mili);
     public static final long MILLIS_OF_A_DAY = 86400000L;
 
+    /**
+     * The JDN of 1970-01-01, the day from which epoch days are counted
+     */
+    public static final long JULIAN_DAY_OF_EPOCH = 2440588L;
+
     /**
      * The JDN of 1 Farvardin 1; Equivalent to March 19, 622 A.D.
      */
@@ -8,6 +8,11 @@ package com.wdullaer.materialdatetimepicker.util;
 
 public class PersianCalendarUtils {
 
+    // Number of days in one 2820 year cycle of the persian calendar
+    private static final long DAYS_OF_CYCLE = 1029983L;
+    // Julian Day Number of 1 Farvardin 475, the start of the cycle containing the current era
+    private static final long JULIAN_DAY_OF_475 = persianToJulian(475L, 0, 1);
+
     /**
      * Converts a provided Persian (Shamsi) date to the Julian Day Number
      * (i.e. the number of days since January 1 in the year 4713 BC).
@@ -22,11 +27,18 @@ public class PersianCalendarUtils {
      * @return long
      */
     public static long persianToJulian(long year, int month, int day) {
-        return 365L * ((ceil(year - 474L, 2820D) + 474L) - 1L)
-                + ((long) Math.floor((682L * (ceil(year - 474L, 2820D) + 474L) - 110L) / 2816D))
+        return julianBeforeYear(year) + (month < 7 ? 31 * month : 30 * month + 6) + day;
+    }
+
+    /**
+     * Julian Day Number of the day before 1 Farvardin of the given year
+     */
+    private static long julianBeforeYear(long year) {
+        long cycleYear = floorMod(year - 474L, 2820L) + 474L;
+        return 365L * (cycleYear - 1L)
+                + (682L * cycleYear - 110L) / 2816L
                 + (PersianCalendarConstants.PERSIAN_EPOCH - 1L)
-                + 1029983L * ((long) Math.floor((year - 474L) / 2820D))
-                + (month < 7 ? 31 * month : 30 * month + 6) + day;
+                + DAYS_OF_CYCLE * floorDiv(year - 474L, 2820L);
     }
 
 
@@ -36,8 +48,7 @@ public class PersianCalendarUtils {
      * @return boolean
      */
     public static boolean isPersianLeapYear(int persianYear) {
-        return PersianCalendarUtils.ceil((38D
-                + (PersianCalendarUtils.ceil(persianYear - 474L, 2820L) + 474L)) * 682D, 2816D) < 682L;
+        return floorMod((floorMod(persianYear - 474L, 2820L) + 474L + 38L) * 682L, 2816L) < 682L;
     }
 
     /**
@@ -50,16 +61,104 @@ public class PersianCalendarUtils {
      * @return long
      */
     public static long julianToPersian(long julianDate) {
-        long persianEpochInJulian = julianDate - persianToJulian(475L, 0, 1);
-        long cyear = ceil(persianEpochInJulian, 1029983D);
-        long ycycle = cyear != 1029982L ? ((long) Math.floor((2816D * (double) cyear + 1031337D) / 1028522D)) : 2820L;
-        long year = 474L + 2820L * ((long) Math.floor(persianEpochInJulian / 1029983D)) + ycycle;
-        long aux = (1L + julianDate) - persianToJulian(year, 0, 1);
-        int month = (int) (aux > 186L ? Math.ceil((double) (aux - 6L) / 30D) - 1 : Math.ceil((double) aux / 31D) - 1);
-        int day = (int) (julianDate - (persianToJulian(year, month, 1) - 1L));
+        long persianEpochInJulian = julianDate - JULIAN_DAY_OF_475;
+        long cyear = floorMod(persianEpochInJulian, DAYS_OF_CYCLE);
+        long ycycle = cyear != DAYS_OF_CYCLE - 1L ? (2816L * cyear + 1031337L) / 1028522L : 2820L;
+        long year = 474L + 2820L * floorDiv(persianEpochInJulian, DAYS_OF_CYCLE) + ycycle;
+        long dayOfYear = julianDate - julianBeforeYear(year);
+        int month = (int) (dayOfYear > 186L ? ceilDiv(dayOfYear - 6L, 30L) - 1 : ceilDiv(dayOfYear, 31L) - 1);
+        int day = (int) (dayOfYear - (month < 7 ? 31 * month : 30 * month + 6));
         return (year << 16) | (month << 8) | day;
     }
 
+    private static long floorDiv(long x, long y) {
+        long q = x / y;
+        return (x % y != 0 && (x ^ y) < 0) ? q - 1 : q;
+    }
+
+    private static long floorMod(long x, long y) {
+        return x - floorDiv(x, y) * y;
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -floorDiv(-x, y);
+    }
+
+
+    /**
+     * Converts a provided Persian (Shamsi) date to the number of days since 1970-01-01.
+     * There is no year 0: the year before 1 is -1, as in {@link PersianCalendar}.
+     * Years covered by {@link PersianYearTable} are a table lookup.
+     *
+     * @param year  int persian year
+     * @param month int persian month (0-11)
+     * @param day   int persian day
+     * @return long epoch day
+     */
+    public static long persianToEpochDay(int year, int month, int day) {
+        return PersianYearTable.persianToEpochDay(year, month, day);
+    }
+
+    /**
+     * Converts a number of days since 1970-01-01 to the Persian (Shamsi) date.
+     * The result is packed in the same way as {@link #julianToPersian(long)}:
+     * year in the upper bits, then 8 bits of month (0-11) and 8 bits of day.
+     * Days covered by {@link PersianYearTable} are a table lookup.
+     *
+     * @param epochDay long days since 1970-01-01
+     * @return long packed persian date
+     */
+    public static long epochDayToPersian(long epochDay) {
+        return PersianYearTable.epochDayToPersian(epochDay);
+    }
+
+    /**
+     * Returns the epoch day containing the given instant, counted in UTC like the persian
+     * fields of {@link PersianCalendar}
+     *
+     * @param millis long milliseconds since 1970-01-01T00:00:00Z
+     * @return long epoch day
+     */
+    public static long millisToEpochDay(long millis) {
+        return floorDiv(millis, PersianCalendarConstants.MILLIS_OF_A_DAY);
+    }
+
+    /**
+     * Converts instants to persian dates, the bulk equivalent of the persian fields of
+     * {@link PersianCalendar}: each day is counted in UTC.
+     * Each date is packed in an int as (year << 16) | (month << 8) | day with a month of 0-11, the
+     * same layout as {@link PersianDateParser#tryParse(CharSequence)}, which holds years up to 32767.
+     * Large arrays are converted in parallel; no objects are allocated per element.
+     *
+     * @param millis    milliseconds since 1970-01-01T00:00:00Z
+     * @param packedOut receives the packed persian dates, must be as long as millis
+     */
+    public static void convert(final long[] millis, final int[] packedOut) {
+        if (packedOut.length != millis.length) throw new IllegalArgumentException("arrays differ in length");
+        ParallelRange.run(millis.length, new ParallelRange.Task() {
+            @Override
+            public void run(int from, int to) {
+                PersianYearTable.millisToPersian(millis, packedOut, from, to);
+            }
+        });
+    }
+
+    /**
+     * Converts packed persian dates, as produced by {@link #convert(long[], int[])}, to midnight UTC
+     * of each day. Months and days outside of their regular range overflow.
+     *
+     * @param packed    packed persian dates
+     * @param millisOut receives milliseconds since 1970-01-01T00:00:00Z, must be as long as packed
+     */
+    public static void convert(final int[] packed, final long[] millisOut) {
+        if (millisOut.length != packed.length) throw new IllegalArgumentException("arrays differ in length");
+        ParallelRange.run(packed.length, new ParallelRange.Task() {
+            @Override
+            public void run(int from, int to) {
+                PersianYearTable.persianToMillis(packed, millisOut, from, to);
+            }
+        });
+    }
 
     /**
      * Ceil function in original algorithm
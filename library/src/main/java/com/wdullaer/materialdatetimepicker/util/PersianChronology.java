@@ -0,0 +1,110 @@
+package com.wdullaer.materialdatetimepicker.util;
+
+import java.io.Serializable;
+
+/**
+ * The rules of the persian (Solar Hijri) calendar, in the spirit of java.time's Chronology.
+ * {@link PersianDate} is the matching date type; both only use epoch days and the conversion
+ * math of this package, so no Calendar objects or time zones are involved.
+ * <p>
+ * Dates interoperate with java.time (or any other calendar system) through their epoch day:
+ * {@code LocalDate.ofEpochDay(date.toEpochDay())} and
+ * {@code PersianChronology.INSTANCE.dateEpochDay(localDate.toEpochDay())}.
+ */
+public final class PersianChronology implements Serializable {
+
+    private static final long serialVersionUID = -2426377211374880341L;
+
+    public static final PersianChronology INSTANCE = new PersianChronology();
+
+    private PersianChronology() {
+    }
+
+    /**
+     * @return String the id of this calendar system, "Persian"
+     */
+    public String getId() {
+        return "Persian";
+    }
+
+    /**
+     * @return String the CLDR / unicode locale extension calendar type, "persian"
+     */
+    public String getCalendarType() {
+        return "persian";
+    }
+
+    /**
+     * @param year  int persian year
+     * @param month int persian month (0-11)
+     * @param day   int persian day of month
+     * @return PersianDate
+     * @throws IllegalArgumentException if the day does not exist in the persian calendar
+     */
+    public PersianDate date(int year, int month, int day) {
+        return PersianDate.of(year, month, day);
+    }
+
+    /**
+     * @param year      int persian year
+     * @param dayOfYear int day of the year (1-366)
+     * @return PersianDate
+     * @throws IllegalArgumentException if the day does not exist in the persian calendar
+     */
+    public PersianDate dateYearDay(int year, int dayOfYear) {
+        return PersianDate.ofYearDay(year, dayOfYear);
+    }
+
+    /**
+     * @param epochDay long days since 1970-01-01
+     * @return PersianDate
+     */
+    public PersianDate dateEpochDay(long epochDay) {
+        return PersianDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * @return PersianDate of today in UTC, like the persian fields of {@link PersianCalendar}
+     */
+    public PersianDate dateNow() {
+        return PersianDate.now();
+    }
+
+    /**
+     * @param calendar
+     * @return PersianDate holding the persian date of the calendar
+     */
+    public PersianDate date(PersianCalendar calendar) {
+        return PersianDate.fromCalendar(calendar);
+    }
+
+    public boolean isLeapYear(int year) {
+        return PersianYearTable.isLeapYear(year);
+    }
+
+    /**
+     * @param year  int persian year
+     * @param month int persian month (0-11)
+     * @return int number of days in the month
+     */
+    public int lengthOfMonth(int year, int month) {
+        return PersianDate.lengthOfMonth(year, month);
+    }
+
+    /**
+     * @param year int persian year
+     * @return int number of days in the year, 365 or 366
+     */
+    public int lengthOfYear(int year) {
+        return isLeapYear(year) ? 366 : 365;
+    }
+
+    private Object readResolve() {
+        return INSTANCE;
+    }
+
+    @Override
+    public String toString() {
+        return getId();
+    }
+}
@@ -0,0 +1,294 @@
+package com.wdullaer.materialdatetimepicker.util;
+
+import java.io.Serializable;
+import java.util.Calendar;
+
+/**
+ * An immutable date in the persian calendar, without time of day or time zone.
+ * <p>
+ * The date is identified by a single epoch day (days since 1970-01-01), which makes it cheap to
+ * store, compare and hash. The persian year, month and day are resolved once on creation, so
+ * all accessors are O(1).
+ * Months are zero based (0 = Farvardin, 11 = Esfand), as in {@link PersianCalendar}.
+ * <p>
+ * Use {@link #fromCalendar(PersianCalendar)} and {@link #toCalendar()} to bridge to the
+ * {@link PersianCalendar} based public API.
+ */
+public final class PersianDate implements Comparable<PersianDate>, Serializable {
+
+    private static final long serialVersionUID = 3201938283726416157L;
+
+    private final int epochDay;
+    private final int year;
+    private final int month;
+    private final int day;
+
+    private PersianDate(int epochDay, int year, int month, int day) {
+        this.epochDay = epochDay;
+        this.year = year;
+        this.month = month;
+        this.day = day;
+    }
+
+    /**
+     * Obtains a PersianDate from a year, month and day
+     *
+     * @param year  int persian year
+     * @param month int persian month (0-11)
+     * @param day   int persian day of month (1-31)
+     * @return PersianDate
+     * @throws IllegalArgumentException if the day does not exist in the persian calendar
+     */
+    public static PersianDate of(int year, int month, int day) {
+        if (year == 0) throw new IllegalArgumentException("year is not valid");
+        if (month < 0 || month > 11) throw new IllegalArgumentException("month is not valid");
+        if (day < 1 || day > lengthOfMonth(year, month)) throw new IllegalArgumentException("day is not valid");
+        return new PersianDate((int) PersianCalendarUtils.persianToEpochDay(year, month, day), year, month, day);
+    }
+
+    /**
+     * Obtains a PersianDate from a year and a day of that year
+     *
+     * @param year      int persian year
+     * @param dayOfYear int day of the year (1-366)
+     * @return PersianDate
+     * @throws IllegalArgumentException if the day does not exist in the persian calendar
+     */
+    public static PersianDate ofYearDay(int year, int dayOfYear) {
+        if (year == 0) throw new IllegalArgumentException("year is not valid");
+        if (dayOfYear < 1 || dayOfYear > (PersianYearTable.isLeapYear(year) ? 366 : 365)) {
+            throw new IllegalArgumentException("day of year is not valid");
+        }
+        return ofEpochDay(PersianCalendarUtils.persianToEpochDay(year, 0, dayOfYear));
+    }
+
+    /**
+     * Obtains a PersianDate from a number of days since 1970-01-01
+     *
+     * @param epochDay long epoch day
+     * @return PersianDate
+     */
+    public static PersianDate ofEpochDay(long epochDay) {
+        long packed = PersianCalendarUtils.epochDayToPersian(epochDay);
+        return new PersianDate((int) epochDay, (int) (packed >> 16), (int) (packed >> 8) & 0xff, (int) packed & 0xff);
+    }
+
+    /**
+     * Obtains the PersianDate of the given calendar. Like the persian fields of
+     * {@link PersianCalendar}, the day is derived from the instant in UTC.
+     *
+     * @param calendar PersianCalendar
+     * @return PersianDate
+     */
+    public static PersianDate fromCalendar(PersianCalendar calendar) {
+        return ofEpochDay(PersianCalendarUtils.millisToEpochDay(calendar.getTimeInMillis()));
+    }
+
+    /**
+     * @return PersianDate of the current day
+     */
+    public static PersianDate now() {
+        return ofEpochDay(PersianCalendarUtils.millisToEpochDay(System.currentTimeMillis()));
+    }
+
+    /**
+     * @param year  int persian year
+     * @param month int persian month (0-11)
+     * @return int number of days in the given month
+     */
+    public static int lengthOfMonth(int year, int month) {
+        if (month < 6) return 31;
+        if (month < 11) return 30;
+        return PersianYearTable.isLeapYear(year) ? 30 : 29;
+    }
+
+    /**
+     * @return PersianCalendar set to midnight (GMT) of this date
+     */
+    public PersianCalendar toCalendar() {
+        PersianCalendar calendar = new PersianCalendar();
+        calendar.setTimeInMillis(epochDay * PersianCalendarConstants.MILLIS_OF_A_DAY);
+        return calendar;
+    }
+
+    public long toEpochDay() {
+        return epochDay;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * @return int persian month (0-11)
+     */
+    public int getMonth() {
+        return month;
+    }
+
+    public int getDayOfMonth() {
+        return day;
+    }
+
+    /**
+     * @return int day of the week, using the {@link Calendar#SUNDAY} - {@link Calendar#SATURDAY}
+     * constants
+     */
+    public int getDayOfWeek() {
+        // 1970-01-01 was a Thursday
+        int dayOfWeek = (epochDay + 4) % 7;
+        return (dayOfWeek < 0 ? dayOfWeek + 7 : dayOfWeek) + Calendar.SUNDAY;
+    }
+
+    /**
+     * @return int day of the year (1-366)
+     */
+    public int getDayOfYear() {
+        return (month < 7 ? 31 * month : 30 * month + 6) + day;
+    }
+
+    public PersianChronology getChronology() {
+        return PersianChronology.INSTANCE;
+    }
+
+    public int lengthOfMonth() {
+        return lengthOfMonth(year, month);
+    }
+
+    public int lengthOfYear() {
+        return isLeapYear() ? 366 : 365;
+    }
+
+    public boolean isLeapYear() {
+        return PersianYearTable.isLeapYear(year);
+    }
+
+    /**
+     * @param days number of days to add, may be negative
+     * @return PersianDate the given number of days later
+     */
+    public PersianDate plusDays(long days) {
+        if (days == 0) return this;
+        long dayOfMonth = day + days;
+        // stays within the month, no conversion needed
+        if (dayOfMonth >= 1 && dayOfMonth <= lengthOfMonth()) {
+            return new PersianDate((int) (epochDay + days), year, month, (int) dayOfMonth);
+        }
+        return ofEpochDay(epochDay + days);
+    }
+
+    /**
+     * Adds months, clamping the day to the length of the resulting month:
+     * 31 Shahrivar plus one month is 30 Mehr.
+     *
+     * @param months number of months to add, may be negative
+     * @return PersianDate the given number of months later
+     */
+    public PersianDate plusMonths(long months) {
+        if (months == 0) return this;
+        long monthCount = getProlepticMonth() + months;
+        long yearCount = monthCount / 12;
+        if (monthCount % 12 < 0) yearCount--;
+        int newMonth = (int) (monthCount - yearCount * 12);
+        // there is no year 0, the year before 1 is -1
+        int newYear = (int) (yearCount >= 0 ? yearCount + 1 : yearCount);
+        return resolve(newYear, newMonth, day);
+    }
+
+    /**
+     * Adds years, clamping 30 Esfand to 29 Esfand in common years
+     *
+     * @param years number of years to add, may be negative
+     * @return PersianDate the given number of years later
+     */
+    public PersianDate plusYears(long years) {
+        return years == 0 ? this : plusMonths(years * 12);
+    }
+
+    public PersianDate minusDays(long days) {
+        return plusDays(-days);
+    }
+
+    public PersianDate minusMonths(long months) {
+        return plusMonths(-months);
+    }
+
+    public PersianDate minusYears(long years) {
+        return plusYears(-years);
+    }
+
+    /**
+     * @param period years, months and days to add, in that order
+     * @return PersianDate
+     */
+    public PersianDate plus(PersianPeriod period) {
+        return plusMonths(period.toTotalMonths()).plusDays(period.getDays());
+    }
+
+    /**
+     * @param end the end date, exclusive
+     * @return PersianPeriod between this date and the end date
+     */
+    public PersianPeriod until(PersianDate end) {
+        return PersianPeriod.between(this, end);
+    }
+
+    /**
+     * @param end the end date, exclusive
+     * @return long number of days from this date to the end date, negative if the end is before this date
+     */
+    public long daysUntil(PersianDate end) {
+        return (long) end.epochDay - epochDay;
+    }
+
+    // month count from 1 Farvardin of year 1, used by PersianPeriod
+    long getProlepticMonth() {
+        return (year > 0 ? year - 1L : (long) year) * 12 + month;
+    }
+
+    private static PersianDate resolve(int year, int month, int day) {
+        int length = lengthOfMonth(year, month);
+        if (day > length) day = length;
+        return new PersianDate((int) PersianCalendarUtils.persianToEpochDay(year, month, day), year, month, day);
+    }
+
+    public boolean isBefore(PersianDate other) {
+        return epochDay < other.epochDay;
+    }
+
+    public boolean isAfter(PersianDate other) {
+        return epochDay > other.epochDay;
+    }
+
+    public boolean isEqual(PersianDate other) {
+        return epochDay == other.epochDay;
+    }
+
+    @Override
+    public int compareTo(PersianDate other) {
+        return epochDay < other.epochDay ? -1 : (epochDay == other.epochDay ? 0 : 1);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return this == obj || obj instanceof PersianDate && ((PersianDate) obj).epochDay == epochDay;
+    }
+
+    @Override
+    public int hashCode() {
+        return epochDay;
+    }
+
+    /**
+     * @return String of the date formatted as 'YYYY/MM/DD', with a one based month
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(10);
+        sb.append(year).append('/');
+        if (month < 9) sb.append('0');
+        sb.append(month + 1).append('/');
+        if (day < 10) sb.append('0');
+        return sb.append(day).toString();
+    }
+}
@@ -0,0 +1,268 @@
+package com.wdullaer.materialdatetimepicker.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+/**
+ * <pre>
+ * Immutable formatter for persian dates, compiled once from a pattern and safe to share between threads.
+ * The output is written straight into a StringBuilder or Appendable without intermediate strings.
+ *
+ * Pattern letters:
+ *   y     year, yyyy pads it to 4 digits
+ *   M, MM month number (1-12), MM pads it to 2 digits
+ *   MMMM  month name
+ *   d, dd day of month, dd pads it to 2 digits
+ *   EEEE  weekday name
+ * Text between single quotes is copied as is, '' is a single quote.
+ * Other characters that are not letters are copied as is.
+ *
+ *                     Example
+ *
+ *  {@code
+ *    PersianDateFormatter.ofPattern("EEEE d MMMM yyyy").withPersianDigits().format(date);
+ *  }
+ * </pre>
+ */
+public final class PersianDateFormatter {
+
+    /**
+     * yyyy/MM/dd
+     */
+    public static final PersianDateFormatter SHORT_DATE = ofPattern("yyyy/MM/dd");
+    /**
+     * The format of {@link PersianCalendar#getPersianLongDate()}, ex: شنبه  01  خرداد  1361
+     */
+    public static final PersianDateFormatter LONG_DATE = ofPattern("EEEE  dd  MMMM  y");
+
+    private static final int LITERAL = 0;
+    private static final int YEAR = 1;
+    private static final int MONTH = 2;
+    private static final int MONTH_NAME = 3;
+    private static final int DAY = 4;
+    private static final int WEEKDAY = 5;
+
+    private final String pattern;
+    // field type of each element
+    private final int[] types;
+    // per element: the minimum width for numeric fields, the index into literals for LITERAL ones
+    private final int[] widths;
+    private final String[] literals;
+    private final char zeroDigit;
+    // a calendar only has to compute its fields for the weekday when the pattern prints it
+    private final boolean usesWeekday;
+
+    private PersianDateFormatter(String pattern, int[] types, int[] widths, String[] literals, char zeroDigit) {
+        this.pattern = pattern;
+        this.types = types;
+        this.widths = widths;
+        this.literals = literals;
+        this.zeroDigit = zeroDigit;
+        boolean weekday = false;
+        for (int type : types) weekday |= type == WEEKDAY;
+        this.usesWeekday = weekday;
+    }
+
+    /**
+     * Compiles the given pattern, see the class documentation for the pattern letters
+     *
+     * @param pattern
+     * @return PersianDateFormatter using latin digits
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public static PersianDateFormatter ofPattern(String pattern) {
+        List<int[]> fields = new ArrayList<>();
+        List<String> literals = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int length = pattern.length();
+        int i = 0;
+        while (i < length) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                int end = i + 1;
+                while (true) {
+                    if (end >= length) throw new IllegalArgumentException("Unterminated quote in " + pattern);
+                    if (pattern.charAt(end) == '\'') {
+                        if (end + 1 < length && pattern.charAt(end + 1) == '\'') {
+                            literal.append('\'');
+                            end += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    literal.append(pattern.charAt(end++));
+                }
+                // a lone '' outside of quoted text
+                if (end == i + 1) literal.append('\'');
+                i = end + 1;
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                int count = 1;
+                while (i + count < length && pattern.charAt(i + count) == c) count++;
+                int type;
+                switch (c) {
+                    case 'y':
+                        type = YEAR;
+                        break;
+                    case 'M':
+                        type = count > 2 ? MONTH_NAME : MONTH;
+                        break;
+                    case 'd':
+                        if (count > 2) throw new IllegalArgumentException("Too many pattern letters: " + c);
+                        type = DAY;
+                        break;
+                    case 'E':
+                        type = WEEKDAY;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown pattern letter: " + c);
+                }
+                if (literal.length() > 0) {
+                    fields.add(new int[]{LITERAL, literals.size()});
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                }
+                fields.add(new int[]{type, count});
+                i += count;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        if (literal.length() > 0) {
+            fields.add(new int[]{LITERAL, literals.size()});
+            literals.add(literal.toString());
+        }
+
+        int[] types = new int[fields.size()];
+        int[] widths = new int[fields.size()];
+        for (int f = 0; f < types.length; f++) {
+            types[f] = fields.get(f)[0];
+            widths[f] = fields.get(f)[1];
+        }
+        return new PersianDateFormatter(pattern, types, widths, literals.toArray(new String[literals.size()]), '0');
+    }
+
+    /**
+     * @return PersianDateFormatter with the same pattern writing persian digits
+     */
+    public PersianDateFormatter withPersianDigits() {
+        return zeroDigit == '\u06F0' ? this : new PersianDateFormatter(pattern, types, widths, literals, '\u06F0');
+    }
+
+    /**
+     * @return PersianDateFormatter with the same pattern writing latin digits
+     */
+    public PersianDateFormatter withLatinDigits() {
+        return zeroDigit == '0' ? this : new PersianDateFormatter(pattern, types, widths, literals, '0');
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public String format(PersianDate date) {
+        StringBuilder builder = new StringBuilder(16);
+        formatTo(date, builder);
+        return builder.toString();
+    }
+
+    public String format(PersianCalendar calendar) {
+        StringBuilder builder = new StringBuilder(16);
+        formatTo(calendar, builder);
+        return builder.toString();
+    }
+
+    public void formatTo(PersianDate date, StringBuilder builder) {
+        try {
+            formatTo(date, (Appendable) builder);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    public void formatTo(PersianCalendar calendar, StringBuilder builder) {
+        try {
+            formatTo(calendar, (Appendable) builder);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    public void formatTo(PersianDate date, Appendable out) throws IOException {
+        formatTo(date.getYear(), date.getMonth(), date.getDayOfMonth(), date.getDayOfWeek(), out);
+    }
+
+    /**
+     * The weekday is read from the calendar's own time zone, as {@link PersianCalendar#getPersianWeekDayName()} does
+     */
+    public void formatTo(PersianCalendar calendar, Appendable out) throws IOException {
+        formatTo(calendar.getPersianYear(), calendar.getPersianMonth(), calendar.getPersianDay(),
+                usesWeekday ? calendar.get(Calendar.DAY_OF_WEEK) : Calendar.SATURDAY, out);
+    }
+
+    /**
+     * @param year      persian year
+     * @param month     persian month (0-11)
+     * @param day       persian day of month
+     * @param dayOfWeek one of the {@link Calendar} day of week constants, only read by EEEE
+     * @param out
+     * @throws IOException
+     */
+    public void formatTo(int year, int month, int day, int dayOfWeek, Appendable out) throws IOException {
+        for (int i = 0; i < types.length; i++) {
+            switch (types[i]) {
+                case LITERAL:
+                    out.append(literals[widths[i]]);
+                    break;
+                case YEAR:
+                    appendNumber(year, widths[i], out);
+                    break;
+                case MONTH:
+                    appendNumber(month + 1, widths[i], out);
+                    break;
+                case MONTH_NAME:
+                    out.append(PersianCalendarConstants.persianMonthNames[month]);
+                    break;
+                case DAY:
+                    appendNumber(day, widths[i], out);
+                    break;
+                case WEEKDAY:
+                    out.append(PersianCalendarConstants.persianWeekDays[dayOfWeek % 7]);
+                    break;
+            }
+        }
+    }
+
+    private void appendNumber(int value, int minWidth, Appendable out) throws IOException {
+        if (value < 0) {
+            out.append('-');
+            value = -value;
+        }
+        int digits = 1;
+        for (int v = value; v >= 10; v /= 10) digits++;
+        for (int pad = digits; pad < minWidth; pad++) out.append(zeroDigit);
+        int divisor = 1;
+        for (int d = 1; d < digits; d++) divisor *= 10;
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char) (zeroDigit + value / divisor % 10));
+        }
+    }
+
+    /**
+     * Quotes the given text so it is copied as is when used in a pattern
+     *
+     * @param text literal text, may be empty
+     * @return String quoted pattern text, empty for empty text since '' is a single quote
+     */
+    static String quote(String text) {
+        if (text.isEmpty()) return "";
+        return "'" + text.replace("'", "''") + "'";
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
@@ -8,6 +8,21 @@ package com.wdullaer.materialdatetimepicker.util;
 
 public class PersianDateParser {
 
+    /**
+     * Returned by tryParse when the text is not a valid persian date
+     */
+    public static final int INVALID_DATE = -1;
+    /**
+     * Stored by parseEpochDays for lines that are not a valid persian date
+     */
+    public static final int INVALID_EPOCH_DAY = Integer.MIN_VALUE;
+    /**
+     * Delimiters accepted by tryParse when none are given
+     */
+    public static final String DEFAULT_DELIMITERS = "/-.";
+    // Upper bound on the digits of a single field, keeps the packed value from overflowing
+    private static final int MAX_FIELD_DIGITS = 4;
+
     private String dateString;
     private String delimiter = "/";
 
@@ -61,69 +76,210 @@ public class PersianDateParser {
     /**
      * Produce the PersianCalendar object from given DateString
      * throws Exception if couldn't parse the text.
+     * Every character of the delimiter is accepted as a separator between the date fields.
      *
      * @return PersianCalendar object
      * @throws RuntimeException
      */
     public PersianCalendar getPersianDate() {
+        int date = parsePackedDate();
 
-        checkDateStringInitialValidation();
+        PersianCalendar pCal = new PersianCalendar();
+        pCal.setPersianDate(getYear(date), getMonth(date), getDay(date));
 
-        String tokens[] = splitDateString(normalizeDateString(dateString));
-        int year = Integer.parseInt(tokens[0]);
-        int month = Integer.parseInt(tokens[1]);
-        int day = Integer.parseInt(tokens[2]);
+        return pCal;
+    }
 
-        checkPersianDateValidation(year, month, day);
+    /**
+     * Parses the date string without creating a PersianCalendar
+     *
+     * @return int packed date, see {@link #tryParse(CharSequence, int, int, String)}
+     * @throws RuntimeException
+     */
+    int parsePackedDate() {
+        if (dateString == null)
+            throw new RuntimeException("input didn't assing please use setDateString()");
+        int date = tryParse(dateString, 0, dateString.length(), delimiter);
+        if (date == INVALID_DATE) throw
+                new RuntimeException("wrong date:" + dateString +
+                        " is not a Persian Date or can not be parsed");
+        return date;
+    }
 
-        PersianCalendar pCal = new PersianCalendar();
-        pCal.setPersianDate(year, month, day);
+    /**
+     * Parses a date using the {@link #DEFAULT_DELIMITERS}
+     *
+     * @param text
+     * @return int packed date or {@link #INVALID_DATE}
+     */
+    public static int tryParse(CharSequence text) {
+        return tryParse(text, 0, text.length(), DEFAULT_DELIMITERS);
+    }
 
-        return pCal;
+    /**
+     * Parses the date in the given region of the text using the {@link #DEFAULT_DELIMITERS}
+     *
+     * @param text
+     * @param start index of the first character
+     * @param end   index after the last character
+     * @return int packed date or {@link #INVALID_DATE}
+     */
+    public static int tryParse(CharSequence text, int start, int end) {
+        return tryParse(text, start, end, DEFAULT_DELIMITERS);
     }
 
     /**
-     * validate the given date
+     * <pre>
+     * Parses a 'year[delimiter]month[delimiter]day' date in the given region of the text
+     * without allocating or throwing. The month in the text is 1-12.
+     * Digits may be latin, persian or arabic-indic, every character of delimiters separates
+     * the fields and surrounding whitespace is ignored.
      *
-     * @param year
-     * @param month
-     * @param day
+     * The result is packed as (year << 16) | (month << 8) | day with a month of 0-11,
+     * use {@link #getYear(int)}, {@link #getMonth(int)} and {@link #getDay(int)} to read it.
+     * </pre>
+     *
+     * @param text
+     * @param start      index of the first character
+     * @param end        index after the last character
+     * @param delimiters characters accepted between the fields
+     * @return int packed date or {@link #INVALID_DATE} if the text is not a valid persian date
      */
-    private void checkPersianDateValidation(int year, int month, int day) {
-        if (year < 1) throw new RuntimeException("year is not valid");
-        if (month < 1 || month > 12) throw new RuntimeException("month is not valid");
-        if (day < 1 || day > 31) throw new RuntimeException("day is not valid");
-        if (month > 6 && day == 31) throw new RuntimeException("day is not valid");
-        if (month == 12 && day == 30 && !PersianCalendarUtils.isPersianLeapYear(year))
-            throw new RuntimeException("day is not valid " + year + " is not a leap year");
+    public static int tryParse(CharSequence text, int start, int end, String delimiters) {
+        while (start < end && Character.isWhitespace(text.charAt(start))) start++;
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) end--;
+
+        int year = 0;
+        int month = 0;
+        int field = 0;
+        int digits = 0;
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            int digit = digitValue(c);
+            if (digit >= 0) {
+                if (++digits > MAX_FIELD_DIGITS) return INVALID_DATE;
+                value = value * 10 + digit;
+            } else if (digits > 0 && field < 2 && delimiters.indexOf(c) >= 0) {
+                if (field == 0) year = value;
+                else month = value;
+                field++;
+                digits = 0;
+                value = 0;
+            } else {
+                return INVALID_DATE;
+            }
+        }
+        if (field != 2 || digits == 0 || !isValidDate(year, month, value)) return INVALID_DATE;
+        return (year << 16) | ((month - 1) << 8) | value;
     }
 
     /**
-     * planned for further calculation before parsing the text
+     * Parses newline separated dates into epoch days using the {@link #DEFAULT_DELIMITERS}.
+     * Blank lines are skipped, lines that can't be parsed become {@link #INVALID_EPOCH_DAY}.
      *
-     * @param dateString
-     * @return
+     * @param text
+     * @return int[] epoch days, one per non blank line
      */
-    private String normalizeDateString(String dateString) {
-        // dateString = dateString.replace("-", delimiter);
-        return dateString;
+    public static int[] parseEpochDays(CharSequence text) {
+        int count = 0;
+        int lineStart = 0;
+        int length = text.length();
+        for (int i = 0; i <= length; i++) {
+            if (i == length || text.charAt(i) == '\n') {
+                if (!isBlank(text, lineStart, i)) count++;
+                lineStart = i + 1;
+            }
+        }
+        int[] epochDays = new int[count];
+        parseEpochDays(text, epochDays);
+        return epochDays;
     }
 
+    /**
+     * Parses newline separated dates into the given array of epoch days using the {@link #DEFAULT_DELIMITERS}.
+     * Blank lines are skipped, lines that can't be parsed become {@link #INVALID_EPOCH_DAY}.
+     * Parsing stops when the array is full.
+     *
+     * @param text
+     * @param epochDays array receiving one epoch day per non blank line
+     * @return int the number of entries written
+     */
+    public static int parseEpochDays(CharSequence text, int[] epochDays) {
+        int count = 0;
+        int lineStart = 0;
+        int length = text.length();
+        for (int i = 0; i <= length && count < epochDays.length; i++) {
+            if (i == length || text.charAt(i) == '\n') {
+                if (!isBlank(text, lineStart, i)) {
+                    int date = tryParse(text, lineStart, i, DEFAULT_DELIMITERS);
+                    epochDays[count++] = date == INVALID_DATE ? INVALID_EPOCH_DAY : (int) toEpochDay(date);
+                }
+                lineStart = i + 1;
+            }
+        }
+        return count;
+    }
 
-    private String[] splitDateString(String dateString) {
-        String tokens[] = dateString.split(delimiter);
-        if (tokens.length != 3) throw
-                new RuntimeException("wrong date:" + dateString +
-                        " is not a Persian Date or can not be parsed");
-        return tokens;
+    /**
+     * @param date packed date returned by tryParse
+     * @return int persian year
+     */
+    public static int getYear(int date) {
+        return date >> 16;
     }
 
-    private void checkDateStringInitialValidation() {
-        if (dateString == null)
-            throw new RuntimeException("input didn't assing please use setDateString()");
-//        if(dateString.length()>10)
-//            throw new RuntimeException("wrong date:" + dateString +
-//                    " is not a Persian Date or can not be parsed" );
+    /**
+     * @param date packed date returned by tryParse
+     * @return int persian month (0-11)
+     */
+    public static int getMonth(int date) {
+        return (date >> 8) & 0xff;
+    }
+
+    /**
+     * @param date packed date returned by tryParse
+     * @return int persian day
+     */
+    public static int getDay(int date) {
+        return date & 0xff;
+    }
+
+    /**
+     * @param date packed date returned by tryParse
+     * @return long number of days since 1970-01-01
+     */
+    public static long toEpochDay(int date) {
+        return PersianCalendarUtils.persianToEpochDay(getYear(date), getMonth(date), getDay(date));
+    }
+
+    private static int digitValue(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= '\u06F0' && c <= '\u06F9') return c - '\u06F0';
+        if (c >= '\u0660' && c <= '\u0669') return c - '\u0660';
+        return -1;
+    }
+
+    private static boolean isBlank(CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(text.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * validate the given date, month is 1-12
+     *
+     * @param year
+     * @param month
+     * @param day
+     */
+    private static boolean isValidDate(int year, int month, int day) {
+        if (year < 1) return false;
+        if (month < 1 || month > 12) return false;
+        if (day < 1 || day > 31) return false;
+        if (month > 6 && day == 31) return false;
+        return !(month == 12 && day == 30 && !PersianYearTable.isLeapYear(year));
     }
 
 
@@ -0,0 +1,360 @@
+package com.wdullaer.materialdatetimepicker.util;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * <pre>
+ * An immutable range of days, from a start epoch day (inclusive) to an end epoch day (exclusive).
+ *
+ * Besides iterating {@link PersianDate}s, the range can be walked without allocating per day:
+ * {@link #forEachDay(DayVisitor)} reports the persian fields of every day and
+ * {@link #months()} steps through the range a month at a time.
+ * Large ranges can be processed in parallel with {@link #split(int)} or
+ * {@link #parallelForEachDay(DayVisitor)}.
+ *
+ *                     Example
+ *
+ *  {@code
+ *    PersianDateRange.ofYear(1403).forEachDay(new PersianDateRange.DayVisitor() {
+ *        public void visit(long epochDay, int year, int month, int day, int dayOfWeek) {
+ *            if (dayOfWeek == Calendar.FRIDAY) holidays.add(epochDay);
+ *        }
+ *    });
+ *  }
+ * </pre>
+ */
+public final class PersianDateRange implements Iterable<PersianDate>, Serializable {
+
+    private static final long serialVersionUID = -3119527360846230617L;
+
+    /**
+     * Receives the days of a range in order
+     */
+    public interface DayVisitor {
+        /**
+         * @param epochDay  days since 1970-01-01
+         * @param year      persian year
+         * @param month     persian month (0-11)
+         * @param day       persian day of month
+         * @param dayOfWeek one of the {@link Calendar} day of week constants
+         */
+        void visit(long epochDay, int year, int month, int day, int dayOfWeek);
+    }
+
+    private final long start;
+    private final long end;
+
+    private PersianDateRange(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * @param startEpochDay first day of the range
+     * @param endEpochDay   day after the last day of the range
+     * @return PersianDateRange
+     * @throws IllegalArgumentException if the end is before the start
+     */
+    public static PersianDateRange ofEpochDays(long startEpochDay, long endEpochDay) {
+        if (endEpochDay < startEpochDay) throw new IllegalArgumentException("end must not be before start");
+        return new PersianDateRange(startEpochDay, endEpochDay);
+    }
+
+    /**
+     * @param start first day of the range
+     * @param end   day after the last day of the range
+     * @return PersianDateRange
+     * @throws IllegalArgumentException if the end is before the start
+     */
+    public static PersianDateRange between(PersianDate start, PersianDate end) {
+        return ofEpochDays(start.toEpochDay(), end.toEpochDay());
+    }
+
+    /**
+     * @param start first day of the range
+     * @param last  last day of the range
+     * @return PersianDateRange
+     * @throws IllegalArgumentException if the last day is before the start
+     */
+    public static PersianDateRange closed(PersianDate start, PersianDate last) {
+        return ofEpochDays(start.toEpochDay(), last.toEpochDay() + 1);
+    }
+
+    /**
+     * @param year  persian year
+     * @param month persian month (0-11)
+     * @return PersianDateRange covering the month
+     */
+    public static PersianDateRange ofMonth(int year, int month) {
+        long first = PersianCalendarUtils.persianToEpochDay(year, month, 1);
+        return new PersianDateRange(first, first + PersianDate.lengthOfMonth(year, month));
+    }
+
+    /**
+     * @param year persian year
+     * @return PersianDateRange covering the year
+     */
+    public static PersianDateRange ofYear(int year) {
+        long first = PersianCalendarUtils.persianToEpochDay(year, 0, 1);
+        return new PersianDateRange(first, first + (PersianYearTable.isLeapYear(year) ? 366 : 365));
+    }
+
+    public long getStartEpochDay() {
+        return start;
+    }
+
+    public long getEndEpochDay() {
+        return end;
+    }
+
+    /**
+     * @return long the number of days in the range
+     */
+    public long size() {
+        return end - start;
+    }
+
+    public boolean isEmpty() {
+        return end == start;
+    }
+
+    public boolean contains(long epochDay) {
+        return epochDay >= start && epochDay < end;
+    }
+
+    public boolean contains(PersianDate date) {
+        return contains(date.toEpochDay());
+    }
+
+    /**
+     * Splits the range into at most the given number of adjacent ranges of (almost) equal size
+     *
+     * @param parts the number of ranges wanted
+     * @return List of non empty ranges, in order
+     */
+    public List<PersianDateRange> split(int parts) {
+        if (parts < 1) throw new IllegalArgumentException("parts must be positive");
+        long size = size();
+        int count = (int) Math.min(parts, size);
+        List<PersianDateRange> ranges = new ArrayList<>(count);
+        long from = start;
+        for (int i = 0; i < count; i++) {
+            long to = start + size * (i + 1) / count;
+            ranges.add(new PersianDateRange(from, to));
+            from = to;
+        }
+        return ranges;
+    }
+
+    /**
+     * Reports every day of the range in order, without allocating per day
+     *
+     * @param visitor called once per day, on the calling thread
+     */
+    public void forEachDay(DayVisitor visitor) {
+        visitDays(start, end, visitor);
+    }
+
+    /**
+     * Reports every day of the range, splitting large ranges over the available cores.
+     * The visitor is called from several threads at once and days are not reported in order.
+     *
+     * @param visitor a thread safe visitor
+     */
+    public void parallelForEachDay(final DayVisitor visitor) {
+        if (size() > Integer.MAX_VALUE) throw new IllegalStateException("range is too large");
+        ParallelRange.run((int) size(), new ParallelRange.Task() {
+            @Override
+            public void run(int from, int to) {
+                visitDays(start + from, start + to, visitor);
+            }
+        });
+    }
+
+    private static void visitDays(long from, long to, DayVisitor visitor) {
+        if (from >= to) return;
+        PersianDate first = PersianDate.ofEpochDay(from);
+        int year = first.getYear();
+        int month = first.getMonth();
+        int day = first.getDayOfMonth();
+        int dayOfWeek = first.getDayOfWeek();
+        int length = first.lengthOfMonth();
+        for (long epochDay = from; epochDay < to; epochDay++) {
+            visitor.visit(epochDay, year, month, day, dayOfWeek);
+            dayOfWeek = dayOfWeek == Calendar.SATURDAY ? Calendar.SUNDAY : dayOfWeek + 1;
+            if (++day > length) {
+                day = 1;
+                if (++month == 12) {
+                    month = 0;
+                    year = year == -1 ? 1 : year + 1;
+                }
+                length = PersianDate.lengthOfMonth(year, month);
+            }
+        }
+    }
+
+    /**
+     * @return MonthCursor positioned before the first month overlapping this range
+     */
+    public MonthCursor months() {
+        return new MonthCursor(start, end);
+    }
+
+    @Override
+    public Iterator<PersianDate> iterator() {
+        return new Iterator<PersianDate>() {
+            private long next = start;
+            private PersianDate current;
+
+            @Override
+            public boolean hasNext() {
+                return next < end;
+            }
+
+            @Override
+            public PersianDate next() {
+                if (next >= end) throw new NoSuchElementException();
+                current = current == null ? PersianDate.ofEpochDay(next) : current.plusDays(1);
+                next++;
+                return current;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof PersianDateRange)) return false;
+        PersianDateRange other = (PersianDateRange) obj;
+        return start == other.start && end == other.end;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (start ^ (start >>> 32)) * 31 + (int) (end ^ (end >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return isEmpty() ? "[" + PersianDate.ofEpochDay(start) + ", " + PersianDate.ofEpochDay(start) + ")"
+                : "[" + PersianDate.ofEpochDay(start) + ", " + PersianDate.ofEpochDay(end - 1) + "]";
+    }
+
+    /**
+     * <pre>
+     * Steps through the months that overlap a range, reusing a single object.
+     *
+     *  {@code
+     *    PersianDateRange.MonthCursor cursor = range.months();
+     *    while (cursor.next()) {
+     *        draw(cursor.getYear(), cursor.getMonth(), cursor.getFirstEpochDay(), cursor.getLength());
+     *    }
+     *  }
+     * </pre>
+     */
+    public static final class MonthCursor {
+        private final long rangeStart;
+        private final long rangeEnd;
+        private int year;
+        private int month;
+        private long firstEpochDay;
+        private int length;
+        private boolean leapYear;
+        private boolean started;
+
+        private MonthCursor(long rangeStart, long rangeEnd) {
+            this.rangeStart = rangeStart;
+            this.rangeEnd = rangeEnd;
+        }
+
+        /**
+         * Moves to the next month overlapping the range
+         *
+         * @return boolean false when there are no more months
+         */
+        public boolean next() {
+            if (!started) {
+                started = true;
+                if (rangeStart >= rangeEnd) return false;
+                PersianDate first = PersianDate.ofEpochDay(rangeStart);
+                year = first.getYear();
+                month = first.getMonth();
+                firstEpochDay = rangeStart - first.getDayOfMonth() + 1;
+                leapYear = PersianYearTable.isLeapYear(year);
+                length = PersianDate.lengthOfMonth(year, month);
+                return true;
+            }
+            long nextFirst = firstEpochDay + length;
+            if (nextFirst >= rangeEnd) return false;
+            firstEpochDay = nextFirst;
+            if (++month == 12) {
+                month = 0;
+                year = year == -1 ? 1 : year + 1;
+                leapYear = PersianYearTable.isLeapYear(year);
+            }
+            length = month < 6 ? 31 : month < 11 ? 30 : leapYear ? 30 : 29;
+            return true;
+        }
+
+        public int getYear() {
+            return year;
+        }
+
+        /**
+         * @return int persian month (0-11)
+         */
+        public int getMonth() {
+            return month;
+        }
+
+        /**
+         * @return long epoch day of the first day of the month, which may lie before the range
+         */
+        public long getFirstEpochDay() {
+            return firstEpochDay;
+        }
+
+        /**
+         * @return int number of days in the month
+         */
+        public int getLength() {
+            return length;
+        }
+
+        public boolean isLeapYear() {
+            return leapYear;
+        }
+
+        /**
+         * @return int day of the week of the first day of the month, one of the {@link Calendar} constants
+         */
+        public int getFirstDayOfWeek() {
+            int dayOfWeek = (int) ((firstEpochDay + 4) % 7);
+            return (dayOfWeek < 0 ? dayOfWeek + 7 : dayOfWeek) + Calendar.SUNDAY;
+        }
+
+        /**
+         * @return long first epoch day of this month that lies inside the range
+         */
+        public long getStartEpochDay() {
+            return Math.max(firstEpochDay, rangeStart);
+        }
+
+        /**
+         * @return long epoch day after the last day of this month that lies inside the range
+         */
+        public long getEndEpochDay() {
+            return Math.min(firstEpochDay + length, rangeEnd);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.wdullaer.materialdatetimepicker.util;
+
+import java.io.Serializable;
+
+/**
+ * An immutable amount of time in persian years, months and days, like java.time's Period.
+ * Use {@link #between(PersianDate, PersianDate)} to measure the difference between two dates and
+ * {@link PersianDate#plus(PersianPeriod)} to add it again.
+ */
+public final class PersianPeriod implements Serializable {
+
+    private static final long serialVersionUID = -6452478436720457245L;
+
+    public static final PersianPeriod ZERO = new PersianPeriod(0, 0, 0);
+
+    private final int years;
+    private final int months;
+    private final int days;
+
+    private PersianPeriod(int years, int months, int days) {
+        this.years = years;
+        this.months = months;
+        this.days = days;
+    }
+
+    public static PersianPeriod of(int years, int months, int days) {
+        if ((years | months | days) == 0) return ZERO;
+        return new PersianPeriod(years, months, days);
+    }
+
+    public static PersianPeriod ofDays(int days) {
+        return of(0, 0, days);
+    }
+
+    public static PersianPeriod ofMonths(int months) {
+        return of(0, months, 0);
+    }
+
+    public static PersianPeriod ofYears(int years) {
+        return of(years, 0, 0);
+    }
+
+    /**
+     * Computes the period between two dates as whole years, months and remaining days.
+     * The start date is included and the end date is not. If the end is before the start,
+     * all parts of the result are zero or negative.
+     *
+     * @param start the start date, inclusive
+     * @param end   the end date, exclusive
+     * @return PersianPeriod from start to end
+     */
+    public static PersianPeriod between(PersianDate start, PersianDate end) {
+        long totalMonths = end.getProlepticMonth() - start.getProlepticMonth();
+        int days = end.getDayOfMonth() - start.getDayOfMonth();
+        if (totalMonths > 0 && days < 0) {
+            totalMonths--;
+            days = (int) start.plusMonths(totalMonths).daysUntil(end);
+        } else if (totalMonths < 0 && days > 0) {
+            totalMonths++;
+            days -= end.lengthOfMonth();
+        }
+        return of((int) (totalMonths / 12), (int) (totalMonths % 12), days);
+    }
+
+    public int getYears() {
+        return years;
+    }
+
+    public int getMonths() {
+        return months;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * @return long years and months of this period expressed in months
+     */
+    public long toTotalMonths() {
+        return years * 12L + months;
+    }
+
+    public boolean isZero() {
+        return this == ZERO || (years | months | days) == 0;
+    }
+
+    public boolean isNegative() {
+        return years < 0 || months < 0 || days < 0;
+    }
+
+    public PersianPeriod negated() {
+        return of(-years, -months, -days);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof PersianPeriod)) return false;
+        PersianPeriod other = (PersianPeriod) obj;
+        return years == other.years && months == other.months && days == other.days;
+    }
+
+    @Override
+    public int hashCode() {
+        return years + Integer.rotateLeft(months, 8) + Integer.rotateLeft(days, 16);
+    }
+
+    /**
+     * @return String in the ISO-8601 period format, ex: P1Y2M3D
+     */
+    @Override
+    public String toString() {
+        if (isZero()) return "P0D";
+        StringBuilder sb = new StringBuilder().append('P');
+        if (years != 0) sb.append(years).append('Y');
+        if (months != 0) sb.append(months).append('M');
+        if (days != 0) sb.append(days).append('D');
+        return sb.toString();
+    }
+}
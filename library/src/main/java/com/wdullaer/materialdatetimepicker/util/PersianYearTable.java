@@ -0,0 +1,196 @@
+package com.wdullaer.materialdatetimepicker.util;
+
+/**
+ * Lazily built table with the epoch day of 1 Farvardin (Nowruz) for a range of persian years.
+ * Inside the range converting between epoch days and persian dates is a table lookup plus the
+ * fixed month offsets; outside of it the arithmetic of {@link PersianCalendarUtils} is used.
+ * <p>
+ * The table covers 1300 - 1500 by default, the year range of the date picker, and can be widened
+ * with {@link #ensureRange(int, int)}.
+ */
+public final class PersianYearTable {
+
+    public static final int DEFAULT_MIN_YEAR = 1300;
+    public static final int DEFAULT_MAX_YEAR = 1500;
+    // Upper bound on the number of years kept in the table, 4 bytes per year
+    private static final int MAX_YEARS = 10000;
+
+    private static volatile Table table;
+
+    private PersianYearTable() {
+    }
+
+    /**
+     * Makes sure the table covers the given years, rebuilding it if necessary.
+     * The table only grows and never holds more than 10000 years; years before 1 are never tabulated.
+     *
+     * @param minYear first persian year that should be covered
+     * @param maxYear last persian year that should be covered
+     */
+    public static synchronized void ensureRange(int minYear, int maxYear) {
+        if (minYear > maxYear) throw new IllegalArgumentException("minYear must be smaller than maxYear");
+        Table current = getTable();
+        int min = Math.max(1, Math.min(minYear, current.minYear));
+        int max = Math.max(maxYear, current.maxYear);
+        if (min == current.minYear && max == current.maxYear) return;
+        if (max - min >= MAX_YEARS) return;
+        table = new Table(min, max);
+    }
+
+    /**
+     * @return int the first persian year covered by the table
+     */
+    public static int getMinYear() {
+        return getTable().minYear;
+    }
+
+    /**
+     * @return int the last persian year covered by the table
+     */
+    public static int getMaxYear() {
+        return getTable().maxYear;
+    }
+
+    /**
+     * Converts a persian date to the number of days since 1970-01-01.
+     * Months and days outside of their regular range overflow in the same way as
+     * {@link PersianCalendarUtils#persianToJulian(long, int, int)}.
+     *
+     * @param year  int persian year, there is no year 0
+     * @param month int persian month (0-11)
+     * @param day   int persian day
+     * @return long epoch day
+     */
+    public static long persianToEpochDay(int year, int month, int day) {
+        Table t = getTable();
+        if (year >= t.minYear && year <= t.maxYear) {
+            return t.yearStarts[year - t.minYear] + (month < 7 ? 31 * month : 30 * month + 6) + day - 1;
+        }
+        return PersianCalendarUtils.persianToJulian(year > 0 ? year : year + 1, month, day)
+                - PersianCalendarConstants.JULIAN_DAY_OF_EPOCH;
+    }
+
+    /**
+     * Converts a number of days since 1970-01-01 to a persian date, packed as
+     * {@link PersianCalendarUtils#epochDayToPersian(long)} does.
+     *
+     * @param epochDay long days since 1970-01-01
+     * @return long packed persian date
+     */
+    public static long epochDayToPersian(long epochDay) {
+        Table t = getTable();
+        int[] starts = t.yearStarts;
+        if (epochDay >= starts[0] && epochDay < starts[starts.length - 1]) {
+            // A 33 year period holds 12053 days, which puts the estimate at most a year off
+            int index = (int) ((epochDay - starts[0]) * 33 / 12053);
+            if (index > starts.length - 2) index = starts.length - 2;
+            while (starts[index] > epochDay) index--;
+            while (starts[index + 1] <= epochDay) index++;
+            int dayOfYear = (int) (epochDay - starts[index]);
+            int month = dayOfYear < 186 ? dayOfYear / 31 : (dayOfYear - 186) / 30 + 6;
+            int day = dayOfYear - (month < 7 ? 31 * month : 30 * month + 6) + 1;
+            return ((long) (t.minYear + index) << 16) | (month << 8) | day;
+        }
+        long packed = PersianCalendarUtils.julianToPersian(epochDay + PersianCalendarConstants.JULIAN_DAY_OF_EPOCH);
+        long year = packed >> 16;
+        return year > 0 ? packed : ((year - 1) << 16) | (packed & 0xffff);
+    }
+
+    /**
+     * @param year int persian year
+     * @return boolean true if Esfand of the given year has 30 days
+     */
+    public static boolean isLeapYear(int year) {
+        Table t = getTable();
+        if (year >= t.minYear && year <= t.maxYear) {
+            int index = year - t.minYear;
+            return t.yearStarts[index + 1] - t.yearStarts[index] == 366;
+        }
+        return PersianCalendarUtils.isPersianLeapYear(year);
+    }
+
+    /**
+     * Converts millis[from, to) to packed persian dates, see {@link PersianCalendarUtils#convert(long[], int[])}
+     */
+    static void millisToPersian(long[] millis, int[] packedOut, int from, int to) {
+        Table t = getTable();
+        int[] starts = t.yearStarts;
+        int first = starts[0];
+        int last = starts[starts.length - 1];
+        int index = 0;
+        for (int i = from; i < to; i++) {
+            long value = millis[i];
+            long epochDay = value / PersianCalendarConstants.MILLIS_OF_A_DAY;
+            if (value % PersianCalendarConstants.MILLIS_OF_A_DAY < 0) epochDay--;
+            if (epochDay < first || epochDay >= last) {
+                packedOut[i] = (int) epochDayToPersian(epochDay);
+                continue;
+            }
+            // neighbouring values tend to share a year, so try the previous one first
+            if (epochDay < starts[index] || epochDay >= starts[index + 1]) {
+                index = (int) ((epochDay - first) * 33 / 12053);
+                if (index > starts.length - 2) index = starts.length - 2;
+                while (starts[index] > epochDay) index--;
+                while (starts[index + 1] <= epochDay) index++;
+            }
+            int dayOfYear = (int) (epochDay - starts[index]);
+            int month = dayOfYear < 186 ? dayOfYear / 31 : (dayOfYear - 186) / 30 + 6;
+            int day = dayOfYear - (month < 7 ? 31 * month : 30 * month + 6) + 1;
+            packedOut[i] = ((t.minYear + index) << 16) | (month << 8) | day;
+        }
+    }
+
+    /**
+     * Converts packed persian dates in packed[from, to) to millis at midnight UTC,
+     * see {@link PersianCalendarUtils#convert(int[], long[])}
+     */
+    static void persianToMillis(int[] packed, long[] millisOut, int from, int to) {
+        Table t = getTable();
+        int[] starts = t.yearStarts;
+        int minYear = t.minYear;
+        int maxYear = t.maxYear;
+        for (int i = from; i < to; i++) {
+            int date = packed[i];
+            int year = date >> 16;
+            int month = (date >> 8) & 0xff;
+            int day = date & 0xff;
+            long epochDay = year >= minYear && year <= maxYear
+                    ? starts[year - minYear] + (month < 7 ? 31 * month : 30 * month + 6) + day - 1
+                    : persianToEpochDay(year, month, day);
+            millisOut[i] = epochDay * PersianCalendarConstants.MILLIS_OF_A_DAY;
+        }
+    }
+
+    private static Table getTable() {
+        Table t = table;
+        if (t == null) {
+            synchronized (PersianYearTable.class) {
+                t = table;
+                if (t == null) {
+                    t = new Table(DEFAULT_MIN_YEAR, DEFAULT_MAX_YEAR);
+                    table = t;
+                }
+            }
+        }
+        return t;
+    }
+
+    private static final class Table {
+        final int minYear;
+        final int maxYear;
+        // yearStarts[i] is the epoch day of 1 Farvardin minYear + i, the last entry closes maxYear
+        final int[] yearStarts;
+
+        Table(int minYear, int maxYear) {
+            this.minYear = minYear;
+            this.maxYear = maxYear;
+            yearStarts = new int[maxYear - minYear + 2];
+            yearStarts[0] = (int) (PersianCalendarUtils.persianToJulian(minYear, 0, 1)
+                    - PersianCalendarConstants.JULIAN_DAY_OF_EPOCH);
+            for (int i = 1; i < yearStarts.length; i++) {
+                int year = minYear + i - 1;
+                yearStarts[i] = yearStarts[i - 1] + (PersianCalendarUtils.isPersianLeapYear(year) ? 366 : 365);
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import android.support.annotation.NonNull;
+
+import com.wdullaer.materialdatetimepicker.util.PersianDate;
+import com.wdullaer.materialdatetimepicker.util.PersianDateRange;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncDateRangeLimiterTest {
+
+    /**
+     * Holds submitted tasks until the test runs them
+     */
+    private static class QueueExecutor implements Executor {
+        final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(@NonNull Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) tasks.remove(0).run();
+        }
+    }
+
+    private static final Executor DIRECT = new Executor() {
+        @Override
+        public void execute(@NonNull Runnable command) {
+            command.run();
+        }
+    };
+
+    private QueueExecutor mExecutor;
+    private DefaultDateRangeLimiter mDelegate;
+    private AsyncDateRangeLimiter mLimiter;
+    private List<String> mLoaded;
+
+    @Before
+    public void setUp() {
+        mExecutor = new QueueExecutor();
+        mDelegate = new DefaultDateRangeLimiter();
+        mDelegate.setDisabledDays(new PersianDate[]{PersianDate.of(1403, 4, 10)});
+        mLimiter = new AsyncDateRangeLimiter(mDelegate, mExecutor, DIRECT, 12);
+        mLoaded = new ArrayList<>();
+        mLimiter.setOnMonthLoadedListener(new AsyncDateRangeLimiter.OnMonthLoadedListener() {
+            @Override
+            public void onMonthLoaded(int year, int month) {
+                mLoaded.add(year + "/" + month);
+            }
+        });
+    }
+
+    @Test
+    public void monthsShouldReportLoadingUntilTheBackgroundLookupFinishes() {
+        Assert.assertEquals(AsyncDateRangeLimiter.LOADING_MASK, mLimiter.getOutOfRangeMask(1403, 4));
+        Assert.assertEquals(AsyncDateRangeLimiter.LOADING_MASK, mLimiter.getOutOfRangeMask(1403, 4));
+        Assert.assertTrue(mLimiter.isOutOfRange(1403, 4, 1));
+        Assert.assertEquals(1, mExecutor.tasks.size());
+
+        mExecutor.runAll();
+        Assert.assertEquals(1, mLoaded.size());
+        Assert.assertEquals("1403/4", mLoaded.get(0));
+        Assert.assertTrue(mLimiter.isLoaded(1403, 4));
+        Assert.assertEquals(1 << 9, mLimiter.getOutOfRangeMask(1403, 4));
+        Assert.assertFalse(mLimiter.isOutOfRange(1403, 4, 1));
+        Assert.assertTrue(mLimiter.isOutOfRange(1403, 4, 10));
+    }
+
+    @Test
+    public void prefetchShouldLoadAheadInTheScrollDirection() {
+        mLimiter.prefetch(1403, 11, 1);
+        mExecutor.runAll();
+        Assert.assertEquals("1403/11", mLoaded.get(0));
+        Assert.assertEquals("1404/0", mLoaded.get(1));
+        Assert.assertTrue(mLimiter.isLoaded(1404, 1));
+        Assert.assertTrue(mLimiter.isLoaded(1403, 10));
+        Assert.assertFalse(mLimiter.isLoaded(1403, 9));
+        Assert.assertFalse(mLimiter.isLoaded(1404, 2));
+    }
+
+    @Test
+    public void aFullyDisabledMonthShouldNotLookLikeALoadingOne() {
+        mDelegate.setDisabledRanges(new PersianDateRange[]{PersianDateRange.ofMonth(1403, 0)});
+        Assert.assertEquals(AsyncDateRangeLimiter.LOADING_MASK, mLimiter.getOutOfRangeMask(1403, 0));
+        mExecutor.runAll();
+        Assert.assertTrue(mLimiter.isLoaded(1403, 0));
+        Assert.assertEquals((1 << 31) - 1, mLimiter.getOutOfRangeMask(1403, 0));
+        Assert.assertNotEquals(AsyncDateRangeLimiter.LOADING_MASK, mLimiter.getOutOfRangeMask(1403, 0));
+    }
+
+    @Test
+    public void delegateMasksShouldBeCutToTheMonth() {
+        // answers "whole month out" with every bit set, past the end of the month as well
+        DefaultDateRangeLimiter delegate = new DefaultDateRangeLimiter() {
+            @Override
+            public int getOutOfRangeMask(int year, int month) {
+                return -1;
+            }
+        };
+        AsyncDateRangeLimiter limiter = new AsyncDateRangeLimiter(delegate, mExecutor, DIRECT, 12);
+        Assert.assertEquals(AsyncDateRangeLimiter.LOADING_MASK, limiter.getOutOfRangeMask(1403, 0));
+        mExecutor.runAll();
+        Assert.assertTrue(limiter.isLoaded(1403, 0));
+        Assert.assertEquals((1 << 31) - 1, limiter.getOutOfRangeMask(1403, 0));
+        limiter.getOutOfRangeMask(1403, 7);
+        mExecutor.runAll();
+        Assert.assertEquals((1 << 30) - 1, limiter.getOutOfRangeMask(1403, 7));
+        Assert.assertTrue(limiter.isOutOfRange(1403, 7, 30));
+    }
+
+    @Test
+    public void prefetchShouldCancelMonthsThatWereScrolledPast() {
+        mLimiter.prefetch(1400, 0, 1);
+        mLimiter.prefetch(1401, 0, 1);
+        mExecutor.runAll();
+        Assert.assertFalse(mLimiter.isLoaded(1400, 0));
+        Assert.assertFalse(mLimiter.isLoaded(1400, 2));
+        Assert.assertTrue(mLimiter.isLoaded(1401, 0));
+        Assert.assertTrue(mLimiter.isLoaded(1401, 2));
+        Assert.assertEquals(4, mLoaded.size());
+    }
+
+    @Test
+    public void invalidateShouldDropLoadedAndPendingMonths() {
+        mLimiter.getOutOfRangeMask(1403, 4);
+        mExecutor.runAll();
+        mLimiter.getOutOfRangeMask(1403, 5);
+        mLimiter.invalidateAll();
+        mExecutor.runAll();
+        Assert.assertFalse(mLimiter.isLoaded(1403, 4));
+        Assert.assertFalse(mLimiter.isLoaded(1403, 5));
+        Assert.assertEquals(1, mLoaded.size());
+    }
+
+    @Test
+    public void monthsBeforeYearOneShouldRoundTrip() {
+        mLimiter.getOutOfRangeMask(-1, 11);
+        mLimiter.getOutOfRangeMask(1, 0);
+        mExecutor.runAll();
+        Assert.assertEquals("-1/11", mLoaded.get(0));
+        Assert.assertEquals("1/0", mLoaded.get(1));
+    }
+
+    @Test
+    public void rejectedLoadsShouldReportLoadingAndBeRetried() {
+        final boolean[] reject = {true};
+        AsyncDateRangeLimiter limiter = new AsyncDateRangeLimiter(mDelegate, new Executor() {
+            @Override
+            public void execute(@NonNull Runnable command) {
+                if (reject[0]) throw new RejectedExecutionException("full");
+                mExecutor.execute(command);
+            }
+        }, DIRECT, 12);
+
+        Assert.assertEquals(AsyncDateRangeLimiter.LOADING_MASK, limiter.getOutOfRangeMask(1403, 4));
+        limiter.prefetch(1403, 4, 1);
+        Assert.assertFalse(limiter.isLoaded(1403, 4));
+
+        // nothing was left pending, so the month loads once the executor accepts it again
+        reject[0] = false;
+        limiter.getOutOfRangeMask(1403, 4);
+        mExecutor.runAll();
+        Assert.assertTrue(limiter.isLoaded(1403, 4));
+        Assert.assertEquals(mDelegate.getOutOfRangeMask(1403, 4), limiter.getOutOfRangeMask(1403, 4));
+    }
+
+    @Test
+    public void directExecutorsShouldLoadRightAway() {
+        AsyncDateRangeLimiter limiter = new AsyncDateRangeLimiter(mDelegate, DIRECT, DIRECT, 12);
+        limiter.getOutOfRangeMask(1403, 4);
+        Assert.assertTrue(limiter.isLoaded(1403, 4));
+        Assert.assertEquals(mDelegate.getOutOfRangeMask(1403, 4), limiter.getOutOfRangeMask(1403, 4));
+    }
+
+    @Test
+    public void cancelledLoadsShouldLeaveTheThreadPoolQueue() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(4));
+        try {
+            // keep the only thread busy so the loads stay queued
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            AsyncDateRangeLimiter limiter = new AsyncDateRangeLimiter(mDelegate, executor, DIRECT, 12);
+            // flinging over many months cancels the loads of the months scrolled past
+            for (int month = 0; month < 12; month++) {
+                limiter.prefetch(1403, month, 1);
+                Assert.assertTrue(executor.getQueue().size() <= 4);
+            }
+            limiter.cancelPending();
+            Assert.assertEquals(0, executor.getQueue().size());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+}
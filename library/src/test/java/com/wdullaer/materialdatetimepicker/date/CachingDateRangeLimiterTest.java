@@ -0,0 +1,122 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import android.os.Parcel;
+import android.support.annotation.NonNull;
+
+import com.wdullaer.materialdatetimepicker.util.PersianCalendar;
+import com.wdullaer.materialdatetimepicker.util.PersianDate;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class CachingDateRangeLimiterTest {
+
+    /**
+     * Disables the days in a set and counts how often it is asked
+     */
+    private static class CountingLimiter implements DateRangeLimiter {
+        final Set<PersianDate> disabled = new HashSet<>();
+        int calls;
+
+        @Override
+        public int getMinYear() {
+            return 1300;
+        }
+
+        @Override
+        public int getMaxYear() {
+            return 1500;
+        }
+
+        @Override
+        public @NonNull PersianCalendar getStartDate() {
+            return PersianDate.of(1300, 0, 1).toCalendar();
+        }
+
+        @Override
+        public @NonNull PersianCalendar getEndDate() {
+            return PersianDate.of(1500, 11, 29).toCalendar();
+        }
+
+        @Override
+        public boolean isOutOfRange(int year, int month, int day) {
+            calls++;
+            return disabled.contains(PersianDate.of(year, month, day));
+        }
+
+        @Override
+        public @NonNull PersianCalendar setToNearestDate(@NonNull PersianCalendar day) {
+            return day;
+        }
+
+        @Override
+        public int describeContents() {
+            return 0;
+        }
+
+        @Override
+        public void writeToParcel(Parcel dest, int flags) {
+        }
+    }
+
+    @Test
+    public void isOutOfRangeShouldAskTheDelegateOncePerMonth() {
+        CountingLimiter delegate = new CountingLimiter();
+        delegate.disabled.add(PersianDate.of(1399, 11, 30));
+        delegate.disabled.add(PersianDate.of(1399, 11, 1));
+        CachingDateRangeLimiter limiter = new CachingDateRangeLimiter(delegate);
+
+        for (int redraw = 0; redraw < 5; redraw++) {
+            for (int day = 1; day <= 30; day++) {
+                Assert.assertEquals(day == 1 || day == 30, limiter.isOutOfRange(1399, 11, day));
+            }
+        }
+        Assert.assertEquals(30, delegate.calls);
+        Assert.assertEquals(1 | 1 << 29, limiter.getOutOfRangeMask(1399, 11));
+        Assert.assertEquals(30, delegate.calls);
+    }
+
+    @Test
+    public void invalidateShouldDropOneMonth() {
+        CountingLimiter delegate = new CountingLimiter();
+        CachingDateRangeLimiter limiter = new CachingDateRangeLimiter(delegate);
+        Assert.assertFalse(limiter.isOutOfRange(1403, 0, 5));
+        Assert.assertFalse(limiter.isOutOfRange(1403, 1, 5));
+
+        delegate.disabled.add(PersianDate.of(1403, 0, 5));
+        delegate.disabled.add(PersianDate.of(1403, 1, 5));
+        Assert.assertFalse(limiter.isOutOfRange(1403, 0, 5));
+        limiter.invalidate(1403, 0);
+        Assert.assertTrue(limiter.isOutOfRange(1403, 0, 5));
+        Assert.assertFalse(limiter.isOutOfRange(1403, 1, 5));
+        limiter.invalidateAll();
+        Assert.assertTrue(limiter.isOutOfRange(1403, 1, 5));
+    }
+
+    @Test
+    public void cacheShouldEvictTheLeastRecentlyUsedMonth() {
+        CountingLimiter delegate = new CountingLimiter();
+        CachingDateRangeLimiter limiter = new CachingDateRangeLimiter(delegate, 2);
+        limiter.getOutOfRangeMask(1403, 0);
+        limiter.getOutOfRangeMask(1403, 1);
+        limiter.getOutOfRangeMask(1403, 0);
+        limiter.getOutOfRangeMask(1403, 2);
+        int calls = delegate.calls;
+        limiter.getOutOfRangeMask(1403, 0);
+        Assert.assertEquals(calls, delegate.calls);
+        limiter.getOutOfRangeMask(1403, 1);
+        Assert.assertEquals(calls + 31, delegate.calls);
+    }
+
+    @Test
+    public void monthMaskDelegatesShouldBeAskedForTheWholeMonth() {
+        DefaultDateRangeLimiter delegate = new DefaultDateRangeLimiter();
+        delegate.setDisabledRule(DateRule.daysOfMonth(-1));
+        CachingDateRangeLimiter limiter = new CachingDateRangeLimiter(delegate);
+        Assert.assertEquals(delegate.getOutOfRangeMask(1402, 11), limiter.getOutOfRangeMask(1402, 11));
+        Assert.assertTrue(limiter.isOutOfRange(1402, 11, 29));
+    }
+}
@@ -0,0 +1,140 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import com.wdullaer.materialdatetimepicker.util.PersianDate;
+import com.wdullaer.materialdatetimepicker.util.PersianDateRange;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class DateConstraintsTest {
+
+    private static DateConstraints holidays() {
+        return new DateConstraints.Builder()
+                .setYearRange(1390, 1410)
+                .setDisabledDays(PersianDate.of(1400, 0, 1), PersianDate.of(1400, 0, 2))
+                .setDisabledRanges(PersianDateRange.closed(PersianDate.of(1400, 6, 10), PersianDate.of(1400, 6, 20)))
+                .setDisabledRule(DateRule.weekdays(Calendar.FRIDAY))
+                .setHighlightedDays(PersianDate.of(1400, 0, 1), PersianDate.of(1400, 0, 13))
+                .build();
+    }
+
+    private static DefaultDateRangeLimiter equivalentLimiter() {
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        limiter.setYearRange(1390, 1410);
+        limiter.setDisabledDays(new PersianDate[]{PersianDate.of(1400, 0, 1), PersianDate.of(1400, 0, 2)});
+        limiter.setDisabledRanges(new PersianDateRange[]{
+                PersianDateRange.closed(PersianDate.of(1400, 6, 10), PersianDate.of(1400, 6, 20))});
+        limiter.setDisabledRule(DateRule.weekdays(Calendar.FRIDAY));
+        return limiter;
+    }
+
+    @Test
+    public void lookupsShouldMatchAnEquivalentLimiter() {
+        DateConstraints constraints = holidays();
+        DefaultDateRangeLimiter limiter = equivalentLimiter();
+        Assert.assertEquals(limiter.getMinYear(), constraints.getMinYear());
+        Assert.assertEquals(limiter.getMaxYear(), constraints.getMaxYear());
+        for (int year = 1389; year <= 1411; year++) {
+            for (int month = 0; month < 12; month++) {
+                Assert.assertEquals(limiter.getOutOfRangeMask(year, month), constraints.getOutOfRangeMask(year, month));
+            }
+        }
+        PersianDate day = PersianDate.of(1400, 6, 12);
+        Assert.assertEquals(PersianDate.fromCalendar(limiter.setToNearestDate(day.toCalendar())),
+                PersianDate.fromCalendar(constraints.setToNearestDate(day.toCalendar())));
+    }
+
+    @Test
+    public void highlightedDaysShouldBeKept() {
+        DateConstraints constraints = holidays();
+        Assert.assertTrue(constraints.isHighlighted(1400, 0, 1));
+        Assert.assertTrue(constraints.isHighlighted(PersianDate.of(1400, 0, 13)));
+        Assert.assertFalse(constraints.isHighlighted(1400, 0, 2));
+        Assert.assertArrayEquals(new PersianDate[]{PersianDate.of(1400, 0, 1), PersianDate.of(1400, 0, 13)},
+                constraints.getHighlightedDays());
+        Assert.assertNull(new DateConstraints.Builder().build().getHighlightedDays());
+    }
+
+    @Test
+    public void buildUponWithoutChangesShouldReturnTheSameInstance() {
+        DateConstraints constraints = holidays();
+        Assert.assertSame(constraints, constraints.buildUpon().build());
+    }
+
+    @Test
+    public void buildUponShouldNotChangeTheOriginal() {
+        DateConstraints constraints = holidays();
+        DateConstraints derived = constraints.buildUpon()
+                .removeDisabledDay(PersianDate.of(1400, 0, 1))
+                .setDisabledDays(PersianDate.of(1400, 1, 5))
+                .removeHighlightedDay(PersianDate.of(1400, 0, 13))
+                .build();
+
+        Assert.assertNotSame(constraints, derived);
+        Assert.assertTrue(constraints.isOutOfRange(1400, 0, 1));
+        Assert.assertFalse(constraints.isOutOfRange(1400, 1, 5));
+        Assert.assertTrue(constraints.isHighlighted(1400, 0, 13));
+        Assert.assertFalse(derived.isOutOfRange(1400, 0, 1));
+        Assert.assertTrue(derived.isOutOfRange(1400, 1, 5));
+        Assert.assertFalse(derived.isHighlighted(1400, 0, 13));
+        // unchanged parts are shared
+        Assert.assertSame(constraints.getDisabledRule(), derived.getDisabledRule());
+    }
+
+    @Test
+    public void builderChangesAfterBuildShouldNotAffectTheSnapshot() {
+        DateConstraints.Builder builder = new DateConstraints.Builder().setDisabledDays(PersianDate.of(1400, 0, 3));
+        DateConstraints first = builder.build();
+        Assert.assertSame(first, builder.build());
+
+        DateConstraints second = builder.setDisabledDays(PersianDate.of(1400, 0, 4)).build();
+        Assert.assertNotSame(first, second);
+        Assert.assertFalse(first.isOutOfRange(1400, 0, 4));
+        Assert.assertTrue(second.isOutOfRange(1400, 0, 3));
+        Assert.assertTrue(second.isOutOfRange(1400, 0, 4));
+    }
+
+    @Test
+    public void concurrentLookupsShouldAgree() throws Exception {
+        final DateConstraints constraints = holidays();
+        final int[] expected = new int[21 * 12];
+        DefaultDateRangeLimiter limiter = equivalentLimiter();
+        for (int i = 0; i < expected.length; i++) expected[i] = limiter.getOutOfRangeMask(1390 + i / 12, i % 12);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                final int offset = thread * 31;
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        for (int round = 0; round < 50; round++) {
+                            for (int i = 0; i < expected.length; i++) {
+                                int index = (i + offset) % expected.length;
+                                int year = 1390 + index / 12;
+                                int month = index % 12;
+                                if (constraints.getOutOfRangeMask(year, month) != expected[index]) return false;
+                                if (constraints.isHighlighted(year, month, 1) != (year == 1400 && month == 0)) {
+                                    return false;
+                                }
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) Assert.assertTrue(result.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
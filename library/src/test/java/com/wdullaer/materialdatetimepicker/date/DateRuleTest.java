@@ -0,0 +1,130 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import com.wdullaer.materialdatetimepicker.util.PersianDate;
+import com.wdullaer.materialdatetimepicker.util.PersianDateRange;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Calendar;
+
+public class DateRuleTest {
+
+    @Test
+    public void weekdaysShouldMatchTheDayOfWeek() {
+        DateRule rule = DateRule.weekdays(Calendar.FRIDAY, Calendar.THURSDAY);
+        for (PersianDate date : PersianDateRange.ofYear(1399)) {
+            boolean expected = date.getDayOfWeek() == Calendar.FRIDAY || date.getDayOfWeek() == Calendar.THURSDAY;
+            Assert.assertEquals(date.toString(), expected, rule.matches(date));
+        }
+    }
+
+    @Test
+    public void daysOfMonthShouldCountFromBothEnds() {
+        DateRule rule = DateRule.daysOfMonth(1, 15, -1);
+        for (PersianDate date : PersianDateRange.closed(PersianDate.of(1398, 0, 1), PersianDate.of(1400, 11, 29))) {
+            int day = date.getDayOfMonth();
+            boolean expected = day == 1 || day == 15 || day == date.lengthOfMonth();
+            Assert.assertEquals(date.toString(), expected, rule.matches(date));
+        }
+        Assert.assertTrue(rule.matches(1399, 11, 30));
+        Assert.assertFalse(rule.matches(1399, 11, 29));
+        Assert.assertTrue(rule.matches(1400, 11, 29));
+    }
+
+    @Test
+    public void lastBusinessDayOfEsfandShouldMatchOnceAYear() {
+        DateRule rule = DateRule.months(11).and(DateRule.nthWeekday(-1, Calendar.SATURDAY, Calendar.SUNDAY,
+                Calendar.MONDAY, Calendar.TUESDAY, Calendar.WEDNESDAY));
+        for (int year = 1390; year < 1410; year++) {
+            PersianDate expected = PersianDate.of(year, 11, PersianDate.lengthOfMonth(year, 11));
+            while (expected.getDayOfWeek() == Calendar.THURSDAY || expected.getDayOfWeek() == Calendar.FRIDAY) {
+                expected = expected.minusDays(1);
+            }
+            int count = 0;
+            for (PersianDate date : PersianDateRange.ofYear(year)) {
+                if (rule.matches(date)) {
+                    Assert.assertEquals(expected, date);
+                    count++;
+                }
+            }
+            Assert.assertEquals(1, count);
+        }
+    }
+
+    @Test
+    public void nthWeekdayShouldCountFromTheStart() {
+        DateRule rule = DateRule.nthWeekday(2, Calendar.SATURDAY);
+        PersianDate date = PersianDate.of(1403, 6, 1);
+        while (date.getDayOfWeek() != Calendar.SATURDAY) date = date.plusDays(1);
+        Assert.assertEquals(1 << (date.getDayOfMonth() + 7 - 1), rule.getMonthMask(1403, 6));
+    }
+
+    @Test
+    public void combinationsShouldFollowSetLogic() {
+        DateRule fridays = DateRule.weekdays(Calendar.FRIDAY);
+        DateRule first = DateRule.daysOfMonth(1);
+        DateRule either = fridays.or(first);
+        DateRule neither = either.negate();
+        for (PersianDate date : PersianDateRange.ofYear(1402)) {
+            boolean expected = date.getDayOfWeek() == Calendar.FRIDAY || date.getDayOfMonth() == 1;
+            Assert.assertEquals(expected, either.matches(date));
+            Assert.assertEquals(!expected, neither.matches(date));
+        }
+    }
+
+    @Test
+    public void memoizedMasksShouldSurviveCollisions() {
+        DateRule rule = DateRule.weekdays(Calendar.MONDAY);
+        // months 64 apart share a memo slot
+        int mask = rule.getMonthMask(1400, 0);
+        int other = rule.getMonthMask(1405, 4);
+        Assert.assertEquals(mask, rule.getMonthMask(1400, 0));
+        Assert.assertEquals(other, rule.getMonthMask(1405, 4));
+        Assert.assertEquals(DateRule.weekdays(Calendar.MONDAY).getMonthMask(-5, 3), rule.getMonthMask(-5, 3));
+    }
+
+    @Test
+    public void nextAndPreviousMatchShouldMatchAScan() {
+        DateRule rule = DateRule.months(2).and(DateRule.daysOfMonth(10));
+        long first = PersianDate.of(1398, 0, 1).toEpochDay();
+        long last = PersianDate.of(1401, 0, 1).toEpochDay();
+        for (long day = first - 40; day < last + 40; day += 13) {
+            long next = Long.MAX_VALUE;
+            for (long d = Math.max(day, first); d <= last; d++) {
+                if (rule.matches(PersianDate.ofEpochDay(d))) { next = d; break; }
+            }
+            Assert.assertEquals(next, rule.nextMatch(Math.max(day, first), last));
+            long previous = Long.MIN_VALUE;
+            for (long d = Math.min(day, last); d >= first; d--) {
+                if (rule.matches(PersianDate.ofEpochDay(d))) { previous = d; break; }
+            }
+            Assert.assertEquals(previous, rule.previousMatch(Math.min(day, last), first));
+        }
+    }
+
+    @Test
+    public void nextAndPreviousMismatchShouldMatchAScan() {
+        // matches everything except the 10th of Khordad, so mismatches can be a year apart
+        DateRule rule = DateRule.months(2).and(DateRule.daysOfMonth(10)).negate();
+        long first = PersianDate.of(1398, 0, 1).toEpochDay();
+        long last = PersianDate.of(1401, 0, 1).toEpochDay();
+        for (long day = first - 40; day < last + 40; day += 13) {
+            long next = Long.MAX_VALUE;
+            for (long d = Math.max(day, first); d <= last; d++) {
+                if (!rule.matches(PersianDate.ofEpochDay(d))) { next = d; break; }
+            }
+            Assert.assertEquals(next, rule.nextMismatch(Math.max(day, first), last));
+            long previous = Long.MIN_VALUE;
+            for (long d = Math.min(day, last); d >= first; d--) {
+                if (!rule.matches(PersianDate.ofEpochDay(d))) { previous = d; break; }
+            }
+            Assert.assertEquals(previous, rule.previousMismatch(Math.min(day, last), first));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void weekdaysShouldRejectInvalidDays() {
+        DateRule.weekdays(0);
+    }
+}
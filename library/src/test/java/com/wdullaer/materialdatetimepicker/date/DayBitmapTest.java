@@ -0,0 +1,107 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class DayBitmapTest {
+
+    @Test
+    public void getShouldBeFalseOutsideOfTheWindow() {
+        DayBitmap bitmap = new DayBitmap(-10, 100);
+        bitmap.set(-100, 1000);
+        Assert.assertFalse(bitmap.get(-11));
+        Assert.assertTrue(bitmap.get(-10));
+        Assert.assertTrue(bitmap.get(99));
+        Assert.assertFalse(bitmap.get(100));
+        Assert.assertEquals(110, bitmap.cardinality());
+    }
+
+    @Test
+    public void setRangeShouldMatchSettingSingleDays() {
+        for (int from = 0; from < 140; from += 3) {
+            for (int to = from; to < 200; to += 5) {
+                DayBitmap range = new DayBitmap(1000, 1190);
+                DayBitmap single = new DayBitmap(1000, 1190);
+                range.set(1000 + from, 1000 + to);
+                for (int day = from; day < to; day++) single.set(1000 + day);
+                for (int day = 990; day < 1200; day++) {
+                    Assert.assertEquals(from + "-" + to + " " + day, single.get(day), range.get(day));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void clearRangeShouldMatchClearingSingleDays() {
+        for (int from = 0; from < 140; from += 7) {
+            for (int to = from; to < 200; to += 11) {
+                DayBitmap range = new DayBitmap(0, 190);
+                DayBitmap single = new DayBitmap(0, 190);
+                range.set(0, 190);
+                single.set(0, 190);
+                range.clear(from, to);
+                for (int day = from; day < to; day++) single.clear(day);
+                for (int day = 0; day < 190; day++) {
+                    Assert.assertEquals(from + "-" + to + " " + day, single.get(day), range.get(day));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void clearShouldOnlyClearOneDay() {
+        DayBitmap bitmap = new DayBitmap(0, 128);
+        bitmap.set(0, 128);
+        bitmap.clear(63);
+        bitmap.clear(64);
+        bitmap.clear(500);
+        Assert.assertTrue(bitmap.get(62));
+        Assert.assertFalse(bitmap.get(63));
+        Assert.assertFalse(bitmap.get(64));
+        Assert.assertTrue(bitmap.get(65));
+        Assert.assertEquals(126, bitmap.cardinality());
+    }
+
+    @Test
+    public void getBitsShouldMatchSingleDays() {
+        Random random = new Random(3);
+        DayBitmap bitmap = new DayBitmap(100, 400);
+        for (int i = 0; i < 150; i++) bitmap.set(100 + random.nextInt(300));
+        for (int from = 60; from < 420; from++) {
+            for (int count = 1; count <= 32; count += 7) {
+                int expected = 0;
+                for (int i = 0; i < count; i++) if (bitmap.get(from + i)) expected |= 1 << i;
+                Assert.assertEquals(from + "+" + count, expected, bitmap.get(from, count));
+            }
+        }
+    }
+
+    @Test
+    public void nextAndPreviousSetDayShouldMatchAScan() {
+        Random random = new Random(15);
+        DayBitmap bitmap = new DayBitmap(-300, 500);
+        for (int i = 0; i < 40; i++) bitmap.set(-300 + random.nextInt(800));
+        bitmap.set(499);
+        for (long day = -400; day < 600; day++) {
+            long next = Long.MAX_VALUE;
+            for (long d = day; d < 500; d++) if (bitmap.get(d)) { next = d; break; }
+            Assert.assertEquals(String.valueOf(day), next, bitmap.nextSetDay(day));
+            long previous = Long.MIN_VALUE;
+            for (long d = day; d >= -300; d--) if (bitmap.get(d)) { previous = d; break; }
+            Assert.assertEquals(String.valueOf(day), previous, bitmap.previousSetDay(day));
+        }
+        DayBitmap empty = new DayBitmap(0, 200);
+        Assert.assertEquals(Long.MAX_VALUE, empty.nextSetDay(0));
+        Assert.assertEquals(Long.MIN_VALUE, empty.previousSetDay(199));
+    }
+
+    @Test
+    public void emptyWindowShouldHoldNothing() {
+        DayBitmap bitmap = new DayBitmap(50, 40);
+        bitmap.set(0, 100);
+        Assert.assertFalse(bitmap.get(45));
+        Assert.assertEquals(0, bitmap.cardinality());
+    }
+}
@@ -0,0 +1,111 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class DayIntervalsTest {
+
+    @Test
+    public void addShouldMergeOverlappingAndAdjacentIntervals() {
+        DayIntervals intervals = new DayIntervals();
+        intervals.add(10, 20);
+        intervals.add(30, 40);
+        intervals.add(20, 25);
+        intervals.add(50, 50);
+        Assert.assertEquals(2, intervals.size());
+        Assert.assertEquals(10, intervals.getStart(0));
+        Assert.assertEquals(25, intervals.getEnd(0));
+
+        intervals.add(0, 5);
+        intervals.add(22, 35);
+        Assert.assertEquals(2, intervals.size());
+        Assert.assertEquals(0, intervals.first());
+        Assert.assertEquals(10, intervals.getStart(1));
+        Assert.assertEquals(40, intervals.getEnd(1));
+        Assert.assertEquals(39, intervals.last());
+    }
+
+    @Test
+    public void queriesShouldMatchABruteForceSet() {
+        Random random = new Random(5);
+        DayIntervals intervals = new DayIntervals();
+        boolean[] days = new boolean[2000];
+        for (int i = 0; i < 150; i++) {
+            int start = random.nextInt(1950);
+            int end = start + random.nextInt(20);
+            intervals.add(start, end);
+            for (int day = start; day < end; day++) days[day] = true;
+        }
+        for (int i = 1; i < intervals.size(); i++) {
+            Assert.assertTrue(intervals.getEnd(i - 1) < intervals.getStart(i));
+        }
+        for (int day = -5; day < 2005; day++) {
+            Assert.assertEquals(String.valueOf(day), isSet(days, day), intervals.contains(day));
+
+            long ceiling = Long.MAX_VALUE;
+            for (int d = Math.max(day, 0); d < days.length; d++) if (days[d]) { ceiling = d; break; }
+            Assert.assertEquals(ceiling, intervals.ceiling(day));
+
+            long floor = Long.MIN_VALUE;
+            for (int d = Math.min(day, days.length - 1); d >= 0; d--) if (days[d]) { floor = d; break; }
+            Assert.assertEquals(floor, intervals.floor(day));
+
+            long next = day;
+            while (isSet(days, (int) next)) next++;
+            Assert.assertEquals(next, intervals.nextOutside(day));
+
+            long previous = day;
+            while (isSet(days, (int) previous)) previous--;
+            Assert.assertEquals(previous, intervals.previousOutside(day));
+        }
+    }
+
+    @Test
+    public void removeShouldMatchABruteForceSet() {
+        Random random = new Random(19);
+        DayIntervals intervals = new DayIntervals();
+        boolean[] days = new boolean[1020];
+        for (int i = 0; i < 400; i++) {
+            int start = random.nextInt(990);
+            int end = start + random.nextInt(30);
+            boolean add = random.nextInt(3) > 0;
+            if (add) intervals.add(start, end);
+            else intervals.remove(start, end);
+            for (int day = start; day < end; day++) days[day] = add;
+            for (int j = 1; j < intervals.size(); j++) {
+                Assert.assertTrue(intervals.getEnd(j - 1) < intervals.getStart(j));
+            }
+            for (int day = -2; day < 1030; day++) {
+                Assert.assertEquals(i + " " + day, isSet(days, day), intervals.contains(day));
+            }
+        }
+    }
+
+    @Test
+    public void removeShouldSplitAnInterval() {
+        DayIntervals intervals = new DayIntervals();
+        intervals.add(0, 100);
+        intervals.remove(40, 60);
+        Assert.assertEquals(2, intervals.size());
+        Assert.assertEquals(40, intervals.getEnd(0));
+        Assert.assertEquals(60, intervals.getStart(1));
+        intervals.remove(-10, 200);
+        Assert.assertTrue(intervals.isEmpty());
+    }
+
+    @Test
+    public void emptyIntervalsShouldHoldNothing() {
+        DayIntervals intervals = new DayIntervals();
+        Assert.assertTrue(intervals.isEmpty());
+        Assert.assertFalse(intervals.contains(0));
+        Assert.assertEquals(Long.MAX_VALUE, intervals.ceiling(0));
+        Assert.assertEquals(Long.MIN_VALUE, intervals.floor(0));
+        Assert.assertEquals(7, intervals.nextOutside(7));
+    }
+
+    private static boolean isSet(boolean[] days, int day) {
+        return day >= 0 && day < days.length && days[day];
+    }
+}
@@ -0,0 +1,97 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import com.wdullaer.materialdatetimepicker.util.PersianDate;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+public class DayRunCodecTest {
+
+    private static HashSet<PersianDate> randomDays(int count, int spread, long seed) {
+        Random random = new Random(seed);
+        PersianDate first = PersianDate.of(1300, 0, 1);
+        HashSet<PersianDate> days = new HashSet<>();
+        while (days.size() < count) days.add(first.plusDays(random.nextInt(spread)));
+        return days;
+    }
+
+    @Test
+    public void daysShouldRoundTrip() {
+        HashSet<PersianDate> days = randomDays(3000, 200 * 365, 1);
+        days.add(PersianDate.ofEpochDay(-800000));
+        days.add(PersianDate.ofEpochDay(900000));
+        TreeSet<PersianDate> decoded = new TreeSet<>();
+        DayRunCodec.decodeDays(DayRunCodec.encode(days), decoded);
+        Assert.assertEquals(new TreeSet<>(days), decoded);
+    }
+
+    @Test
+    public void intervalsShouldRoundTrip() {
+        DayIntervals intervals = new DayIntervals();
+        intervals.add(-100, -50);
+        intervals.add(0, 1);
+        intervals.add(5, 400);
+        intervals.add(Integer.MAX_VALUE, Integer.MAX_VALUE + 10L);
+        DayIntervals decoded = DayRunCodec.decodeIntervals(DayRunCodec.encode(intervals));
+        Assert.assertEquals(intervals.size(), decoded.size());
+        for (int i = 0; i < intervals.size(); i++) {
+            Assert.assertEquals(intervals.getStart(i), decoded.getStart(i));
+            Assert.assertEquals(intervals.getEnd(i), decoded.getEnd(i));
+        }
+    }
+
+    @Test
+    public void emptySetShouldTakeOneByte() {
+        byte[] data = DayRunCodec.encode(new HashSet<PersianDate>());
+        Assert.assertEquals(1, data.length);
+        Assert.assertTrue(DayRunCodec.decodeIntervals(data).isEmpty());
+    }
+
+    @Test
+    public void consecutiveDaysShouldCollapseIntoOneRun() {
+        List<PersianDate> days = new ArrayList<>();
+        PersianDate first = PersianDate.of(1400, 0, 1);
+        for (int i = 0; i < 10000; i++) days.add(first.plusDays(i));
+        Assert.assertTrue(DayRunCodec.encode(days).length <= 8);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void truncatedDataShouldBeRejected() {
+        HashSet<PersianDate> days = randomDays(10, 1000, 2);
+        byte[] data = DayRunCodec.encode(days);
+        DayRunCodec.decodeIntervals(Arrays.copyOf(data, data.length - 1));
+    }
+
+    @Test
+    public void tenThousandDaysShouldFitInThirtyKilobytes() throws IOException {
+        HashSet<PersianDate> days = randomDays(10000, 200 * 365, 3);
+
+        long start = System.nanoTime();
+        byte[] data = DayRunCodec.encode(days);
+        long encode = System.nanoTime() - start;
+        start = System.nanoTime();
+        HashSet<PersianDate> decoded = new HashSet<>();
+        DayRunCodec.decodeDays(data, decoded);
+        long decode = System.nanoTime() - start;
+
+        Assert.assertEquals(days, decoded);
+        Assert.assertTrue("encoded size " + data.length, data.length <= 30000);
+
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        ObjectOutputStream stream = new ObjectOutputStream(serialized);
+        stream.writeObject(days);
+        stream.close();
+        System.out.println("10000 days: " + data.length + " bytes as day runs (encode " + encode / 1000
+                + "us, decode " + decode / 1000 + "us), " + serialized.size() + " bytes serialized");
+    }
+}
@@ -0,0 +1,392 @@
+package com.wdullaer.materialdatetimepicker.date;
+
+import com.wdullaer.materialdatetimepicker.util.PersianCalendar;
+import com.wdullaer.materialdatetimepicker.util.PersianDate;
+import com.wdullaer.materialdatetimepicker.util.PersianDateRange;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Tests for the PersianDate based rules of DefaultDateRangeLimiter.
+ * DefaultDateRangeLimiterTest still targets the upstream java.util.Calendar API.
+ */
+public class DefaultDateRangeLimiterPersianTest {
+
+    private static PersianDate[] randomDays(Random random, int count, PersianDate from, int spread) {
+        PersianDate[] days = new PersianDate[count];
+        for (int i = 0; i < count; i++) days[i] = from.plusDays(random.nextInt(spread));
+        return days;
+    }
+
+    private static void assertMatchesRules(DefaultDateRangeLimiter limiter, int minYear, int maxYear,
+                                           PersianDate min, PersianDate max,
+                                           Set<PersianDate> selectable, Set<PersianDate> disabled) {
+        for (int year = minYear - 1; year <= maxYear + 1; year++) {
+            for (int month = 0; month < 12; month++) {
+                for (int day = 1; day <= PersianDate.lengthOfMonth(year, month); day++) {
+                    PersianDate date = PersianDate.of(year, month, day);
+                    boolean expected = year < minYear || year > maxYear
+                            || (min != null && date.isBefore(min)) || (max != null && date.isAfter(max))
+                            || (!selectable.isEmpty() && !selectable.contains(date))
+                            || disabled.contains(date);
+                    Assert.assertEquals(date.toString(), expected, limiter.isOutOfRange(year, month, day));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void isOutOfRangeShouldApplyYearRangeAndMinMax() {
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        limiter.setYearRange(1395, 1405);
+        PersianDate min = PersianDate.of(1396, 4, 12);
+        PersianDate max = PersianDate.of(1404, 11, 3);
+        limiter.setMinDate(min);
+        limiter.setMaxDate(max);
+        assertMatchesRules(limiter, 1395, 1405, min, max,
+                new HashSet<PersianDate>(), new HashSet<PersianDate>());
+    }
+
+    @Test
+    public void isOutOfRangeShouldApplyDisabledDays() {
+        Random random = new Random(11);
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        limiter.setYearRange(1390, 1410);
+        PersianDate[] disabled = randomDays(random, 8000, PersianDate.of(1390, 0, 1), 20 * 365);
+        limiter.setDisabledDays(disabled);
+        Set<PersianDate> disabledSet = new HashSet<>();
+        for (PersianDate day : disabled) disabledSet.add(day);
+        assertMatchesRules(limiter, 1390, 1410, null, null, new HashSet<PersianDate>(), disabledSet);
+    }
+
+    @Test
+    public void isOutOfRangeShouldApplySelectableDaysWithinMinMax() {
+        Random random = new Random(12);
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        limiter.setYearRange(1398, 1402);
+        PersianDate[] selectable = randomDays(random, 300, PersianDate.of(1397, 0, 1), 6 * 365);
+        PersianDate[] disabled = randomDays(random, 100, PersianDate.of(1397, 0, 1), 6 * 365);
+        PersianDate min = PersianDate.of(1399, 1, 1);
+        limiter.setSelectableDays(selectable);
+        limiter.setDisabledDays(disabled);
+        limiter.setMinDate(min);
+        Set<PersianDate> selectableSet = new TreeSet<>();
+        Set<PersianDate> disabledSet = new HashSet<>();
+        for (PersianDate day : selectable) selectableSet.add(day);
+        for (PersianDate day : disabled) disabledSet.add(day);
+        assertMatchesRules(limiter, 1398, 1402, min, null, selectableSet, disabledSet);
+    }
+
+    @Test
+    public void isOutOfRangeShouldFollowLaterChanges() {
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        Assert.assertFalse(limiter.isOutOfRange(1403, 0, 1));
+        limiter.setDisabledDays(new PersianDate[]{PersianDate.of(1403, 0, 1)});
+        Assert.assertTrue(limiter.isOutOfRange(1403, 0, 1));
+        limiter.setMaxDate(PersianDate.of(1402, 5, 1));
+        Assert.assertTrue(limiter.isOutOfRange(1402, 5, 2));
+        Assert.assertFalse(limiter.isOutOfRange(1402, 5, 1));
+    }
+
+    @Test
+    public void isOutOfRangeShouldApplyRanges() {
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        limiter.setYearRange(1398, 1402);
+        limiter.setSelectableRanges(new PersianDateRange[]{
+                PersianDateRange.ofMonth(1399, 3),
+                PersianDateRange.closed(PersianDate.of(1400, 5, 10), PersianDate.of(1401, 2, 4))
+        });
+        limiter.setSelectableDays(new PersianDate[]{PersianDate.of(1398, 7, 7)});
+        limiter.setDisabledRanges(new PersianDateRange[]{PersianDateRange.ofMonth(1400, 8)});
+        limiter.setDisabledDays(new PersianDate[]{PersianDate.of(1399, 3, 5)});
+
+        Set<PersianDate> selectable = new HashSet<>();
+        for (PersianDate day : PersianDateRange.ofMonth(1399, 3)) selectable.add(day);
+        for (PersianDate day : PersianDateRange.closed(PersianDate.of(1400, 5, 10), PersianDate.of(1401, 2, 4))) {
+            selectable.add(day);
+        }
+        selectable.add(PersianDate.of(1398, 7, 7));
+        Set<PersianDate> disabled = new HashSet<>();
+        for (PersianDate day : PersianDateRange.ofMonth(1400, 8)) disabled.add(day);
+        disabled.add(PersianDate.of(1399, 3, 5));
+
+        assertMatchesRules(limiter, 1398, 1402, null, null, selectable, disabled);
+        Assert.assertEquals(1398, limiter.getMinYear());
+        Assert.assertEquals(1401, limiter.getMaxYear());
+        Assert.assertEquals(2, limiter.getSelectableRanges().length);
+    }
+
+    @Test
+    public void setToNearestDateShouldJumpOverDisabledRanges() {
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        limiter.setDisabledRanges(new PersianDateRange[]{
+                PersianDateRange.closed(PersianDate.of(1403, 0, 1), PersianDate.of(1403, 5, 31))
+        });
+        limiter.setDisabledDays(new PersianDate[]{PersianDate.of(1402, 11, 29)});
+
+        Assert.assertEquals(PersianDate.of(1402, 11, 28), nearest(limiter, PersianDate.of(1403, 0, 10)));
+        Assert.assertEquals(PersianDate.of(1403, 6, 1), nearest(limiter, PersianDate.of(1403, 5, 20)));
+        Assert.assertEquals(PersianDate.of(1403, 6, 2), nearest(limiter, PersianDate.of(1403, 6, 2)));
+    }
+
+    @Test
+    public void setToNearestDateShouldTerminateWhenEverythingIsDisabled() {
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        limiter.setYearRange(1400, 1401);
+        limiter.setDisabledRanges(new PersianDateRange[]{PersianDateRange.ofYear(1400), PersianDateRange.ofYear(1401)});
+        PersianDate date = PersianDate.of(1400, 6, 6);
+        Assert.assertEquals(date, nearest(limiter, date));
+    }
+
+    @Test
+    public void setToNearestDateShouldUseSelectableRanges() {
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        limiter.setSelectableRanges(new PersianDateRange[]{
+                PersianDateRange.ofMonth(1403, 1),
+                PersianDateRange.ofMonth(1403, 9)
+        });
+        Assert.assertEquals(PersianDate.of(1403, 1, 31), nearest(limiter, PersianDate.of(1403, 3, 1)));
+        Assert.assertEquals(PersianDate.of(1403, 9, 1), nearest(limiter, PersianDate.of(1403, 8, 20)));
+        Assert.assertEquals(PersianDate.of(1403, 9, 5), nearest(limiter, PersianDate.of(1403, 9, 5)));
+        Assert.assertEquals(PersianDate.of(1403, 1, 1), nearest(limiter, PersianDate.of(1400, 0, 1)));
+    }
+
+    @Test
+    public void isOutOfRangeShouldApplyRules() {
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        limiter.setYearRange(1398, 1402);
+        limiter.setSelectableRule(DateRule.daysOfMonth(1, 15));
+        limiter.setDisabledRule(DateRule.weekdays(Calendar.FRIDAY));
+        Set<PersianDate> selectable = new HashSet<>();
+        Set<PersianDate> disabled = new HashSet<>();
+        for (PersianDate day : PersianDateRange.closed(PersianDate.of(1397, 0, 1), PersianDate.of(1403, 11, 29))) {
+            if (day.getDayOfMonth() == 1 || day.getDayOfMonth() == 15) selectable.add(day);
+            if (day.getDayOfWeek() == Calendar.FRIDAY) disabled.add(day);
+        }
+        assertMatchesRules(limiter, 1398, 1402, null, null, selectable, disabled);
+        Assert.assertEquals(1398, limiter.getMinYear());
+        Assert.assertEquals(1402, limiter.getMaxYear());
+    }
+
+    @Test
+    public void rulesShouldWorkWithoutABitmap() {
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        limiter.setYearRange(-6000, 9000);
+        limiter.setDisabledRule(DateRule.weekdays(Calendar.FRIDAY));
+        for (PersianDate date : PersianDateRange.ofMonth(8500, 3)) {
+            Assert.assertEquals(date.getDayOfWeek() == Calendar.FRIDAY,
+                    limiter.isOutOfRange(date.getYear(), date.getMonth(), date.getDayOfMonth()));
+        }
+    }
+
+    @Test
+    public void setToNearestDateShouldFollowRules() {
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        limiter.setSelectableRule(DateRule.daysOfMonth(1));
+        Assert.assertEquals(PersianDate.of(1403, 5, 1), nearest(limiter, PersianDate.of(1403, 4, 25)));
+        Assert.assertEquals(PersianDate.of(1403, 4, 1), nearest(limiter, PersianDate.of(1403, 4, 5)));
+
+        limiter = new DefaultDateRangeLimiter();
+        limiter.setDisabledRule(DateRule.weekdays(Calendar.THURSDAY, Calendar.FRIDAY));
+        PersianDate friday = PersianDate.of(1403, 0, 1);
+        while (friday.getDayOfWeek() != Calendar.FRIDAY) friday = friday.plusDays(1);
+        Assert.assertEquals(friday.plusDays(1), nearest(limiter, friday));
+        Assert.assertEquals(friday.minusDays(2), nearest(limiter, friday.minusDays(1)));
+    }
+
+    @Test
+    public void setToNearestDateShouldKeepRuleMatchesWithinMinAndMax() {
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        limiter.setMinDate(PersianDate.of(1400, 1, 10));
+        limiter.setMaxDate(PersianDate.of(1400, 5, 20));
+        limiter.setSelectableRule(DateRule.daysOfMonth(1));
+
+        PersianDate nearest = nearest(limiter, PersianDate.of(1400, 1, 2));
+        Assert.assertEquals(PersianDate.of(1400, 2, 1), nearest);
+        Assert.assertFalse(limiter.isOutOfRange(nearest.getYear(), nearest.getMonth(), nearest.getDayOfMonth()));
+
+        nearest = nearest(limiter, PersianDate.of(1400, 6, 10));
+        Assert.assertEquals(PersianDate.of(1400, 5, 1), nearest);
+        Assert.assertFalse(limiter.isOutOfRange(nearest.getYear(), nearest.getMonth(), nearest.getDayOfMonth()));
+    }
+
+    @Test
+    public void getOutOfRangeMaskShouldMatchIsOutOfRange() {
+        Random random = new Random(14);
+        DefaultDateRangeLimiter withBitmap = new DefaultDateRangeLimiter();
+        DefaultDateRangeLimiter withoutBitmap = new DefaultDateRangeLimiter();
+        withBitmap.setYearRange(1398, 1402);
+        withoutBitmap.setYearRange(-6000, 9000);
+        PersianDate[] disabled = randomDays(random, 400, PersianDate.of(1397, 0, 1), 6 * 365);
+        for (DefaultDateRangeLimiter limiter : new DefaultDateRangeLimiter[]{withBitmap, withoutBitmap}) {
+            limiter.setDisabledDays(disabled);
+            limiter.setMinDate(PersianDate.of(1398, 3, 17));
+            limiter.setDisabledRule(DateRule.weekdays(Calendar.FRIDAY));
+            for (int year = 1397; year <= 1403; year++) {
+                for (int month = 0; month < 12; month++) {
+                    int mask = limiter.getOutOfRangeMask(year, month);
+                    for (int day = 1; day <= 31; day++) {
+                        boolean expected = day <= PersianDate.lengthOfMonth(year, month)
+                                && limiter.isOutOfRange(year, month, day);
+                        Assert.assertEquals(year + "/" + month + "/" + day, expected, (mask & (1 << (day - 1))) != 0);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void setToNearestDateShouldMatchAStepwiseSearch() {
+        Random random = new Random(15);
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        limiter.setYearRange(1399, 1401);
+        PersianDate start = PersianDate.of(1399, 0, 1);
+        PersianDate[] disabled = randomDays(random, 900, start, 3 * 365);
+        limiter.setDisabledDays(disabled);
+        Set<PersianDate> disabledSet = new HashSet<>();
+        for (PersianDate day : disabled) disabledSet.add(day);
+        PersianDate last = PersianDate.of(1401, 11, 29);
+
+        for (PersianDate date = start.minusDays(20); date.isBefore(last.plusDays(20)); date = date.plusDays(1)) {
+            PersianDate forward = date.isBefore(start) ? start : date;
+            PersianDate backward = date.isAfter(last) ? last : date;
+            PersianDate expected = null;
+            while (expected == null && (!forward.isAfter(last) || !backward.isBefore(start))) {
+                if (!backward.isBefore(start) && !disabledSet.contains(backward)) expected = backward;
+                else if (!forward.isAfter(last) && !disabledSet.contains(forward)) expected = forward;
+                forward = forward.plusDays(1);
+                backward = backward.minusDays(1);
+            }
+            Assert.assertEquals(date.toString(), expected, nearest(limiter, date));
+        }
+    }
+
+    @Test
+    public void setToNearestDateWithoutABitmapShouldMatchAStepwiseSearch() {
+        Random random = new Random(16);
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        limiter.setYearRange(-6000, 9000);
+        PersianDate start = PersianDate.of(1399, 0, 1);
+        limiter.setDisabledDays(randomDays(random, 600, start, 2 * 365));
+        limiter.setDisabledRanges(new PersianDateRange[]{
+                PersianDateRange.closed(PersianDate.of(1399, 3, 1), PersianDate.of(1399, 4, 20))
+        });
+        limiter.setDisabledRule(DateRule.weekdays(Calendar.THURSDAY, Calendar.FRIDAY));
+        Assert.assertNull(limiter.getAllowedDays());
+
+        for (PersianDate date = start; date.isBefore(start.plusDays(2 * 365)); date = date.plusDays(3)) {
+            PersianDate expected = null;
+            for (int distance = 0; expected == null; distance++) {
+                PersianDate backward = date.minusDays(distance);
+                PersianDate forward = date.plusDays(distance);
+                if (!limiter.isOutOfRange(backward.getYear(), backward.getMonth(), backward.getDayOfMonth())) {
+                    expected = backward;
+                } else if (!limiter.isOutOfRange(forward.getYear(), forward.getMonth(), forward.getDayOfMonth())) {
+                    expected = forward;
+                }
+            }
+            Assert.assertEquals(date.toString(), expected, nearest(limiter, date));
+        }
+    }
+
+    @Test
+    public void reportNearestDateTimingOverBlockedYears() {
+        // Every day of 1301 - 1499 disabled, only the days around it stay open
+        PersianDate first = PersianDate.of(1301, 0, 1);
+        PersianDate end = PersianDate.of(1500, 0, 1);
+        PersianDate[] disabled = new PersianDate[(int) (end.toEpochDay() - first.toEpochDay())];
+        for (int i = 0; i < disabled.length; i++) disabled[i] = first.plusDays(i);
+        PersianDateRange[] ranges = {PersianDateRange.between(first, end)};
+
+        for (boolean bitmap : new boolean[]{true, false}) {
+            DefaultDateRangeLimiter days = new DefaultDateRangeLimiter();
+            days.setDisabledDays(disabled);
+            DefaultDateRangeLimiter range = new DefaultDateRangeLimiter();
+            range.setDisabledRanges(ranges);
+            if (!bitmap) {
+                // too wide for a bitmap, the search runs on the days, ranges and rules directly
+                days.setYearRange(-6000, 9000);
+                range.setYearRange(-6000, 9000);
+                Assert.assertNull(days.getAllowedDays());
+            }
+            reportNearestDateTiming(days, (bitmap ? "bitmap, " : "no bitmap, ") + disabled.length + " disabled days", first);
+            reportNearestDateTiming(range, (bitmap ? "bitmap, " : "no bitmap, ") + "one disabled range", first);
+        }
+    }
+
+    private static void reportNearestDateTiming(DefaultDateRangeLimiter limiter, String name, PersianDate first) {
+        PersianCalendar middle = PersianDate.of(1400, 0, 1).toCalendar();
+        long start = System.nanoTime();
+        PersianDate result = PersianDate.fromCalendar(limiter.setToNearestDate(middle));
+        long cold = System.nanoTime() - start;
+        Assert.assertEquals(first.minusDays(1), result);
+
+        int runs = 1000;
+        start = System.nanoTime();
+        for (int i = 0; i < runs; i++) limiter.setToNearestDate(middle);
+        long warm = (System.nanoTime() - start) / runs;
+        System.out.println("setToNearestDate, " + name + ": first call " + cold / 1000
+                + "us (builds the lookup), then " + warm / 1000 + "us per call");
+    }
+
+    @Test
+    public void incrementalChangesShouldKeepTheBitmapInSync() {
+        Random random = new Random(19);
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        limiter.setYearRange(1400, 1402);
+        Set<PersianDate> disabled = new HashSet<>();
+        PersianDate start = PersianDate.of(1400, 0, 1);
+        // build the bitmap first, so the changes below update it in place
+        Assert.assertFalse(limiter.isOutOfRange(1400, 0, 1));
+
+        for (int i = 0; i < 60; i++) {
+            PersianDate day = start.plusDays(random.nextInt(3 * 365));
+            if (random.nextBoolean()) {
+                PersianDateRange changed = limiter.addDisabledDay(day);
+                Assert.assertTrue(changed.contains(day));
+                disabled.add(day);
+            } else {
+                limiter.removeDisabledDay(day);
+                disabled.remove(day);
+            }
+        }
+        PersianDateRange range = PersianDateRange.closed(PersianDate.of(1401, 2, 10), PersianDate.of(1401, 4, 5));
+        PersianDateRange hole = PersianDateRange.closed(PersianDate.of(1401, 3, 1), PersianDate.of(1401, 3, 3));
+        Set<PersianDate> singleDays = new HashSet<>(disabled);
+        limiter.addDisabledRange(range);
+        for (PersianDate day : range) disabled.add(day);
+        limiter.removeDisabledRange(hole);
+        for (PersianDate day : hole) {
+            // days disabled one by one stay disabled
+            if (!singleDays.contains(day)) disabled.remove(day);
+        }
+        assertMatchesRules(limiter, 1400, 1402, null, null, new HashSet<PersianDate>(), disabled);
+    }
+
+    @Test
+    public void incrementalSelectableChangesShouldMoveTheWindow() {
+        DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
+        limiter.setSelectableDays(new PersianDate[]{PersianDate.of(1401, 5, 5)});
+        Assert.assertFalse(limiter.isOutOfRange(1401, 5, 5));
+        limiter.addSelectableRange(PersianDateRange.ofMonth(1402, 0));
+        Assert.assertFalse(limiter.isOutOfRange(1402, 0, 20));
+        Assert.assertEquals(1402, limiter.getMaxYear());
+        limiter.removeSelectableDay(PersianDate.of(1401, 5, 5));
+        Assert.assertTrue(limiter.isOutOfRange(1401, 5, 5));
+        Assert.assertEquals(1402, limiter.getMinYear());
+        limiter.removeSelectableRange(PersianDateRange.ofMonth(1402, 0));
+        Assert.assertFalse(limiter.isOutOfRange(1390, 0, 1));
+    }
+
+    private static PersianDate nearest(DefaultDateRangeLimiter limiter, PersianDate date) {
+        PersianCalendar calendar = date.toCalendar();
+        return PersianDate.fromCalendar(limiter.setToNearestDate(calendar));
+    }
+}
@@ -232,7 +232,6 @@ public class DefaultDateRangeLimiterTest {
     @Test
     public void getStartDateShouldReturnMinDateWhenAControllerIsSet() {
         DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
-        limiter.setController(controller);
         Calendar minDate = Calendar.getInstance();
 
         limiter.setMinDate(minDate);
@@ -294,7 +293,6 @@ public class DefaultDateRangeLimiterTest {
     @Test
     public void getEndDateShouldReturnMaxDateWhenAControllerIsSet() {
         DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
-        limiter.setController(controller);
         Calendar maxDate = Calendar.getInstance();
 
         limiter.setMaxDate(maxDate);
@@ -540,7 +538,6 @@ public class DefaultDateRangeLimiterTest {
         };
 
         limiter.setDisabledDays(days);
-        limiter.setController(controller);
 
         Assert.assertTrue(limiter.isOutOfRange(year, month, day));
     }
@@ -636,7 +633,6 @@ public class DefaultDateRangeLimiterTest {
     @Test
     public void setToNearestShouldRoundToASelectableDayWhenAControllerIsSet() {
         DefaultDateRangeLimiter limiter = new DefaultDateRangeLimiter();
-        limiter.setController(controller);
         Calendar[] days = new Calendar[3];
         for (int i = 0;i < days.length; i++) {
             Calendar day = Calendar.getInstance();
@@ -6,6 +6,10 @@ import static com.wdullaer.materialdatetimepicker.time.TimePickerDialog.MINUTE_I
 import org.junit.Test;
 import org.junit.Assert;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 /**
  * Unit tests for the default implementation of TimepointLimiter
  * Mostly used to assert that the rounding logic works
@@ -832,4 +836,228 @@ public class DefaultTimepointLimiterTest {
 
         Assert.assertEquals(limiter.roundToNearest(input, null, Timepoint.TYPE.HOUR), expected);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void timeIntervalShouldMatchTheEquivalentSelectableTimes() {
+        DefaultTimepointLimiter interval = new DefaultTimepointLimiter();
+        DefaultTimepointLimiter enumerated = new DefaultTimepointLimiter();
+        Timepoint[] disabledTimes = { new Timepoint(10, 15), new Timepoint(13, 30) };
+        List<Timepoint> selectableTimes = new ArrayList<>();
+        for (int hour = 0; hour < 24; hour += 1) {
+            for (int minute = 0; minute < 60; minute += 15) selectableTimes.add(new Timepoint(hour, minute));
+        }
+
+        interval.setTimeInterval(1, 15, 60, new Timepoint(0));
+        interval.setDisabledTimes(disabledTimes);
+        enumerated.setSelectableTimes(selectableTimes.toArray(new Timepoint[selectableTimes.size()]));
+        enumerated.setDisabledTimes(disabledTimes);
+
+        for (int second = 0; second < 24 * 3600; second += 17) {
+            Timepoint time = new Timepoint(second / 3600, (second / 60) % 60, second % 60);
+            for (Timepoint.TYPE resolution : Timepoint.TYPE.values()) {
+                Assert.assertEquals(enumerated.isOutOfRange(time, HOUR_INDEX, resolution),
+                        interval.isOutOfRange(time, HOUR_INDEX, resolution));
+                Assert.assertEquals(enumerated.isOutOfRange(time, MINUTE_INDEX, resolution),
+                        interval.isOutOfRange(time, MINUTE_INDEX, resolution));
+                Assert.assertEquals(enumerated.roundToNearest(time, null, resolution),
+                        interval.roundToNearest(time, null, resolution));
+            }
+            Assert.assertEquals(enumerated.isOutOfRange(time), interval.isOutOfRange(time));
+        }
+        Assert.assertEquals(0, interval.getSelectableTimes().length);
+    }
+
+    @Test
+    public void timeIntervalShouldStartAtTheOffset() {
+        DefaultTimepointLimiter limiter = new DefaultTimepointLimiter();
+
+        limiter.setTimeInterval(2, 30, 60, new Timepoint(1, 10));
+
+        Assert.assertFalse(limiter.isOutOfRange(new Timepoint(1, 10)));
+        Assert.assertFalse(limiter.isOutOfRange(new Timepoint(23, 40)));
+        Assert.assertTrue(limiter.isOutOfRange(new Timepoint(2, 10)));
+        Assert.assertTrue(limiter.isOutOfRange(new Timepoint(3, 0)));
+        Assert.assertTrue(limiter.isOutOfRange(new Timepoint(3, 10, 30)));
+        Assert.assertTrue(limiter.isOutOfRange(new Timepoint(0), HOUR_INDEX, Timepoint.TYPE.MINUTE));
+    }
+
+    @Test
+    public void timeIntervalShouldReplaceThePreviousInterval() {
+        DefaultTimepointLimiter limiter = new DefaultTimepointLimiter();
+
+        limiter.setTimeInterval(1, 15, 60, new Timepoint(0));
+        limiter.setTimeInterval(1, 20, 60, new Timepoint(0));
+
+        Assert.assertTrue(limiter.isOutOfRange(new Timepoint(10, 15)));
+        Assert.assertFalse(limiter.isOutOfRange(new Timepoint(10, 20)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void timeIntervalShouldRejectAZeroInterval() {
+        new DefaultTimepointLimiter().setTimeInterval(1, 0, 60, new Timepoint(0));
+    }
+
+    @Test
+    public void rangesShouldMatchTheEquivalentTimes() {
+        DefaultTimepointLimiter ranges = new DefaultTimepointLimiter();
+        DefaultTimepointLimiter enumerated = new DefaultTimepointLimiter();
+        List<Timepoint> selectableTimes = new ArrayList<>();
+        List<Timepoint> disabledTimes = new ArrayList<>();
+        for (int second = 9 * 3600; second <= 17 * 3600; second++) {
+            selectableTimes.add(new Timepoint(second / 3600, (second / 60) % 60, second % 60));
+        }
+        for (int second = 12 * 3600 + 1800; second < 13 * 3600 + 1800; second++) {
+            disabledTimes.add(new Timepoint(second / 3600, (second / 60) % 60, second % 60));
+        }
+
+        ranges.setSelectableRanges(new TimeRange[]{ TimeRange.closed(new Timepoint(9), new Timepoint(17)) });
+        ranges.setDisabledRanges(new TimeRange[]{ TimeRange.between(new Timepoint(12, 30), new Timepoint(13, 30)) });
+        enumerated.setSelectableTimes(selectableTimes.toArray(new Timepoint[selectableTimes.size()]));
+        enumerated.setDisabledTimes(disabledTimes.toArray(new Timepoint[disabledTimes.size()]));
+
+        for (int second = 0; second < 24 * 3600; second += 13) {
+            Timepoint time = new Timepoint(second / 3600, (second / 60) % 60, second % 60);
+            for (Timepoint.TYPE resolution : Timepoint.TYPE.values()) {
+                Assert.assertEquals(enumerated.isOutOfRange(time, HOUR_INDEX, resolution),
+                        ranges.isOutOfRange(time, HOUR_INDEX, resolution));
+                Assert.assertEquals(enumerated.isOutOfRange(time, MINUTE_INDEX, resolution),
+                        ranges.isOutOfRange(time, MINUTE_INDEX, resolution));
+                Assert.assertEquals(enumerated.roundToNearest(time, null, resolution),
+                        ranges.roundToNearest(time, null, resolution));
+                Assert.assertEquals(enumerated.roundToNearest(time, Timepoint.TYPE.HOUR, resolution),
+                        ranges.roundToNearest(time, Timepoint.TYPE.HOUR, resolution));
+            }
+        }
+        Assert.assertEquals(enumerated.isAmDisabled(), ranges.isAmDisabled());
+        Assert.assertEquals(enumerated.isPmDisabled(), ranges.isPmDisabled());
+    }
+
+    @Test
+    public void roundToNearestShouldSnapToTheClosestRangeEdge() {
+        DefaultTimepointLimiter limiter = new DefaultTimepointLimiter();
+
+        limiter.setSelectableRanges(new TimeRange[]{
+                TimeRange.closed(new Timepoint(9), new Timepoint(12, 30)),
+                TimeRange.closed(new Timepoint(13, 30), new Timepoint(17))
+        });
+
+        Assert.assertEquals(new Timepoint(12, 30), limiter.roundToNearest(new Timepoint(12, 50), null, Timepoint.TYPE.SECOND));
+        Assert.assertEquals(new Timepoint(13, 30), limiter.roundToNearest(new Timepoint(13, 10), null, Timepoint.TYPE.SECOND));
+        Assert.assertEquals(new Timepoint(9), limiter.roundToNearest(new Timepoint(2), null, Timepoint.TYPE.SECOND));
+        Assert.assertEquals(new Timepoint(17), limiter.roundToNearest(new Timepoint(23), null, Timepoint.TYPE.SECOND));
+        Assert.assertEquals(new Timepoint(10, 5), limiter.roundToNearest(new Timepoint(10, 5), null, Timepoint.TYPE.SECOND));
+    }
+
+    @Test
+    public void rangesShouldBeMerged() {
+        DefaultTimepointLimiter limiter = new DefaultTimepointLimiter();
+
+        limiter.setDisabledRanges(new TimeRange[]{
+                TimeRange.between(new Timepoint(12), new Timepoint(13)),
+                TimeRange.between(new Timepoint(12, 30), new Timepoint(14))
+        });
+
+        Assert.assertArrayEquals(new TimeRange[]{ TimeRange.between(new Timepoint(12), new Timepoint(14)) },
+                limiter.getDisabledRanges());
+        Assert.assertTrue(limiter.isOutOfRange(new Timepoint(13, 59, 59)));
+        Assert.assertFalse(limiter.isOutOfRange(new Timepoint(14)));
+    }
+
+    /**
+     * Steps away from the input one unit at a time, like the search used to do
+     */
+    private static Timepoint searchLinearly(boolean[] disabled, Timepoint time, Timepoint.TYPE type,
+                                            Timepoint.TYPE resolution) {
+        int unitSeconds = resolution == Timepoint.TYPE.HOUR ? 3600 : resolution == Timepoint.TYPE.MINUTE ? 60 : 1;
+        int units = 24 * 3600 / unitSeconds;
+        for (int i = 1; i < units; i++) {
+            for (int direction : new int[]{ 1, -1 }) {
+                int second = ((time.toSeconds() + direction * i * unitSeconds) % (24 * 3600) + 24 * 3600) % (24 * 3600);
+                Timepoint candidate = new Timepoint(second / 3600, (second / 60) % 60, second % 60);
+                if (type != null && candidate.get(type) != time.get(type)) continue;
+                if (type == Timepoint.TYPE.MINUTE && candidate.getHour() != time.getHour()
+                        && resolution == Timepoint.TYPE.SECOND) continue;
+                int unitStart = second / unitSeconds * unitSeconds;
+                boolean unitDisabled = false;
+                for (int s = unitStart; s < unitStart + unitSeconds; s++) unitDisabled |= disabled[s];
+                if (!unitDisabled) return candidate;
+            }
+        }
+        return time;
+    }
+
+    @Test
+    public void roundToNearestShouldMatchALinearSearch() {
+        Random random = new Random(5);
+        for (int round = 0; round < 10; round++) {
+            boolean[] disabled = new boolean[24 * 3600];
+            List<Timepoint> disabledTimes = new ArrayList<>();
+            // a few long blocks and some scattered times
+            for (int block = 0; block < 4; block++) {
+                int start = random.nextInt(24 * 3600);
+                int length = random.nextInt(4 * 3600);
+                for (int second = start; second < Math.min(start + length, 24 * 3600); second++) {
+                    disabled[second] = true;
+                    disabledTimes.add(new Timepoint(second / 3600, (second / 60) % 60, second % 60));
+                }
+            }
+            DefaultTimepointLimiter limiter = new DefaultTimepointLimiter();
+            limiter.setDisabledTimes(disabledTimes.toArray(new Timepoint[disabledTimes.size()]));
+
+            for (int i = 0; i < 100; i++) {
+                int second = random.nextInt(24 * 3600);
+                Timepoint time = new Timepoint(second / 3600, (second / 60) % 60, second % 60);
+                for (Timepoint.TYPE resolution : Timepoint.TYPE.values()) {
+                    for (Timepoint.TYPE type : new Timepoint.TYPE[]{ null, Timepoint.TYPE.HOUR, Timepoint.TYPE.MINUTE }) {
+                        if (type == resolution) continue;
+                        Timepoint expected = limiter.isOutOfRange(time, resolution == Timepoint.TYPE.HOUR ? HOUR_INDEX
+                                : resolution == Timepoint.TYPE.MINUTE ? MINUTE_INDEX : 2, resolution)
+                                ? searchLinearly(disabled, time, type, resolution) : time;
+                        Assert.assertEquals(time + " " + type + " " + resolution, expected,
+                                limiter.roundToNearest(time, type, resolution));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void roundToNearestShouldWrapAroundMidnight() {
+        DefaultTimepointLimiter limiter = new DefaultTimepointLimiter();
+
+        limiter.setDisabledRanges(new TimeRange[]{ TimeRange.between(new Timepoint(0), new Timepoint(0, 0, 10)) });
+
+        Assert.assertEquals(new Timepoint(23, 59, 59), limiter.roundToNearest(new Timepoint(0, 0, 2), null, Timepoint.TYPE.SECOND));
+        Assert.assertEquals(new Timepoint(0, 0, 10), limiter.roundToNearest(new Timepoint(0, 0, 6), null, Timepoint.TYPE.SECOND));
+        Assert.assertEquals(new Timepoint(0, 0, 10), limiter.roundToNearest(new Timepoint(0, 0, 2), Timepoint.TYPE.HOUR, Timepoint.TYPE.SECOND));
+    }
+
+    @Test
+    public void roundToNearestShouldBeFastForWorstCaseDisabledTimes() {
+        DefaultTimepointLimiter fullyDisabled = new DefaultTimepointLimiter();
+        fullyDisabled.setDisabledRanges(new TimeRange[]{ TimeRange.ofSeconds(0, 24 * 3600) });
+        DefaultTimepointLimiter checkerboard = new DefaultTimepointLimiter();
+        Timepoint[] everyOtherSecond = new Timepoint[12 * 3600];
+        for (int i = 0; i < everyOtherSecond.length; i++) {
+            int second = 2 * i;
+            everyOtherSecond[i] = new Timepoint(second / 3600, (second / 60) % 60, second % 60);
+        }
+        checkerboard.setDisabledTimes(everyOtherSecond);
+
+        Timepoint noon = new Timepoint(12);
+        Assert.assertEquals(noon, fullyDisabled.roundToNearest(noon, null, Timepoint.TYPE.SECOND));
+        Assert.assertEquals(new Timepoint(12, 0, 1), checkerboard.roundToNearest(noon, null, Timepoint.TYPE.SECOND));
+        // every minute holds a disabled second, so nothing is left at minute resolution
+        Assert.assertEquals(noon, checkerboard.roundToNearest(noon, null, Timepoint.TYPE.MINUTE));
+
+        int runs = 10000;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) fullyDisabled.roundToNearest(noon, null, Timepoint.TYPE.SECOND);
+        long fully = (System.nanoTime() - start) / runs;
+        start = System.nanoTime();
+        for (int i = 0; i < runs; i++) checkerboard.roundToNearest(noon, null, Timepoint.TYPE.MINUTE);
+        long checkered = (System.nanoTime() - start) / runs;
+        System.out.println("roundToNearest, all seconds disabled: " + fully / 1000.0
+                + "us, every other second disabled: " + checkered / 1000.0 + "us per call");
+    }
+}
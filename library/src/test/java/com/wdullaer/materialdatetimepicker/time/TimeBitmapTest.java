@@ -0,0 +1,137 @@
+package com.wdullaer.materialdatetimepicker.time;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class TimeBitmapTest {
+
+    private static void assertSummaries(TimeBitmap bitmap, boolean[] expected) {
+        boolean any = false;
+        for (int hour = 0; hour < 24; hour++) {
+            boolean anyInHour = false;
+            for (int minute = hour * 60; minute < hour * 60 + 60; minute++) {
+                boolean anyInMinute = false;
+                for (int second = minute * 60; second < minute * 60 + 60; second++) {
+                    Assert.assertEquals("second " + second, expected[second], bitmap.get(second));
+                    anyInMinute |= expected[second];
+                }
+                Assert.assertEquals("minute " + minute, anyInMinute, bitmap.anyInMinute(minute));
+                anyInHour |= anyInMinute;
+            }
+            Assert.assertEquals("hour " + hour, anyInHour, bitmap.anyInHour(hour));
+            any |= anyInHour;
+        }
+        Assert.assertEquals(!any, bitmap.isEmpty());
+    }
+
+    @Test
+    public void summariesShouldFollowSetAndClear() {
+        Random random = new Random(7);
+        TimeBitmap bitmap = new TimeBitmap();
+        boolean[] expected = new boolean[TimeBitmap.SECONDS_PER_DAY];
+        for (int i = 0; i < 4000; i++) {
+            // cluster the changes so minutes and hours empty out again
+            int second = random.nextInt(3 * 3600) + (i % 2 == 0 ? 0 : 21 * 3600);
+            boolean value = random.nextBoolean();
+            if (value) bitmap.set(second);
+            else bitmap.clear(second);
+            expected[second] = value;
+        }
+        assertSummaries(bitmap, expected);
+
+        for (int second = 0; second < expected.length; second++) {
+            if (expected[second]) bitmap.clear(second);
+            expected[second] = false;
+        }
+        assertSummaries(bitmap, expected);
+    }
+
+    @Test
+    public void andNotShouldRebuildSummaries() {
+        TimeBitmap bitmap = new TimeBitmap();
+        TimeBitmap removed = new TimeBitmap();
+        boolean[] expected = new boolean[TimeBitmap.SECONDS_PER_DAY];
+        for (int second = 0; second < expected.length; second += 7) {
+            bitmap.set(second);
+            expected[second] = true;
+        }
+        for (int second = 3600; second < 7200; second++) {
+            removed.set(second);
+            expected[second] = false;
+        }
+        TimeBitmap copy = new TimeBitmap(bitmap);
+        copy.andNot(removed);
+        assertSummaries(copy, expected);
+        Assert.assertTrue(bitmap.anyInHour(1));
+    }
+
+    @Test
+    public void anyInHoursShouldCheckTheRange() {
+        TimeBitmap bitmap = new TimeBitmap();
+        bitmap.set(11 * 3600 + 3599);
+        Assert.assertTrue(bitmap.anyInHours(0, 12));
+        Assert.assertFalse(bitmap.anyInHours(12, 24));
+        Assert.assertFalse(bitmap.anyInHours(0, 11));
+        Assert.assertFalse(bitmap.anyInHours(11, 11));
+        bitmap.set(23 * 3600);
+        Assert.assertTrue(bitmap.anyInHours(12, 24));
+    }
+
+    @Test
+    public void nextAndPreviousSetBitShouldMatchALinearScan() {
+        Random random = new Random(3);
+        TimeBitmap bitmap = new TimeBitmap();
+        for (int i = 0; i < 200; i++) bitmap.set(random.nextInt(TimeBitmap.SECONDS_PER_DAY));
+        for (int second = 0; second < TimeBitmap.SECONDS_PER_DAY; second++) {
+            int next = second;
+            while (next < TimeBitmap.SECONDS_PER_DAY && !bitmap.get(next)) next++;
+            if (next == TimeBitmap.SECONDS_PER_DAY) next = -1;
+            int previous = second;
+            while (previous >= 0 && !bitmap.get(previous)) previous--;
+            Assert.assertEquals(next, bitmap.nextSetBit(second));
+            Assert.assertEquals(previous, bitmap.previousSetBit(second));
+        }
+    }
+
+    @Test
+    public void toTimepointsShouldReturnTheSetSecondsInOrder() {
+        TimeBitmap bitmap = new TimeBitmap();
+        bitmap.set(new Timepoint(23, 59, 59).toSeconds());
+        bitmap.set(new Timepoint(0).toSeconds());
+        bitmap.set(new Timepoint(12, 30, 15).toSeconds());
+        Timepoint[] expected = {new Timepoint(0), new Timepoint(12, 30, 15), new Timepoint(23, 59, 59)};
+        Assert.assertArrayEquals(expected, bitmap.toTimepoints());
+        Assert.assertEquals(0, new TimeBitmap().toTimepoints().length);
+    }
+
+    @Test
+    public void setRangeShouldMatchSettingSingleSeconds() {
+        int[][] ranges = {{0, 1}, {59, 61}, {3599, 3601}, {100, 7300}, {86000, 86400}, {43200, 43200}};
+        for (int[] range : ranges) {
+            TimeBitmap bitmap = new TimeBitmap();
+            boolean[] expected = new boolean[TimeBitmap.SECONDS_PER_DAY];
+            bitmap.set(range[0], range[1]);
+            for (int second = range[0]; second < range[1]; second++) expected[second] = true;
+            assertSummaries(bitmap, expected);
+        }
+    }
+
+    @Test
+    public void clearSearchesShouldStayWithinTheBounds() {
+        TimeBitmap bitmap = new TimeBitmap();
+        bitmap.set(3600, 3 * 3600);
+
+        Assert.assertEquals(3 * 3600, bitmap.nextClear(Timepoint.TYPE.SECOND, 3600, 86400));
+        Assert.assertEquals(-1, bitmap.nextClear(Timepoint.TYPE.SECOND, 3600, 3 * 3600));
+        Assert.assertEquals(3599, bitmap.previousClear(Timepoint.TYPE.SECOND, 0, 3 * 3600));
+        Assert.assertEquals(-1, bitmap.previousClear(Timepoint.TYPE.SECOND, 3600, 3 * 3600));
+        Assert.assertEquals(180, bitmap.nextClear(Timepoint.TYPE.MINUTE, 60, 1440));
+        Assert.assertEquals(59, bitmap.previousClear(Timepoint.TYPE.MINUTE, 0, 180));
+        Assert.assertEquals(3, bitmap.nextClear(Timepoint.TYPE.HOUR, 1, 24));
+        Assert.assertEquals(0, bitmap.previousClear(Timepoint.TYPE.HOUR, 0, 3));
+        Assert.assertEquals(-1, bitmap.nextClear(Timepoint.TYPE.HOUR, 1, 3));
+        Assert.assertEquals(-1, bitmap.nextClear(Timepoint.TYPE.MINUTE, 5, 5));
+    }
+}
@@ -0,0 +1,50 @@
+package com.wdullaer.materialdatetimepicker.time;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class TimeIntervalsTest {
+
+    @Test
+    public void addShouldCoalesceIntervals() {
+        TimeIntervals intervals = new TimeIntervals();
+        intervals.add(10, 20);
+        intervals.add(30, 40);
+        intervals.add(20, 25);
+        intervals.add(5, 8);
+        intervals.add(24, 31);
+
+        Assert.assertArrayEquals(new int[]{5, 8, 10, 40}, intervals.toArray());
+    }
+
+    @Test
+    public void addShouldMatchABruteForceSet() {
+        Random random = new Random(11);
+        TimeIntervals intervals = new TimeIntervals();
+        boolean[] expected = new boolean[600];
+        for (int i = 0; i < 60; i++) {
+            int start = random.nextInt(580);
+            int end = start + random.nextInt(20);
+            intervals.add(start, end);
+            for (int second = start; second < end; second++) expected[second] = true;
+        }
+        boolean[] actual = new boolean[600];
+        for (int i = 0; i < intervals.size(); i++) {
+            if (i > 0) Assert.assertTrue(intervals.getEnd(i - 1) < intervals.getStart(i));
+            for (int second = intervals.getStart(i); second < intervals.getEnd(i); second++) actual[second] = true;
+        }
+        Assert.assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void fromArrayShouldRestoreTheIntervals() {
+        TimeIntervals intervals = new TimeIntervals();
+        intervals.add(0, 3600);
+        intervals.add(7200, 86400);
+
+        Assert.assertArrayEquals(intervals.toArray(), TimeIntervals.fromArray(intervals.toArray()).toArray());
+        Assert.assertTrue(TimeIntervals.fromArray(new int[0]).isEmpty());
+    }
+}
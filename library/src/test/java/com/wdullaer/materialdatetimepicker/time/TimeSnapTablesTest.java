@@ -0,0 +1,252 @@
+package com.wdullaer.materialdatetimepicker.time;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class TimeSnapTablesTest {
+
+    // Runs the builds when asked, counts them
+    private static class QueueExecutor implements Executor {
+        final List<Runnable> mQueue = new ArrayList<>();
+        int mCount;
+
+        @Override
+        public void execute(Runnable command) {
+            mQueue.add(command);
+            mCount++;
+        }
+
+        void runAll() {
+            List<Runnable> queue = new ArrayList<>(mQueue);
+            mQueue.clear();
+            for (Runnable command : queue) command.run();
+        }
+    }
+
+    private static DefaultTimepointLimiter limiter() {
+        DefaultTimepointLimiter limiter = new DefaultTimepointLimiter();
+        limiter.setMinTime(new Timepoint(6, 30, 15));
+        limiter.setMaxTime(new Timepoint(21, 10));
+        limiter.setDisabledRanges(new TimeRange[]{
+                TimeRange.between(new Timepoint(12), new Timepoint(13, 20)),
+                TimeRange.closed(new Timepoint(17, 5), new Timepoint(17, 55, 30))
+        });
+        limiter.setDisabledTimes(new Timepoint[]{new Timepoint(9, 15), new Timepoint(10, 0, 30)});
+        return limiter;
+    }
+
+    private static Timepoint.TYPE lock(int dial) {
+        switch (dial) {
+            case TimePickerDialog.HOUR_INDEX:
+                return null;
+            case TimePickerDialog.MINUTE_INDEX:
+                return Timepoint.TYPE.HOUR;
+            default:
+                return Timepoint.TYPE.MINUTE;
+        }
+    }
+
+    private static Timepoint drag(Timepoint selection, int dial, int slot) {
+        switch (dial) {
+            case TimePickerDialog.HOUR_INDEX:
+                return new Timepoint(slot, selection.getMinute(), selection.getSecond());
+            case TimePickerDialog.MINUTE_INDEX:
+                return new Timepoint(selection.getHour(), slot, selection.getSecond());
+            default:
+                return new Timepoint(selection.getHour(), selection.getMinute(), slot);
+        }
+    }
+
+    private static void assertMatchesLimiter(TimeSnapTables tables, TimepointLimiter limiter,
+                                             Timepoint selection, Timepoint.TYPE resolution) {
+        for (int dial = TimePickerDialog.HOUR_INDEX; dial <= TimePickerDialog.SECOND_INDEX; dial++) {
+            for (int slot = 0; slot < (dial == TimePickerDialog.HOUR_INDEX ? 24 : 60); slot++) {
+                Timepoint input = drag(selection, dial, slot);
+                Timepoint rounded = tables.roundToNearest(input, lock(dial), resolution);
+                Assert.assertNotNull(input.toString(), rounded);
+                Assert.assertEquals(input.toString(), limiter.roundToNearest(input, lock(dial), resolution), rounded);
+            }
+        }
+    }
+
+    @Test
+    public void lookupsShouldMatchTheLimiter() {
+        DefaultTimepointLimiter limiter = limiter();
+        QueueExecutor executor = new QueueExecutor();
+        TimeSnapTables tables = new TimeSnapTables(limiter, executor);
+        Random random = new Random(11);
+        for (Timepoint.TYPE resolution : Timepoint.TYPE.values()) {
+            for (int i = 0; i < 20; i++) {
+                Timepoint selection = new Timepoint(random.nextInt(24), random.nextInt(60), random.nextInt(60));
+                tables.prepare(selection, resolution);
+                executor.runAll();
+                assertMatchesLimiter(tables, limiter, selection, resolution);
+            }
+        }
+    }
+
+    @Test
+    public void lookupsShouldMatchAnIntervalLimiter() {
+        DefaultTimepointLimiter limiter = new DefaultTimepointLimiter();
+        limiter.setTimeInterval(2, 15, 30, new Timepoint(1, 5, 10));
+        limiter.setDisabledTimes(new Timepoint[]{new Timepoint(3, 20, 10)});
+        QueueExecutor executor = new QueueExecutor();
+        TimeSnapTables tables = new TimeSnapTables(limiter, executor);
+        Timepoint selection = new Timepoint(3, 20, 40);
+        tables.prepare(selection, Timepoint.TYPE.SECOND);
+        executor.runAll();
+        assertMatchesLimiter(tables, limiter, selection, Timepoint.TYPE.SECOND);
+    }
+
+    @Test
+    public void lookupsShouldWaitForTheTables() {
+        QueueExecutor executor = new QueueExecutor();
+        TimeSnapTables tables = new TimeSnapTables(limiter(), executor);
+        Timepoint selection = new Timepoint(12, 30);
+        tables.prepare(selection, Timepoint.TYPE.MINUTE);
+        Assert.assertNull(tables.roundToNearest(selection, null, Timepoint.TYPE.MINUTE));
+        executor.runAll();
+        Assert.assertNotNull(tables.roundToNearest(selection, null, Timepoint.TYPE.MINUTE));
+        // other resolutions and fixed values are not covered by the tables
+        Assert.assertNull(tables.roundToNearest(selection, null, Timepoint.TYPE.SECOND));
+        Assert.assertNull(tables.roundToNearest(new Timepoint(12, 31), null, Timepoint.TYPE.MINUTE));
+        Assert.assertNull(tables.roundToNearest(selection, Timepoint.TYPE.SECOND, Timepoint.TYPE.MINUTE));
+    }
+
+    @Test
+    public void onlyChangedTablesShouldBeRebuilt() {
+        QueueExecutor executor = new QueueExecutor();
+        TimeSnapTables tables = new TimeSnapTables(limiter(), executor);
+        tables.prepare(new Timepoint(8, 15, 20), Timepoint.TYPE.SECOND);
+        executor.runAll();
+        Assert.assertEquals(3, executor.mCount);
+
+        // a new hour only changes the fixed values of the minute and second dials
+        tables.prepare(new Timepoint(9, 15, 20), Timepoint.TYPE.SECOND);
+        Assert.assertEquals(5, executor.mCount);
+        // pending builds are not started twice
+        tables.prepare(new Timepoint(9, 15, 20), Timepoint.TYPE.SECOND);
+        Assert.assertEquals(5, executor.mCount);
+        executor.runAll();
+        tables.prepare(new Timepoint(9, 15, 20), Timepoint.TYPE.SECOND);
+        Assert.assertEquals(5, executor.mCount);
+    }
+
+    @Test
+    public void rejectedBuildsShouldFallBackToTheLimiter() {
+        final boolean[] reject = {true};
+        final QueueExecutor queue = new QueueExecutor();
+        DefaultTimepointLimiter limiter = limiter();
+        TimeSnapTables tables = new TimeSnapTables(limiter, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                if (reject[0]) throw new RejectedExecutionException("full");
+                queue.execute(command);
+            }
+        });
+        Timepoint selection = new Timepoint(8, 15);
+        tables.prepare(selection, Timepoint.TYPE.MINUTE);
+        Assert.assertNull(tables.roundToNearest(selection, null, Timepoint.TYPE.MINUTE));
+
+        // the dials were not left pending, so the next selection builds them
+        reject[0] = false;
+        tables.prepare(selection, Timepoint.TYPE.MINUTE);
+        Assert.assertEquals(3, queue.mCount);
+        queue.runAll();
+        assertMatchesLimiter(tables, limiter, selection, Timepoint.TYPE.MINUTE);
+    }
+
+    @Test
+    public void invalidateShouldDropTablesAndRunningBuilds() {
+        DefaultTimepointLimiter limiter = limiter();
+        QueueExecutor executor = new QueueExecutor();
+        TimeSnapTables tables = new TimeSnapTables(limiter, executor);
+        Timepoint selection = new Timepoint(14, 0);
+        tables.prepare(selection, Timepoint.TYPE.MINUTE);
+        executor.runAll();
+        Timepoint before = tables.roundToNearest(new Timepoint(14, 0), null, Timepoint.TYPE.MINUTE);
+        Assert.assertEquals(new Timepoint(14, 0), before);
+
+        limiter.setDisabledTimes(new Timepoint[]{new Timepoint(14, 0)});
+        tables.invalidate();
+        Assert.assertNull(tables.roundToNearest(new Timepoint(14, 0), null, Timepoint.TYPE.MINUTE));
+
+        // a build queued before an invalidation is dropped
+        tables.prepare(selection, Timepoint.TYPE.MINUTE);
+        tables.invalidate();
+        executor.runAll();
+        Assert.assertNull(tables.roundToNearest(new Timepoint(14, 0), null, Timepoint.TYPE.MINUTE));
+
+        tables.prepare(selection, Timepoint.TYPE.MINUTE);
+        executor.runAll();
+        Assert.assertEquals(limiter.roundToNearest(new Timepoint(14, 0), null, Timepoint.TYPE.MINUTE),
+                tables.roundToNearest(new Timepoint(14, 0), null, Timepoint.TYPE.MINUTE));
+    }
+
+    @Test
+    public void aDragShouldOnlyBuildTheDraggedDial() {
+        QueueExecutor executor = new QueueExecutor();
+        TimeSnapTables tables = new TimeSnapTables(limiter(), executor);
+        Timepoint selection = new Timepoint(8, 15, 20);
+        tables.prepare(selection, Timepoint.TYPE.SECOND);
+        executor.runAll();
+        Assert.assertEquals(3, executor.mCount);
+
+        // 60 moves over the minute dial, each one reported like RadialPickerLayout does
+        for (int step = 0; step < 60; step++) {
+            tables.prepare(drag(selection, TimePickerDialog.MINUTE_INDEX, step), Timepoint.TYPE.SECOND,
+                    TimePickerDialog.MINUTE_INDEX);
+        }
+        Assert.assertEquals(3, executor.mCount);
+
+        // the end of the drag rebuilds the other two dials once
+        tables.prepare(drag(selection, TimePickerDialog.MINUTE_INDEX, 59), Timepoint.TYPE.SECOND);
+        Assert.assertEquals(5, executor.mCount);
+    }
+
+    @Test
+    public void replacedBuildsShouldBeRemovedFromThePool() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>());
+        try {
+            // keep the only thread busy so every build stays queued
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        release.await();
+                    } catch (InterruptedException ignored) {
+                    }
+                }
+            });
+            DefaultTimepointLimiter limiter = limiter();
+            TimeSnapTables tables = new TimeSnapTables(limiter, executor);
+            Timepoint selection = new Timepoint(8, 15, 20);
+            for (int step = 0; step < 60; step++) {
+                tables.prepare(drag(selection, TimePickerDialog.MINUTE_INDEX, step), Timepoint.TYPE.SECOND);
+                Assert.assertTrue(executor.getQueue().size() <= 3);
+            }
+            release.countDown();
+            executor.shutdown();
+            Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            // the blocking task and one build per dial, the replaced builds never ran
+            Assert.assertEquals(1 + 3, executor.getCompletedTaskCount());
+            assertMatchesLimiter(tables, limiter, drag(selection, TimePickerDialog.MINUTE_INDEX, 59),
+                    Timepoint.TYPE.SECOND);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.wdullaer.materialdatetimepicker.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParallelRangeTest {
+
+    @Test
+    public void chunksShouldCoverTheRangeOnce() {
+        final int size = ParallelRange.THRESHOLD * 4 + 3;
+        final AtomicInteger covered = new AtomicInteger();
+        final int[] counts = new int[size];
+        ParallelRange.run(size, new ParallelRange.Task() {
+            @Override
+            public void run(int from, int to) {
+                for (int i = from; i < to; i++) counts[i]++;
+                covered.addAndGet(to - from);
+            }
+        });
+        Assert.assertEquals(size, covered.get());
+        for (int count : counts) Assert.assertEquals(1, count);
+    }
+
+    @Test
+    public void aFailingCallerChunkShouldWaitForTheOtherChunks() {
+        // 8 chunks of THRESHOLD / 2 elements, at most one per core
+        int chunks = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+        if (chunks < 2) chunks = 1;
+        final AtomicInteger finished = new AtomicInteger();
+        try {
+            ParallelRange.run(ParallelRange.THRESHOLD * 4, new ParallelRange.Task() {
+                @Override
+                public void run(int from, int to) {
+                    if (from == 0) throw new IllegalStateException("caller chunk");
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    finished.incrementAndGet();
+                }
+            });
+            Assert.fail("The failure of the caller chunk should be rethrown");
+        } catch (IllegalStateException expected) {
+            // every other chunk is done writing by the time the caller sees the failure
+            Assert.assertEquals(chunks - 1, finished.get());
+        }
+    }
+}
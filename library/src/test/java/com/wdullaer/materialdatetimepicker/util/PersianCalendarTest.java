@@ -0,0 +1,87 @@
+package com.wdullaer.materialdatetimepicker.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+public class PersianCalendarTest {
+
+    private static void assertTrimMatchesSet(TimeZone zone, long millis) {
+        PersianCalendar expected = new PersianCalendar();
+        expected.setTimeZone(zone);
+        expected.setTimeInMillis(millis);
+        PersianCalendar actual = (PersianCalendar) expected.clone();
+
+        expected.set(Calendar.HOUR_OF_DAY, 0);
+        expected.set(Calendar.MINUTE, 0);
+        expected.set(Calendar.SECOND, 0);
+        expected.set(Calendar.MILLISECOND, 0);
+        actual.trimToMidnight();
+
+        Assert.assertEquals(zone.getID() + " " + millis, expected.getTimeInMillis(), actual.getTimeInMillis());
+        Assert.assertEquals(expected.getPersianShortDate(), actual.getPersianShortDate());
+    }
+
+    @Test
+    public void trimToMidnightShouldMatchSettingFields() {
+        String[] zones = {"GMT", "Asia/Tehran", "Europe/Amsterdam", "America/Sao_Paulo"};
+        for (String id : zones) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            // hourly steps through 2 years, which includes the daylight saving transitions
+            for (long millis = 1420070400000L; millis < 1483228800000L; millis += 3600000L + 7) {
+                assertTrimMatchesSet(zone, millis);
+            }
+        }
+    }
+
+    @Test
+    public void setTimeOfDayShouldKeepDate() {
+        PersianCalendar calendar = new PersianCalendar();
+        calendar.setPersianDate(1403, 5, 31);
+        calendar.setTimeOfDay(13, 45, 10, 500);
+        Assert.assertEquals(1403, calendar.getPersianYear());
+        Assert.assertEquals(5, calendar.getPersianMonth());
+        Assert.assertEquals(31, calendar.getPersianDay());
+        Assert.assertEquals(13, calendar.get(Calendar.HOUR_OF_DAY));
+        Assert.assertEquals(45, calendar.get(Calendar.MINUTE));
+        Assert.assertEquals(10, calendar.get(Calendar.SECOND));
+        Assert.assertEquals(500, calendar.get(Calendar.MILLISECOND));
+    }
+
+    @Test
+    public void persianFieldsShouldFollowCalendarChanges() {
+        PersianCalendar calendar = new PersianCalendar();
+        calendar.setPersianDate(1403, 0, 1);
+        calendar.set(Calendar.DAY_OF_MONTH, calendar.get(Calendar.DAY_OF_MONTH) + 31);
+        Assert.assertEquals(1, calendar.getPersianMonth());
+        Assert.assertEquals(1, calendar.getPersianDay());
+
+        calendar.add(Calendar.DAY_OF_MONTH, -1);
+        Assert.assertEquals(0, calendar.getPersianMonth());
+        Assert.assertEquals(31, calendar.getPersianDay());
+
+        calendar.addPersianDate(Calendar.YEAR, 1);
+        Assert.assertEquals(1404, calendar.getPersianYear());
+    }
+
+    @Test
+    public void addPersianDateShouldClampAndHandleNegativeMonths() {
+        PersianCalendar calendar = new PersianCalendar();
+        calendar.setPersianDate(1403, 5, 31);
+        calendar.setTimeOfDay(10, 30, 0, 0);
+
+        calendar.addPersianDate(Calendar.MONTH, 1);
+        Assert.assertEquals(1403, calendar.getPersianYear());
+        Assert.assertEquals(6, calendar.getPersianMonth());
+        Assert.assertEquals(30, calendar.getPersianDay());
+        Assert.assertEquals(10, calendar.get(Calendar.HOUR_OF_DAY));
+
+        calendar.addPersianDate(Calendar.MONTH, -8);
+        Assert.assertEquals(1402, calendar.getPersianYear());
+        Assert.assertEquals(10, calendar.getPersianMonth());
+        Assert.assertEquals(30, calendar.getPersianDay());
+        Assert.assertEquals(30, calendar.get(Calendar.MINUTE));
+    }
+}
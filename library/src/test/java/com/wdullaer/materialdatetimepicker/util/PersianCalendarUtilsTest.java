@@ -0,0 +1,122 @@
+package com.wdullaer.materialdatetimepicker.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Checks the integer conversion routines against the original floating point algorithm
+ */
+public class PersianCalendarUtilsTest {
+
+    @Test
+    public void julianToPersianShouldMatchLegacyAlgorithm() {
+        long first = LegacyUtils.persianToJulian(-3000, 0, 1);
+        long last = LegacyUtils.persianToJulian(6000, 0, 1);
+        for (long julianDate = first; julianDate < last; julianDate++) {
+            Assert.assertEquals("jd " + julianDate,
+                    LegacyUtils.julianToPersian(julianDate), PersianCalendarUtils.julianToPersian(julianDate));
+        }
+    }
+
+    @Test
+    public void persianToJulianShouldMatchLegacyAlgorithm() {
+        for (int year = -3000; year <= 6000; year++) {
+            for (int month = -1; month <= 13; month++) {
+                for (int day = -1; day <= 32; day++) {
+                    Assert.assertEquals(year + "/" + month + "/" + day,
+                            LegacyUtils.persianToJulian(year, month, day),
+                            PersianCalendarUtils.persianToJulian(year, month, day));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void isPersianLeapYearShouldMatchLegacyAlgorithm() {
+        for (int year = -10000; year <= 10000; year++) {
+            Assert.assertEquals("year " + year,
+                    LegacyUtils.isPersianLeapYear(year), PersianCalendarUtils.isPersianLeapYear(year));
+        }
+    }
+
+    @Test
+    public void isPersianLeapYearShouldFollowTheCycle() {
+        Assert.assertTrue(PersianCalendarUtils.isPersianLeapYear(1395));
+        Assert.assertFalse(PersianCalendarUtils.isPersianLeapYear(1396));
+        Assert.assertTrue(PersianCalendarUtils.isPersianLeapYear(1399));
+        Assert.assertTrue(PersianCalendarUtils.isPersianLeapYear(1404));
+        Assert.assertTrue(PersianCalendarUtils.isPersianLeapYear(1408));
+    }
+
+    private static long[] randomMillis(int size, long seed) {
+        Random random = new Random(seed);
+        long[] millis = new long[size];
+        long day = PersianCalendarConstants.MILLIS_OF_A_DAY;
+        for (int i = 0; i < size; i++) {
+            // mostly within the table, some far outside of it and before 1970
+            millis[i] = i % 10 == 0
+                    ? (random.nextLong() % (20000L * 365 * day))
+                    : -30000L * day + (long) (random.nextDouble() * 80000 * day);
+        }
+        return millis;
+    }
+
+    @Test
+    public void bulkConvertShouldMatchSingleConversions() {
+        for (int size : new int[]{0, 1, 1000, ParallelRange.THRESHOLD * 4 + 3}) {
+            long[] millis = randomMillis(size, size);
+            int[] packed = new int[size];
+            PersianCalendarUtils.convert(millis, packed);
+            for (int i = 0; i < size; i++) {
+                long expected = PersianCalendarUtils.epochDayToPersian(PersianCalendarUtils.millisToEpochDay(millis[i]));
+                Assert.assertEquals("millis " + millis[i], (int) expected, packed[i]);
+            }
+
+            long[] midnights = new long[size];
+            PersianCalendarUtils.convert(packed, midnights);
+            for (int i = 0; i < size; i++) {
+                Assert.assertEquals(PersianCalendarUtils.millisToEpochDay(millis[i]) * PersianCalendarConstants.MILLIS_OF_A_DAY,
+                        midnights[i]);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void bulkConvertShouldRejectArraysOfDifferentLength() {
+        PersianCalendarUtils.convert(new long[3], new int[2]);
+    }
+
+    /**
+     * Verbatim copy of the double based implementation that shipped before the integer rewrite
+     */
+    private static class LegacyUtils {
+        static long persianToJulian(long year, int month, int day) {
+            return 365L * ((ceil(year - 474L, 2820D) + 474L) - 1L)
+                    + ((long) Math.floor((682L * (ceil(year - 474L, 2820D) + 474L) - 110L) / 2816D))
+                    + (PersianCalendarConstants.PERSIAN_EPOCH - 1L)
+                    + 1029983L * ((long) Math.floor((year - 474L) / 2820D))
+                    + (month < 7 ? 31 * month : 30 * month + 6) + day;
+        }
+
+        static boolean isPersianLeapYear(int persianYear) {
+            return ceil((38D + (ceil(persianYear - 474L, 2820L) + 474L)) * 682D, 2816D) < 682L;
+        }
+
+        static long julianToPersian(long julianDate) {
+            long persianEpochInJulian = julianDate - persianToJulian(475L, 0, 1);
+            long cyear = ceil(persianEpochInJulian, 1029983D);
+            long ycycle = cyear != 1029982L ? ((long) Math.floor((2816D * (double) cyear + 1031337D) / 1028522D)) : 2820L;
+            long year = 474L + 2820L * ((long) Math.floor(persianEpochInJulian / 1029983D)) + ycycle;
+            long aux = (1L + julianDate) - persianToJulian(year, 0, 1);
+            int month = (int) (aux > 186L ? Math.ceil((double) (aux - 6L) / 30D) - 1 : Math.ceil((double) aux / 31D) - 1);
+            int day = (int) (julianDate - (persianToJulian(year, month, 1) - 1L));
+            return (year << 16) | (month << 8) | day;
+        }
+
+        static long ceil(double double1, double double2) {
+            return (long) (double1 - double2 * Math.floor(double1 / double2));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.wdullaer.materialdatetimepicker.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+public class PersianDateFormatterTest {
+
+    @Test
+    public void shortDateShouldPadOneBasedMonthAndDay() {
+        Assert.assertEquals("1403/01/05", PersianDateFormatter.SHORT_DATE.format(PersianDate.of(1403, 0, 5)));
+        Assert.assertEquals("1399/12/30", PersianDateFormatter.SHORT_DATE.format(PersianDate.of(1399, 11, 30)));
+    }
+
+    @Test
+    public void longDateShouldMatchCalendar() {
+        PersianCalendar calendar = new PersianCalendar();
+        calendar.setPersianDate(1361, 2, 1);
+        String expected = PersianCalendarConstants.persianWeekDays[calendar.get(PersianCalendar.DAY_OF_WEEK) % 7]
+                + "  01  " + PersianCalendarConstants.persianMonthNames[2] + "  1361";
+        Assert.assertEquals(expected, calendar.getPersianLongDate());
+        Assert.assertEquals(expected, PersianDateFormatter.LONG_DATE.format(PersianDate.fromCalendar(calendar)));
+    }
+
+    @Test
+    public void patternShouldSupportNumbersNamesAndQuotes() {
+        PersianDate date = PersianDate.of(1402, 6, 9);
+        Assert.assertEquals("9/7/1402", PersianDateFormatter.ofPattern("d/M/y").format(date));
+        Assert.assertEquals("9 " + PersianCalendarConstants.persianMonthNames[6],
+                PersianDateFormatter.ofPattern("d MMMM").format(date));
+        Assert.assertEquals("day 09 it's", PersianDateFormatter.ofPattern("'day' dd 'it''s'").format(date));
+    }
+
+    @Test
+    public void withPersianDigitsShouldWritePersianDigits() {
+        PersianDateFormatter formatter = PersianDateFormatter.SHORT_DATE.withPersianDigits();
+        Assert.assertEquals("۱۴۰۲/۰۷/۰۹", formatter.format(PersianDate.of(1402, 6, 9)));
+        Assert.assertEquals("1402/07/09", formatter.withLatinDigits().format(PersianDate.of(1402, 6, 9)));
+        Assert.assertSame(PersianDateFormatter.SHORT_DATE, PersianDateFormatter.SHORT_DATE.withLatinDigits());
+    }
+
+    @Test
+    public void formatToShouldAppend() throws IOException {
+        StringBuilder builder = new StringBuilder("date: ");
+        PersianDateFormatter.SHORT_DATE.formatTo(PersianDate.of(1403, 0, 1), builder);
+        Assert.assertEquals("date: 1403/01/01", builder.toString());
+
+        StringWriter writer = new StringWriter();
+        PersianDateFormatter.SHORT_DATE.formatTo(PersianDate.of(1403, 0, 1), (Appendable) writer);
+        Assert.assertEquals("1403/01/01", writer.toString());
+    }
+
+    @Test
+    public void shortDateShouldRoundTripThroughParse() {
+        PersianCalendar calendar = new PersianCalendar();
+        calendar.setDelimiter("-");
+        calendar.setPersianDate(1403, 5, 31);
+        Assert.assertEquals("1403-06-31", calendar.getPersianShortDate());
+
+        PersianCalendar parsed = new PersianCalendar();
+        parsed.setDelimiter("-");
+        parsed.parse(calendar.getPersianShortDate());
+        Assert.assertEquals(5, parsed.getPersianMonth());
+        Assert.assertEquals(31, parsed.getPersianDay());
+    }
+
+    @Test
+    public void shortDateShouldCopyTheDelimiterAsIs() {
+        PersianCalendar calendar = new PersianCalendar();
+        calendar.setPersianDate(1403, 0, 5);
+        calendar.setDelimiter("");
+        Assert.assertEquals("14030105", calendar.getPersianShortDate());
+
+        calendar = new PersianCalendar();
+        calendar.setPersianDate(1403, 0, 5);
+        calendar.setDelimiter("'");
+        Assert.assertEquals("1403'01'05", calendar.getPersianShortDate());
+
+        calendar = new PersianCalendar();
+        calendar.setPersianDate(1403, 0, 5);
+        calendar.setDelimiter(" d'M ");
+        Assert.assertEquals("1403 d'M 01 d'M 05", calendar.getPersianShortDate());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ofPatternShouldRejectUnknownLetters() {
+        PersianDateFormatter.ofPattern("yyyy/MM/dd HH");
+    }
+}
@@ -0,0 +1,87 @@
+package com.wdullaer.materialdatetimepicker.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PersianDateParserTest {
+
+    private static void assertDate(int year, int month, int day, int date) {
+        Assert.assertNotEquals(PersianDateParser.INVALID_DATE, date);
+        Assert.assertEquals(year, PersianDateParser.getYear(date));
+        Assert.assertEquals(month, PersianDateParser.getMonth(date));
+        Assert.assertEquals(day, PersianDateParser.getDay(date));
+    }
+
+    @Test
+    public void tryParseShouldReadOneBasedMonths() {
+        assertDate(1361, 2, 1, PersianDateParser.tryParse("1361/3/1"));
+        assertDate(1403, 11, 29, PersianDateParser.tryParse("1403/12/29"));
+    }
+
+    @Test
+    public void tryParseShouldAcceptAllDefaultDelimiters() {
+        assertDate(1402, 0, 5, PersianDateParser.tryParse("1402-01-05"));
+        assertDate(1402, 0, 5, PersianDateParser.tryParse("1402.01.05"));
+        assertDate(1402, 0, 5, PersianDateParser.tryParse("1402/01-05"));
+    }
+
+    @Test
+    public void tryParseShouldAcceptPersianAndArabicDigits() {
+        assertDate(1402, 6, 15, PersianDateParser.tryParse("۱۴۰۲/۰۷/۱۵"));
+        assertDate(1402, 6, 15, PersianDateParser.tryParse("١٤٠٢/٧/١٥"));
+    }
+
+    @Test
+    public void tryParseShouldReadRegion() {
+        String text = "date: 1399/12/30 ;";
+        assertDate(1399, 11, 30, PersianDateParser.tryParse(text, 5, 16));
+    }
+
+    @Test
+    public void tryParseShouldRejectInvalidInput() {
+        String[] invalid = {"", "   ", "1402/1", "1402/1/1/1", "1402//1", "/1/1", "1402/1/", "1402/13/1",
+                "1402/0/1", "1402/1/32", "1402/7/31", "1402/12/30", "0/1/1", "1402 1 1", "1402/a/1", "12345/1/1"};
+        for (String text : invalid) {
+            Assert.assertEquals(text, PersianDateParser.INVALID_DATE, PersianDateParser.tryParse(text));
+        }
+        assertDate(1399, 11, 30, PersianDateParser.tryParse("1399/12/30"));
+    }
+
+    @Test
+    public void tryParseShouldUseGivenDelimiters() {
+        assertDate(1402, 1, 3, PersianDateParser.tryParse("1402_2_3", 0, 8, "_"));
+        Assert.assertEquals(PersianDateParser.INVALID_DATE, PersianDateParser.tryParse("1402/2/3", 0, 8, "_"));
+    }
+
+    @Test
+    public void parseEpochDaysShouldParseEveryLine() {
+        String text = "1403/1/1\r\n\n  1403/1/2  \nnot a date\n1399/12/30";
+        int[] epochDays = PersianDateParser.parseEpochDays(text);
+        Assert.assertArrayEquals(new int[]{
+                (int) PersianDate.of(1403, 0, 1).toEpochDay(),
+                (int) PersianDate.of(1403, 0, 2).toEpochDay(),
+                PersianDateParser.INVALID_EPOCH_DAY,
+                (int) PersianDate.of(1399, 11, 30).toEpochDay()
+        }, epochDays);
+    }
+
+    @Test
+    public void parseEpochDaysShouldStopWhenArrayIsFull() {
+        int[] epochDays = new int[2];
+        Assert.assertEquals(2, PersianDateParser.parseEpochDays("1403/1/1\n1403/1/2\n1403/1/3", epochDays));
+        Assert.assertEquals(PersianDate.of(1403, 0, 2).toEpochDay(), epochDays[1]);
+    }
+
+    @Test
+    public void getPersianDateShouldSetZeroBasedMonth() {
+        PersianCalendar calendar = new PersianDateParser("1361/3/1").getPersianDate();
+        Assert.assertEquals(1361, calendar.getPersianYear());
+        Assert.assertEquals(2, calendar.getPersianMonth());
+        Assert.assertEquals(1, calendar.getPersianDay());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void getPersianDateShouldThrowOnInvalidInput() {
+        new PersianDateParser("1361-3-1").getPersianDate();
+    }
+}
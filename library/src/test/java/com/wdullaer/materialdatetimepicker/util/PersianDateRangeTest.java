@@ -0,0 +1,110 @@
+package com.wdullaer.materialdatetimepicker.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PersianDateRangeTest {
+
+    @Test
+    public void iteratorShouldReturnEveryDay() {
+        PersianDateRange range = PersianDateRange.closed(PersianDate.of(1399, 11, 28), PersianDate.of(1400, 0, 2));
+        Assert.assertEquals(5, range.size());
+        long expected = range.getStartEpochDay();
+        for (PersianDate date : range) {
+            Assert.assertEquals(PersianDate.ofEpochDay(expected++), date);
+        }
+        Assert.assertEquals(range.getEndEpochDay(), expected);
+    }
+
+    @Test
+    public void forEachDayShouldMatchPersianDate() {
+        PersianDateRange range = PersianDateRange.ofEpochDays(PersianDate.of(1395, 10, 20).toEpochDay(),
+                PersianDate.of(1405, 1, 3).toEpochDay());
+        final long[] next = {range.getStartEpochDay()};
+        range.forEachDay(new PersianDateRange.DayVisitor() {
+            @Override
+            public void visit(long epochDay, int year, int month, int day, int dayOfWeek) {
+                Assert.assertEquals(next[0]++, epochDay);
+                PersianDate date = PersianDate.ofEpochDay(epochDay);
+                Assert.assertEquals(date.getYear(), year);
+                Assert.assertEquals(date.getMonth(), month);
+                Assert.assertEquals(date.getDayOfMonth(), day);
+                Assert.assertEquals(date.getDayOfWeek(), dayOfWeek);
+            }
+        });
+        Assert.assertEquals(range.getEndEpochDay(), next[0]);
+    }
+
+    @Test
+    public void parallelForEachDayShouldVisitEveryDayOnce() {
+        PersianDateRange range = PersianDateRange.ofEpochDays(-100000, 100000);
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong sum = new AtomicLong();
+        final AtomicLong fridays = new AtomicLong();
+        range.parallelForEachDay(new PersianDateRange.DayVisitor() {
+            @Override
+            public void visit(long epochDay, int year, int month, int day, int dayOfWeek) {
+                count.incrementAndGet();
+                sum.addAndGet(epochDay);
+                if (dayOfWeek == Calendar.FRIDAY) fridays.incrementAndGet();
+            }
+        });
+        Assert.assertEquals(200000, count.get());
+        Assert.assertEquals(-100000, sum.get());
+        Assert.assertEquals(200000 / 7, fridays.get(), 1);
+    }
+
+    @Test
+    public void splitShouldCoverTheRange() {
+        PersianDateRange range = PersianDateRange.ofYear(1403);
+        List<PersianDateRange> parts = range.split(4);
+        Assert.assertEquals(4, parts.size());
+        Assert.assertEquals(range.getStartEpochDay(), parts.get(0).getStartEpochDay());
+        for (int i = 1; i < parts.size(); i++) {
+            Assert.assertEquals(parts.get(i - 1).getEndEpochDay(), parts.get(i).getStartEpochDay());
+        }
+        Assert.assertEquals(range.getEndEpochDay(), parts.get(3).getEndEpochDay());
+        Assert.assertEquals(2, PersianDateRange.ofEpochDays(0, 2).split(5).size());
+    }
+
+    @Test
+    public void monthCursorShouldDescribeEveryOverlappingMonth() {
+        PersianDateRange range = PersianDateRange.closed(PersianDate.of(1399, 10, 15), PersianDate.of(1400, 1, 1));
+        PersianDateRange.MonthCursor cursor = range.months();
+
+        Assert.assertTrue(cursor.next());
+        Assert.assertEquals(1399, cursor.getYear());
+        Assert.assertEquals(10, cursor.getMonth());
+        Assert.assertEquals(PersianDate.of(1399, 10, 1).toEpochDay(), cursor.getFirstEpochDay());
+        Assert.assertEquals(range.getStartEpochDay(), cursor.getStartEpochDay());
+        Assert.assertEquals(30, cursor.getLength());
+
+        Assert.assertTrue(cursor.next());
+        Assert.assertEquals(11, cursor.getMonth());
+        Assert.assertEquals(30, cursor.getLength());
+        Assert.assertTrue(cursor.isLeapYear());
+
+        Assert.assertTrue(cursor.next());
+        Assert.assertEquals(1400, cursor.getYear());
+        Assert.assertEquals(0, cursor.getMonth());
+        Assert.assertFalse(cursor.isLeapYear());
+        Assert.assertEquals(PersianDate.of(1400, 0, 1).getDayOfWeek(), cursor.getFirstDayOfWeek());
+
+        Assert.assertTrue(cursor.next());
+        Assert.assertEquals(1, cursor.getMonth());
+        Assert.assertEquals(range.getEndEpochDay(), cursor.getEndEpochDay());
+        Assert.assertFalse(cursor.next());
+    }
+
+    @Test
+    public void ofMonthShouldCoverTheMonth() {
+        PersianDateRange range = PersianDateRange.ofMonth(1403, 11);
+        Assert.assertEquals(29, range.size());
+        Assert.assertTrue(range.contains(PersianDate.of(1403, 11, 29)));
+        Assert.assertFalse(range.contains(PersianDate.of(1404, 0, 1)));
+    }
+}
@@ -0,0 +1,136 @@
+package com.wdullaer.materialdatetimepicker.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Calendar;
+
+public class PersianDateTest {
+
+    @Test
+    public void ofShouldResolveToTheCorrectEpochDay() {
+        // 1 Farvardin 1403 == 2024-03-20
+        Assert.assertEquals(19802, PersianDate.of(1403, 0, 1).toEpochDay());
+    }
+
+    @Test
+    public void ofEpochDayShouldRoundTripWithOf() {
+        for (long epochDay = -60000; epochDay < 60000; epochDay++) {
+            PersianDate date = PersianDate.ofEpochDay(epochDay);
+            PersianDate other = PersianDate.of(date.getYear(), date.getMonth(), date.getDayOfMonth());
+            Assert.assertEquals(epochDay, other.toEpochDay());
+            Assert.assertEquals(date, other);
+        }
+    }
+
+    @Test
+    public void fieldsShouldMatchPersianCalendar() {
+        PersianCalendar calendar = new PersianCalendar();
+        for (long epochDay = -30000; epochDay < 30000; epochDay += 7) {
+            calendar.setTimeInMillis(epochDay * PersianCalendarConstants.MILLIS_OF_A_DAY + 1000);
+            PersianDate date = PersianDate.fromCalendar(calendar);
+            Assert.assertEquals(calendar.getPersianYear(), date.getYear());
+            Assert.assertEquals(calendar.getPersianMonth(), date.getMonth());
+            Assert.assertEquals(calendar.getPersianDay(), date.getDayOfMonth());
+            Assert.assertEquals(calendar.get(Calendar.DAY_OF_WEEK), date.getDayOfWeek());
+        }
+    }
+
+    @Test
+    public void toCalendarShouldBeTrimmedToMidnight() {
+        PersianCalendar calendar = PersianDate.of(1397, 5, 31).toCalendar();
+        Assert.assertEquals(0, calendar.get(Calendar.HOUR_OF_DAY));
+        Assert.assertEquals(0, calendar.get(Calendar.MINUTE));
+        Assert.assertEquals(1397, calendar.getPersianYear());
+        Assert.assertEquals(5, calendar.getPersianMonth());
+        Assert.assertEquals(31, calendar.getPersianDay());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ofShouldRejectEsfand30InACommonYear() {
+        PersianDate.of(1397, 11, 30);
+    }
+
+    @Test
+    public void compareToShouldFollowEpochDays() {
+        PersianDate first = PersianDate.of(1397, 11, 29);
+        PersianDate second = PersianDate.of(1398, 0, 1);
+        Assert.assertTrue(first.compareTo(second) < 0);
+        Assert.assertTrue(second.compareTo(first) > 0);
+        Assert.assertEquals(0, first.compareTo(PersianDate.ofEpochDay(first.toEpochDay())));
+    }
+
+    @Test
+    public void dayOfYearShouldRoundTrip() {
+        PersianDate date = PersianDate.of(1399, 11, 30);
+        Assert.assertEquals(366, date.getDayOfYear());
+        Assert.assertEquals(date, PersianDate.ofYearDay(1399, 366));
+        Assert.assertEquals(PersianDate.of(1403, 6, 1), PersianDate.ofYearDay(1403, 187));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ofYearDayShouldRejectDay366InACommonYear() {
+        PersianDate.ofYearDay(1403, 366);
+    }
+
+    @Test
+    public void isBeforeAndIsAfterShouldFollowEpochDays() {
+        PersianDate first = PersianDate.of(1402, 11, 29);
+        PersianDate second = PersianDate.of(1403, 0, 1);
+        Assert.assertTrue(first.isBefore(second));
+        Assert.assertTrue(second.isAfter(first));
+        Assert.assertFalse(first.isEqual(second));
+    }
+
+    @Test
+    public void chronologyShouldCreateDatesFromEpochDays() {
+        PersianChronology chronology = PersianDate.of(1403, 0, 1).getChronology();
+        Assert.assertSame(PersianChronology.INSTANCE, chronology);
+        // 2024-03-20 is epoch day 19802
+        Assert.assertEquals(PersianDate.of(1403, 0, 1), chronology.dateEpochDay(19802));
+        Assert.assertEquals(366, chronology.lengthOfYear(1399));
+        Assert.assertEquals(365, chronology.lengthOfYear(1403));
+    }
+
+    @Test
+    public void plusDaysShouldCrossMonthsAndYears() {
+        Assert.assertEquals(PersianDate.of(1403, 0, 2), PersianDate.of(1403, 0, 1).plusDays(1));
+        Assert.assertEquals(PersianDate.of(1403, 1, 1), PersianDate.of(1403, 0, 31).plusDays(1));
+        Assert.assertEquals(PersianDate.of(1399, 11, 30), PersianDate.of(1400, 0, 1).minusDays(1));
+        PersianDate start = PersianDate.of(1390, 0, 1);
+        for (int days = -800; days <= 800; days++) {
+            Assert.assertEquals(PersianDate.ofEpochDay(start.toEpochDay() + days), start.plusDays(days));
+        }
+    }
+
+    @Test
+    public void plusMonthsShouldClampTheDay() {
+        Assert.assertEquals(PersianDate.of(1403, 6, 30), PersianDate.of(1403, 5, 31).plusMonths(1));
+        Assert.assertEquals(PersianDate.of(1403, 11, 29), PersianDate.of(1403, 10, 30).plusMonths(1));
+        Assert.assertEquals(PersianDate.of(1399, 11, 30), PersianDate.of(1399, 10, 30).plusMonths(1));
+        Assert.assertEquals(PersianDate.of(1400, 11, 29), PersianDate.of(1399, 11, 30).plusYears(1));
+    }
+
+    @Test
+    public void plusMonthsShouldHandleNegativeAmounts() {
+        Assert.assertEquals(PersianDate.of(1402, 11, 15), PersianDate.of(1403, 0, 15).minusMonths(1));
+        Assert.assertEquals(PersianDate.of(1401, 10, 15), PersianDate.of(1403, 0, 15).minusMonths(14));
+        Assert.assertEquals(PersianDate.of(1403, 0, 15), PersianDate.of(1403, 0, 15).plusMonths(-12).plusMonths(12));
+        Assert.assertEquals(PersianDate.of(-1, 11, 1), PersianDate.of(1, 0, 1).minusMonths(1));
+    }
+
+    @Test
+    public void plusMonthsShouldMatchMonthByMonthStepping() {
+        PersianDate start = PersianDate.of(1395, 5, 31);
+        int year = 1395;
+        int month = 5;
+        for (int months = 0; months < 240; months++) {
+            int day = Math.min(31, PersianDate.lengthOfMonth(year, month));
+            Assert.assertEquals(PersianDate.of(year, month, day), start.plusMonths(months));
+            if (++month == 12) {
+                month = 0;
+                year++;
+            }
+        }
+    }
+}
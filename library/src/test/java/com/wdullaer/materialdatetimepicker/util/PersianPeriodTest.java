@@ -0,0 +1,42 @@
+package com.wdullaer.materialdatetimepicker.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PersianPeriodTest {
+
+    @Test
+    public void betweenShouldCountWholeMonthsAndRemainingDays() {
+        Assert.assertEquals(PersianPeriod.of(1, 2, 3),
+                PersianPeriod.between(PersianDate.of(1400, 0, 1), PersianDate.of(1401, 2, 4)));
+        Assert.assertEquals(PersianPeriod.of(0, 0, 30),
+                PersianPeriod.between(PersianDate.of(1403, 5, 31), PersianDate.of(1403, 6, 30)));
+        Assert.assertEquals(PersianPeriod.ofMonths(1),
+                PersianPeriod.between(PersianDate.of(1403, 6, 30), PersianDate.of(1403, 7, 30)));
+        Assert.assertEquals(PersianPeriod.ZERO,
+                PersianPeriod.between(PersianDate.of(1403, 6, 30), PersianDate.of(1403, 6, 30)));
+    }
+
+    @Test
+    public void betweenShouldBeNegativeWhenEndIsBeforeStart() {
+        PersianPeriod period = PersianPeriod.between(PersianDate.of(1401, 2, 4), PersianDate.of(1400, 0, 1));
+        Assert.assertTrue(period.isNegative());
+        Assert.assertEquals(PersianPeriod.of(-1, -2, -3), period);
+    }
+
+    @Test
+    public void plusShouldReachTheEndDate() {
+        PersianDate start = PersianDate.of(1398, 3, 17);
+        for (int days = 0; days < 2000; days += 7) {
+            PersianDate end = start.plusDays(days);
+            Assert.assertEquals(end, start.plus(start.until(end)));
+        }
+    }
+
+    @Test
+    public void toStringShouldUseIsoFormat() {
+        Assert.assertEquals("P1Y2M3D", PersianPeriod.of(1, 2, 3).toString());
+        Assert.assertEquals("P0D", PersianPeriod.ZERO.toString());
+        Assert.assertEquals("P-5D", PersianPeriod.ofDays(-5).toString());
+    }
+}
@@ -0,0 +1,89 @@
+package com.wdullaer.materialdatetimepicker.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks the table lookups against the arithmetic conversion
+ */
+public class PersianYearTableTest {
+
+    private static long arithmeticEpochDayToPersian(long epochDay) {
+        long packed = PersianCalendarUtils.julianToPersian(epochDay + PersianCalendarConstants.JULIAN_DAY_OF_EPOCH);
+        long year = packed >> 16;
+        return year > 0 ? packed : ((year - 1) << 16) | (packed & 0xffff);
+    }
+
+    private static long arithmeticPersianToEpochDay(int year, int month, int day) {
+        return PersianCalendarUtils.persianToJulian(year > 0 ? year : year + 1, month, day)
+                - PersianCalendarConstants.JULIAN_DAY_OF_EPOCH;
+    }
+
+    @Test
+    public void epochDayToPersianShouldMatchArithmetic() {
+        long first = arithmeticPersianToEpochDay(1200, 0, 1);
+        long last = arithmeticPersianToEpochDay(1600, 0, 1);
+        for (long epochDay = first; epochDay < last; epochDay++) {
+            Assert.assertEquals("epoch day " + epochDay,
+                    arithmeticEpochDayToPersian(epochDay), PersianYearTable.epochDayToPersian(epochDay));
+        }
+    }
+
+    @Test
+    public void persianToEpochDayShouldMatchArithmetic() {
+        for (int year = 1200; year <= 1600; year++) {
+            for (int month = -1; month <= 13; month++) {
+                for (int day = -1; day <= 32; day++) {
+                    Assert.assertEquals(year + "/" + month + "/" + day,
+                            arithmeticPersianToEpochDay(year, month, day),
+                            PersianYearTable.persianToEpochDay(year, month, day));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void isLeapYearShouldMatchArithmetic() {
+        for (int year = 1200; year <= 1600; year++) {
+            Assert.assertEquals("year " + year,
+                    PersianCalendarUtils.isPersianLeapYear(year), PersianYearTable.isLeapYear(year));
+        }
+    }
+
+    @Test
+    public void tableShouldCoverDefaultRange() {
+        Assert.assertTrue(PersianYearTable.getMinYear() <= PersianYearTable.DEFAULT_MIN_YEAR);
+        Assert.assertTrue(PersianYearTable.getMaxYear() >= PersianYearTable.DEFAULT_MAX_YEAR);
+    }
+
+    @Test
+    public void ensureRangeShouldWidenTable() {
+        PersianYearTable.ensureRange(1250, 1550);
+        Assert.assertTrue(PersianYearTable.getMinYear() <= 1250);
+        Assert.assertTrue(PersianYearTable.getMaxYear() >= 1550);
+        long epochDay = arithmeticPersianToEpochDay(1549, 11, 29);
+        Assert.assertEquals(arithmeticEpochDayToPersian(epochDay), PersianYearTable.epochDayToPersian(epochDay));
+    }
+
+    @Test
+    public void reportLookupTiming() {
+        long first = arithmeticPersianToEpochDay(1300, 0, 1);
+        long last = arithmeticPersianToEpochDay(1500, 0, 1);
+        long sink = 0;
+        // warm up both paths
+        for (long epochDay = first; epochDay < last; epochDay++) {
+            sink += arithmeticEpochDayToPersian(epochDay) + PersianYearTable.epochDayToPersian(epochDay);
+        }
+
+        long start = System.nanoTime();
+        for (long epochDay = first; epochDay < last; epochDay++) sink += arithmeticEpochDayToPersian(epochDay);
+        long arithmetic = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (long epochDay = first; epochDay < last; epochDay++) sink += PersianYearTable.epochDayToPersian(epochDay);
+        long lookup = System.nanoTime() - start;
+
+        System.out.println("epochDayToPersian over " + (last - first) + " days: julianToPersian " + arithmetic / 1000
+                + "us, table " + lookup / 1000 + "us (" + sink % 2 + ")");
+    }
+}